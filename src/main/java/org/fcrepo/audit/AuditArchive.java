@@ -0,0 +1,518 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.time.ZoneOffset.UTC;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.jcr.Binary;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.audit.bundle.AuditBundle;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.services.ContainerService;
+
+import org.slf4j.Logger;
+
+/**
+ * Compacts the audit nodes of an audit container or partition that are older than a configurable age into
+ * one {@link AuditBundle} per day, stored as a binary property of a resource under
+ * {@code <location>/bundles}, and finds records in the bundles once their audit nodes are gone.
+ *
+ * <p>A bundle is committed before the audit nodes it holds are removed, in throttled batches, so an
+ * interrupted run loses nothing. The next run removes the audit nodes an earlier bundle of the same day
+ * already holds without bundling them again, and bundles only the rest, into another part for the day.
+ * Bundles are never modified, so their headers are cached, and a lookup reads one block of the one bundle
+ * whose Bloom filter and index match.</p>
+ *
+ * <p>Audit nodes written before the record fields are bundled from their PREMIS properties, as
+ * {@link AuditNodes#read} gives them.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditArchive {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditArchive.class);
+
+    static final String BUNDLES = "bundles";
+
+    // JCR property names, not URIs
+    private static final String BUNDLE = "audit:bundle";
+    private static final String BUNDLE_RECORDS = "audit:bundleRecords";
+
+    private static final Pattern UUID_NAME =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    // containers below the audit container that do not hold audit nodes
+    private static final Set<String> EXCLUDED = new HashSet<>(Arrays.asList(
+            InternalAuditor.SUMMARY_CONTAINER, "seals", "nodes", BUNDLES));
+
+    private final FedoraRepository repository;
+
+    private final ContainerService containerService;
+
+    private final String location;
+
+    private long maxAge = 365;
+
+    private int batchSize = 100;
+
+    private long pause = 1000;
+
+    private int maxRecordsPerRun = 100000;
+
+    private volatile boolean running;
+
+    private final Map<String, AuditBundle> bundles = new ConcurrentSkipListMap<>();
+
+    private volatile boolean loaded;
+
+    private final AtomicLong archived = new AtomicLong();
+
+    /**
+     * @param repository the repository
+     * @param containerService used to create the bundle resources, null for an archive that only reads
+     * @param location the path of the audit container or partition
+     */
+    public AuditArchive(final FedoraRepository repository, final ContainerService containerService,
+            final String location) {
+        this.repository = repository;
+        this.containerService = containerService;
+        this.location = location;
+    }
+
+    /**
+     * @param maxAge the age in days after which audit nodes are compacted, counted from the start of the day
+     */
+    public void setMaxAge(final long maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @param batchSize the number of compacted audit nodes removed per commit
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param pause milliseconds to wait after each commit
+     */
+    public void setPause(final long pause) {
+        this.pause = pause;
+    }
+
+    /**
+     * @param maxRecordsPerRun the maximum number of audit nodes compacted by one run, bounding its memory use
+     */
+    public void setMaxRecordsPerRun(final int maxRecordsPerRun) {
+        this.maxRecordsPerRun = maxRecordsPerRun;
+    }
+
+    /**
+     * Compact the audit nodes older than the maximum age in the calling thread.
+     */
+    public void compact() {
+        running = true;
+        final long cutoff = LocalDate.now(UTC).minusDays(maxAge).atStartOfDay(UTC).toInstant().toEpochMilli();
+        final FedoraSession session = repository.login();
+        final long before = archived.get();
+        try {
+            final Session jcrSession = getJcrSession(session);
+            if (!jcrSession.nodeExists(location)) {
+                return;
+            }
+            final Map<LocalDate, List<String>> days = new TreeMap<>();
+            collect(jcrSession, location, 0, cutoff, days, new int[1]);
+            for (final Map.Entry<LocalDate, List<String>> day : days.entrySet()) {
+                if (!running) {
+                    break;
+                }
+                compactDay(session, day.getKey(), day.getValue());
+            }
+            if (archived.get() > before) {
+                LOGGER.info("Compacted {} audit nodes under {} into bundles", archived.get() - before, location);
+            }
+        } catch (final RepositoryException | IOException | RuntimeException e) {
+            LOGGER.error("Error compacting audit nodes under {}", location, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.info("Stopped compacting audit nodes under {}", location);
+        } finally {
+            session.expire();
+        }
+    }
+
+    /**
+     * Stop compacting after the current batch.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Collect the paths of the audit nodes older than the cutoff by day.
+     */
+    private void collect(final Session jcrSession, final String path, final int depth, final long cutoff,
+            final Map<LocalDate, List<String>> days, final int[] count) throws RepositoryException {
+        walk(jcrSession, path, depth, (nodePath, node) -> {
+            if (!running || count[0] >= maxRecordsPerRun) {
+                return false;
+            }
+            if (AuditNodes.hasEventDate(node)) {
+                final long millis = AuditNodes.getEpochMillis(node);
+                if (millis < cutoff) {
+                    final LocalDate day = Instant.ofEpochMilli(millis).atZone(UTC).toLocalDate();
+                    days.computeIfAbsent(day, d -> new ArrayList<>()).add(nodePath);
+                    count[0]++;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Pass the audit nodes below a path to a visitor, until it returns false.
+     *
+     * @return whether the visitor was passed every audit node
+     */
+    private static boolean walk(final Session jcrSession, final String path, final int depth,
+            final AuditNodeVisitor visitor) throws RepositoryException {
+        for (final NodeIterator nodes = jcrSession.getNode(path).getNodes(); nodes.hasNext();) {
+            final Node node = nodes.nextNode();
+            final String name = node.getName();
+            if (depth == 0 && EXCLUDED.contains(name)) {
+                continue;
+            }
+            if (UUID_NAME.matcher(name).matches()) {
+                if (!visitor.visit(path + "/" + name, node)) {
+                    return false;
+                }
+            } else if (!walk(jcrSession, path + "/" + name, depth + 1, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface AuditNodeVisitor {
+        boolean visit(String path, Node node) throws RepositoryException;
+    }
+
+    /**
+     * Pass every record of the audit container or partition to a consumer, from its audit nodes and then from
+     * its bundles, so that a record compacted during the walk is still passed. Such a record may be passed
+     * twice.
+     *
+     * @param consumer the consumer
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void forEachRecord(final Consumer<AuditRecord> consumer) throws InterruptedException {
+        final FedoraSession session = repository.login();
+        try {
+            final Session jcrSession = getJcrSession(session);
+            if (jcrSession.nodeExists(location)) {
+                final boolean walked = walk(jcrSession, location, 0, (path, node) -> {
+                    if (Thread.interrupted()) {
+                        return false;
+                    }
+                    final String name = path.substring(path.lastIndexOf('/') + 1);
+                    final AuditRecord record = AuditNodes.read("urn:uuid:" + name, node);
+                    if (record != null) {
+                        consumer.accept(record);
+                    }
+                    return true;
+                });
+                if (!walked) {
+                    throw new InterruptedException();
+                }
+            }
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+        load();
+        try {
+            for (final AuditBundle bundle : bundles.values()) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                bundle.readAll().forEach(consumer);
+            }
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    private void compactDay(final FedoraSession session, final LocalDate day, final List<String> paths)
+            throws RepositoryException, IOException, InterruptedException {
+        final Session jcrSession = getJcrSession(session);
+        final List<AuditRecord> records = new ArrayList<>(paths.size());
+        final List<String> read = new ArrayList<>(paths.size());
+        for (final String path : paths) {
+            final String name = path.substring(path.lastIndexOf('/') + 1);
+            final AuditRecord record = AuditNodes.read("urn:uuid:" + name, jcrSession.getNode(path));
+            if (record != null) {
+                // left behind by an interrupted run
+                if (!isBundled(day, record.getUuid())) {
+                    records.add(record);
+                }
+                read.add(path);
+            }
+        }
+        if (records.isEmpty()) {
+            LOGGER.debug("Audit nodes of {} under {} are already bundled", day, location);
+        } else {
+            final byte[] bundle = AuditBundle.write(records);
+            final String name = nextBundleName(day);
+            final String bundlePath = location + "/" + BUNDLES + "/" + name;
+            final Node node = getJcrNode(containerService.findOrCreate(session, bundlePath));
+            final Binary binary = jcrSession.getValueFactory().createBinary(new ByteArrayInputStream(bundle));
+            node.setProperty(BUNDLE, binary);
+            node.setProperty(BUNDLE_RECORDS, (long) records.size());
+            session.commit();
+            binary.dispose();
+            bundles.put(name, AuditBundle.open(source(bundlePath)));
+            LOGGER.debug("Wrote audit bundle {} with {} records in {} bytes", bundlePath, records.size(),
+                    bundle.length);
+        }
+
+        // only the nodes now in a bundle
+        int pending = 0;
+        for (final String path : read) {
+            jcrSession.getNode(path).remove();
+            if (++pending >= batchSize) {
+                commit(session, pending);
+                pending = 0;
+            }
+        }
+        commit(session, pending);
+    }
+
+    private void commit(final FedoraSession session, final int pending) throws InterruptedException {
+        if (pending == 0) {
+            return;
+        }
+        session.commit();
+        archived.addAndGet(pending);
+        if (pause > 0) {
+            Thread.sleep(pause);
+        }
+    }
+
+    /**
+     * @return whether a bundle of the day holds the record
+     */
+    private boolean isBundled(final LocalDate day, final UUID uuid) throws IOException {
+        load();
+        final String prefix = day + ".";
+        for (final Map.Entry<String, AuditBundle> bundle : bundles.entrySet()) {
+            if (bundle.getKey().startsWith(prefix) && bundle.getValue().mightContain(uuid) &&
+                    bundle.getValue().find(uuid) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the first unused {@code <day>.<part>} name
+     */
+    private String nextBundleName(final LocalDate day) {
+        load();
+        int part = 0;
+        while (bundles.containsKey(day + "." + part)) {
+            part++;
+        }
+        return day + "." + part;
+    }
+
+    /**
+     * Find a record in the bundles.
+     *
+     * @param eventID the event ID, a {@code urn:uuid:} URI
+     * @return the record, null if no bundle holds it
+     */
+    public AuditRecord find(final String eventID) {
+        final Map.Entry<String, AuditRecord> found = findEntry(AuditRecord.parseEventID(eventID));
+        return found == null ? null : found.getValue();
+    }
+
+    /**
+     * Find the bundle holding a record.
+     *
+     * @param eventID the event ID, a {@code urn:uuid:} URI
+     * @return the name of the bundle, {@code <day>.<part>}, null if no bundle holds the record
+     */
+    public String findBundle(final String eventID) {
+        final Map.Entry<String, AuditRecord> found = findEntry(AuditRecord.parseEventID(eventID));
+        return found == null ? null : found.getKey();
+    }
+
+    private Map.Entry<String, AuditRecord> findEntry(final UUID uuid) {
+        load();
+        try {
+            for (final Map.Entry<String, AuditBundle> bundle : bundles.entrySet()) {
+                if (bundle.getValue().mightContain(uuid)) {
+                    final AuditRecord record = bundle.getValue().find(uuid);
+                    if (record != null) {
+                        return new SimpleImmutableEntry<>(bundle.getKey(), record);
+                    }
+                }
+            }
+            return null;
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    /**
+     * Read the records of a day from its bundles.
+     *
+     * @param day a day in UTC
+     * @return the records in the bundles of the day
+     */
+    public List<AuditRecord> readDay(final LocalDate day) {
+        load();
+        final String prefix = day + ".";
+        final List<AuditRecord> records = new ArrayList<>();
+        try {
+            for (final Map.Entry<String, AuditBundle> bundle : bundles.entrySet()) {
+                if (bundle.getKey().startsWith(prefix)) {
+                    records.addAll(bundle.getValue().readAll());
+                }
+            }
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+        return records;
+    }
+
+    /**
+     * @return the names of the bundles, {@code <day>.<part>}
+     */
+    public Set<String> getBundleNames() {
+        load();
+        return new HashSet<>(bundles.keySet());
+    }
+
+    /**
+     * @return the number of audit nodes compacted into bundles and removed
+     */
+    public long getArchivedCount() {
+        return archived.get();
+    }
+
+    /**
+     * Read the headers of the existing bundles, once.
+     */
+    private void load() {
+        if (!loaded) {
+            refresh();
+        }
+    }
+
+    /**
+     * Read the headers of the bundles written since they were last read, such as by the auditor of another
+     * node, for an archive that only reads.
+     */
+    public synchronized void refresh() {
+        final FedoraSession session = repository.login();
+        try {
+            final Session jcrSession = getJcrSession(session);
+            final String bundlesPath = location + "/" + BUNDLES;
+            if (jcrSession.nodeExists(bundlesPath)) {
+                for (final NodeIterator nodes = jcrSession.getNode(bundlesPath).getNodes(); nodes.hasNext();) {
+                    final Node node = nodes.nextNode();
+                    if (!bundles.containsKey(node.getName()) && node.hasProperty(BUNDLE)) {
+                        bundles.put(node.getName(), AuditBundle.open(source(bundlesPath + "/" + node.getName())));
+                    }
+                }
+            }
+            loaded = true;
+        } catch (final RepositoryException | IOException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+    }
+
+    /**
+     * @return random access to the bundle binary of a resource, each read in its own session
+     */
+    private AuditBundle.Source source(final String path) {
+        return (position, buffer) -> {
+            final FedoraSession session = repository.login();
+            try {
+                final Binary binary = getJcrSession(session).getNode(path).getProperty(BUNDLE).getBinary();
+                try {
+                    int done = 0;
+                    while (done < buffer.length) {
+                        final byte[] chunk = done == 0 ? buffer : new byte[buffer.length - done];
+                        final int read = binary.read(chunk, position + done);
+                        if (read <= 0) {
+                            throw new EOFException("Truncated audit bundle " + path);
+                        }
+                        if (chunk != buffer) {
+                            System.arraycopy(chunk, 0, buffer, done, read);
+                        }
+                        done += read;
+                    }
+                } finally {
+                    binary.dispose();
+                }
+            } catch (final RepositoryException e) {
+                throw new IOException(e);
+            } finally {
+                session.expire();
+            }
+        };
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+
+import org.slf4j.Logger;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Auditor implementation that converts each Fedora event into a single {@link AuditRecord} and fans it
+ * out to a list of {@link AuditSink}s. Every sink has its own bounded queue and writer executor, so a slow
+ * or failing sink neither blocks the event bus nor affects the other sinks.
+ *
+ * <p>By default each sink is written by a single thread, preserving event order. Setting writerThreads
+ * above one, or enabling virtualThreads, allows concurrent writes to sinks that support them. An
+ * {@link InternalAuditor} sink then has to write each audit node in its own session
+ * ({@link InternalAuditor#setSessionPerWrite}); one sharing a session is rejected on registration.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditDispatcher implements Auditor {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditDispatcher.class);
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    @Inject
+    private EventBus eventBus;
+
+    private List<AuditSink> sinks = new ArrayList<>();
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private int writerThreads = 1;
+
+    private boolean virtualThreads = false;
+
+    private final List<AuditSinkWorker> workers = new ArrayList<>();
+
+    /**
+     * @param sinks the audit sinks receiving every record
+     */
+    public void setSinks(final List<AuditSink> sinks) {
+        this.sinks = sinks;
+    }
+
+    /**
+     * @param queueCapacity the maximum number of records waiting for each sink
+     */
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @param writerThreads the number of platform threads writing to each sink
+     */
+    public void setWriterThreads(final int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    /**
+     * @param virtualThreads whether to write to each sink from virtual threads, if the JDK supports them
+     */
+    public void setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Start a writer for each sink and register with the EventBus to receive events.
+     */
+    @PostConstruct
+    public void register() {
+        LOGGER.info("Initializing: {} with {} sinks", this.getClass().getCanonicalName(), sinks.size());
+        for (final AuditSink sink : sinks) {
+            if ((writerThreads > 1 || virtualThreads) && sink instanceof InternalAuditor &&
+                    !((InternalAuditor) sink).isSessionPerWrite()) {
+                throw new IllegalArgumentException("Writing an internal auditor from several threads needs a " +
+                        "session per write");
+            }
+        }
+        for (final AuditSink sink : sinks) {
+            workers.add(new AuditSinkWorker(sink, sink.getClass().getSimpleName(), queueCapacity, writerThreads,
+                    virtualThreads));
+        }
+        eventBus.register(this);
+    }
+
+    /**
+     * Fedora internal events are received by this method and handed to each sink.
+     *
+     * @param event
+     *        The {@link FedoraEvent} to record.
+     */
+    @Override
+    @Subscribe
+    public void recordEvent(final FedoraEvent event) {
+        LOGGER.debug("Event detected: {} {}", event.getUserID(), event.getPath());
+        final AuditRecord record = AuditRecord.fromEvent(event);
+        for (final AuditSinkWorker worker : workers) {
+            worker.submit(record);
+        }
+    }
+
+    /**
+     * Unregister from the EventBus and drain the sink queues.
+     */
+    @PreDestroy
+    public void releaseConnections() {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        eventBus.unregister(this);
+        workers.forEach(AuditSinkWorker::shutdown);
+        workers.forEach(AuditSinkWorker::awaitTermination);
+        workers.clear();
+    }
+
+    /**
+     * @return the number of records dropped because a sink queue was full, summed over all sinks
+     */
+    public long getDroppedCount() {
+        return workers.stream().mapToLong(AuditSinkWorker::getDroppedCount).sum();
+    }
+
+    /**
+     * @return the number of records a sink failed to write, summed over all sinks
+     */
+    public long getFailedCount() {
+        return workers.stream().mapToLong(AuditSinkWorker::getFailedCount).sum();
+    }
+}
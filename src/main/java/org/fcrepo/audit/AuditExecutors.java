@@ -0,0 +1,106 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Factory for the executors that run audit writers.
+ *
+ * <p>Audit writers spend most of their time blocked on repository I/O, so on a JDK with virtual threads
+ * (Java 21 or later) a thread-per-task executor of virtual threads allows many in-flight writes at little
+ * cost per task. The virtual thread API is looked up reflectively so this module still runs on older JDKs,
+ * where a fixed pool of platform threads is used instead.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditExecutors {
+
+    private static final Logger LOGGER = getLogger(AuditExecutors.class);
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+            lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    /**
+     * @return whether the running JDK supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return OF_VIRTUAL != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor for audit writers.
+     *
+     * @param name used to name the writer threads
+     * @param threads the number of platform threads, when not using virtual threads
+     * @param virtualThreads whether to use virtual threads if the JDK supports them
+     * @return the executor
+     */
+    public static ExecutorService newWriterExecutor(final String name, final int threads,
+            final boolean virtualThreads) {
+        if (virtualThreads) {
+            if (isVirtualThreadsSupported()) {
+                try {
+                    return newVirtualThreadExecutor(name);
+                } catch (final ReflectiveOperationException e) {
+                    LOGGER.warn("Could not create virtual thread executor for {}, using platform threads", name, e);
+                }
+            } else {
+                LOGGER.info("Virtual threads are not supported by this JDK, using {} platform threads for {}",
+                        threads, name);
+            }
+        }
+        return Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("fcrepo-audit-" + name + "-%d").setDaemon(true).build());
+    }
+
+    private static ExecutorService newVirtualThreadExecutor(final String name)
+            throws ReflectiveOperationException {
+        // Thread.ofVirtual().name(prefix, 0).factory()
+        final Object builder = OF_VIRTUAL.invoke(null);
+        final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        final Object named = builderClass.getMethod("name", String.class, long.class)
+                .invoke(builder, "fcrepo-audit-" + name + "-", 0L);
+        final ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(named);
+        return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+    }
+
+    private static Method lookup(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private AuditExecutors() {
+        // prevent instantiation
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Collections.emptySet;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration of a lane of the {@link PriorityAuditSink}: which audit event types it carries, its share
+ * of the writer and what happens when it is full.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditLane {
+
+    /**
+     * What to do with a record arriving at a full lane.
+     */
+    public enum Overflow {
+        /** Drop the arriving record. */
+        DROP_NEWEST,
+        /** Drop the oldest queued record of the lane to make room. */
+        DROP_OLDEST,
+        /** Wait until the lane has room, pushing back on the caller. */
+        BLOCK
+    }
+
+    private String name;
+
+    private Set<String> auditEventTypes = emptySet();
+
+    private int weight = 1;
+
+    private int capacity = 10000;
+
+    private Overflow overflow = Overflow.BLOCK;
+
+    /**
+     * Default constructor for configuration with setters.
+     */
+    public AuditLane() {
+    }
+
+    /**
+     * @param name the lane name
+     * @param weight the number of records taken from this lane per round
+     * @param capacity the maximum number of queued records
+     * @param overflow what to do when the lane is full
+     * @param auditEventTypes the audit event type URIs carried by this lane
+     */
+    public AuditLane(final String name, final int weight, final int capacity, final Overflow overflow,
+            final String... auditEventTypes) {
+        this.name = name;
+        this.weight = weight;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.auditEventTypes = new HashSet<>(Arrays.asList(auditEventTypes));
+    }
+
+    /**
+     * @param name the lane name
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param auditEventTypes the audit event type URIs carried by this lane; a lane without any carries
+     *        records of types no other lane carries, including records without a type
+     */
+    public void setAuditEventTypes(final Set<String> auditEventTypes) {
+        this.auditEventTypes = auditEventTypes;
+    }
+
+    /**
+     * @param weight the number of records taken from this lane per round
+     */
+    public void setWeight(final int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * @param capacity the maximum number of queued records
+     */
+    public void setCapacity(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param overflow what to do when the lane is full, blocking by default
+     */
+    public void setOverflow(final Overflow overflow) {
+        this.overflow = overflow;
+    }
+
+    /**
+     * @return the lane name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the audit event type URIs carried by this lane
+     */
+    public Set<String> getAuditEventTypes() {
+        return auditEventTypes;
+    }
+
+    /**
+     * @return the number of records taken from this lane per round
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the maximum number of queued records
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return what to do when the lane is full
+     */
+    public Overflow getOverflow() {
+        return overflow;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+import javax.jcr.Binary;
+import javax.jcr.Node;
+import javax.jcr.Property;
+import javax.jcr.RepositoryException;
+import javax.jcr.Value;
+
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.slf4j.Logger;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Writes the fields of audit records to the audit nodes of the {@link InternalAuditor} and reads the records
+ * back. The PREMIS properties describe the event for linked data clients; the record fields keep the user,
+ * user agent, base URL and path apart, which the PREMIS agents and object URI do not.
+ *
+ * <p>The record fields are bookkeeping, not part of the audit event, so they are written as one binary
+ * property in the {@link AuditRecordCodec} encoding, which Fedora leaves out of the triples of the audit
+ * resource. Audit nodes written before the record fields are read from their PREMIS properties alone.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+final class AuditNodes {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditNodes.class);
+
+    // JCR property names, not URIs
+    static final String PREMIS_TIME = "premis:hasEventDateTime";
+    private static final String PREMIS_TYPE = "premis:hasEventType";
+    private static final String PREMIS_AGENT = "premis:hasEventRelatedAgent";
+    static final String PREMIS_OBJ = "premis:hasEventRelatedObject";
+    private static final String RECORD = "audit:record";
+
+    private AuditNodes() {
+    }
+
+    /**
+     * Write the record fields to an audit node.
+     *
+     * @param node the audit node
+     * @param record the record
+     * @throws RepositoryException if the node cannot be written
+     */
+    static void write(final Node node, final AuditRecord record) throws RepositoryException {
+        final Binary binary = node.getSession().getValueFactory()
+                .createBinary(new ByteArrayInputStream(AuditRecordCodec.toBytes(record)));
+        node.setProperty(RECORD, binary);
+    }
+
+    /**
+     * @param node an audit node
+     * @return whether a record can be read back from the node, which needs an event date
+     * @throws RepositoryException if the node cannot be read
+     */
+    static boolean hasEventDate(final Node node) throws RepositoryException {
+        return node.hasProperty(PREMIS_TIME);
+    }
+
+    /**
+     * Read a record back from its audit node. The event date is kept to the second, as it is persisted.
+     *
+     * <p>An audit node written before the record fields does not say which of its agents is the user or where
+     * the base URL of its object ends: its agents are taken as the user and user agent in the order they are
+     * stored, and its object URI as the path, with an empty base URL.</p>
+     *
+     * @param eventID the event ID
+     * @param node the audit node
+     * @return the record, null if the node has no event date
+     * @throws RepositoryException if the node cannot be read
+     */
+    static AuditRecord read(final String eventID, final Node node) throws RepositoryException {
+        if (!hasEventDate(node)) {
+            LOGGER.debug("Audit node {} has no event date", node.getPath());
+            return null;
+        }
+        final UUID uuid = AuditRecord.parseEventID(eventID);
+        final long epochMillis = getEpochMillis(node);
+        final String type = getString(node, PREMIS_TYPE);
+        if (node.hasProperty(RECORD)) {
+            final AuditRecord fields = AuditRecordCodec.fromBytes(readBinary(node, RECORD));
+            return new AuditRecord(uuid, epochMillis, type, fields.getUserID(), fields.getUserAgent(),
+                    fields.getBaseURL(), fields.getPath());
+        }
+        final Value[] agents = node.hasProperty(PREMIS_AGENT) ? values(node, PREMIS_AGENT) : new Value[0];
+        return new AuditRecord(uuid, epochMillis, type, agents.length > 0 ? agents[0].getString() : null,
+                agents.length > 1 ? agents[1].getString() : null, "", getString(node, PREMIS_OBJ));
+    }
+
+    /**
+     * @param node an audit node with an event date
+     * @return the event date in milliseconds since the epoch
+     * @throws RepositoryException if the node cannot be read
+     */
+    static long getEpochMillis(final Node node) throws RepositoryException {
+        return values(node, PREMIS_TIME)[0].getDate().getTimeInMillis();
+    }
+
+    private static byte[] readBinary(final Node node, final String name) throws RepositoryException {
+        final Binary binary = node.getProperty(name).getBinary();
+        try (final InputStream in = binary.getStream()) {
+            return ByteStreams.toByteArray(in);
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            binary.dispose();
+        }
+    }
+
+    private static String getString(final Node node, final String name) throws RepositoryException {
+        return node.hasProperty(name) ? values(node, name)[0].getString() : null;
+    }
+
+    private static Value[] values(final Node node, final String name) throws RepositoryException {
+        final Property property = node.getProperty(name);
+        return property.isMultiple() ? property.getValues() : new Value[] { property.getValue() };
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.services.ContainerService;
+
+import org.slf4j.Logger;
+
+/**
+ * Moves the audit nodes of an audit container or partition into the bucket layout of a new
+ * {@link UuidPathMinter}, in throttled batches so that it can run while the auditor keeps writing. Buckets
+ * of the old layout are removed once emptied. Running it again after an interruption continues where it
+ * stopped; until it has finished, audit nodes are found by trying the new layout and then the old ones.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditPathRebalancer {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditPathRebalancer.class);
+
+    private static final Pattern UUID_NAME =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    // containers below the audit container that do not hold audit nodes
+    private static final Set<String> EXCLUDED = new HashSet<>(Arrays.asList(
+            InternalAuditor.SUMMARY_CONTAINER, "seals", "nodes", AuditArchive.BUNDLES));
+
+    private final FedoraRepository repository;
+
+    private final ContainerService containerService;
+
+    private final String location;
+
+    private final UuidPathMinter target;
+
+    private int batchSize = 100;
+
+    private long pause = 1000;
+
+    private volatile boolean running;
+
+    private volatile boolean done;
+
+    private Thread worker;
+
+    private final AtomicLong scanned = new AtomicLong();
+
+    private final AtomicLong moved = new AtomicLong();
+
+    /**
+     * @param repository the repository
+     * @param containerService used to create buckets of the new layout
+     * @param location the path of the audit container or partition to rebalance
+     * @param target the new layout
+     */
+    public AuditPathRebalancer(final FedoraRepository repository, final ContainerService containerService,
+            final String location, final UuidPathMinter target) {
+        this.repository = repository;
+        this.containerService = containerService;
+        this.location = location;
+        this.target = target;
+    }
+
+    /**
+     * @param batchSize the number of audit nodes moved per commit
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param pause milliseconds to wait after each commit
+     */
+    public void setPause(final long pause) {
+        this.pause = pause;
+    }
+
+    /**
+     * Rebalance in a background thread.
+     */
+    public void start() {
+        LOGGER.info("Rebalancing audit nodes under {} to layout {}", location, target);
+        running = true;
+        worker = new Thread(this::run, "fcrepo-audit-rebalancer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stop rebalancing after the current batch.
+     *
+     * @throws InterruptedException if interrupted while waiting for the batch
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join();
+        }
+    }
+
+    /**
+     * Rebalance in the calling thread.
+     */
+    public void run() {
+        running = true;
+        final FedoraSession session = repository.login();
+        try {
+            final Batch batch = new Batch(session);
+            rebalance(batch, location, 0);
+            batch.commit();
+            done = running;
+            LOGGER.info("Rebalanced audit nodes under {}: scanned {}, moved {}{}", location, scanned.get(),
+                    moved.get(), done ? "" : " before stopping");
+        } catch (final RepositoryException | RuntimeException e) {
+            LOGGER.error("Error rebalancing audit nodes under {}, moved {}", location, moved.get(), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.info("Stopped rebalancing audit nodes under {}, moved {}", location, moved.get());
+        } finally {
+            session.expire();
+        }
+    }
+
+    private void rebalance(final Batch batch, final String path, final int depth)
+            throws RepositoryException, InterruptedException {
+        final Session jcrSession = getJcrSession(batch.session);
+        final List<String> children = new ArrayList<>();
+        for (final NodeIterator nodes = jcrSession.getNode(path).getNodes(); nodes.hasNext();) {
+            children.add(nodes.nextNode().getName());
+        }
+        for (final String name : children) {
+            if (!running) {
+                return;
+            }
+            if (depth == 0 && EXCLUDED.contains(name)) {
+                continue;
+            }
+            final String child = path + "/" + name;
+            if (UUID_NAME.matcher(name).matches()) {
+                scanned.incrementAndGet();
+                final String destination = location + "/" + target.get(name);
+                if (!destination.equals(child)) {
+                    batch.move(child, destination);
+                }
+            } else {
+                rebalance(batch, child, depth + 1);
+            }
+        }
+        if (depth > 0 && isOldBucket(path, depth)) {
+            batch.commit();
+            final Node bucket = jcrSession.getNode(path);
+            if (!bucket.hasNodes()) {
+                bucket.remove();
+                batch.session.commit();
+            }
+        }
+    }
+
+    /**
+     * @return whether a bucket cannot be part of the new layout
+     */
+    private boolean isOldBucket(final String path, final int depth) {
+        return depth > target.getCount() || path.substring(path.lastIndexOf('/') + 1).length() != target.getLength();
+    }
+
+    /**
+     * @return whether the last run moved every audit node into the new layout
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return the number of audit nodes found
+     */
+    public long getScannedCount() {
+        return scanned.get();
+    }
+
+    /**
+     * @return the number of audit nodes moved
+     */
+    public long getMovedCount() {
+        return moved.get();
+    }
+
+    /**
+     * Moves pending in the session, committed every batchSize moves.
+     */
+    private class Batch {
+
+        private final FedoraSession session;
+
+        private int pending;
+
+        Batch(final FedoraSession session) {
+            this.session = session;
+        }
+
+        void move(final String source, final String destination) throws RepositoryException,
+                InterruptedException {
+            containerService.findOrCreate(session, destination.substring(0, destination.lastIndexOf('/')));
+            getJcrSession(session).move(source, destination);
+            if (++pending >= batchSize) {
+                commit();
+            }
+        }
+
+        void commit() throws InterruptedException {
+            if (pending == 0) {
+                return;
+            }
+            session.commit();
+            moved.addAndGet(pending);
+            LOGGER.debug("Moved {} audit nodes under {}", pending, location);
+            pending = 0;
+            if (pause > 0) {
+                Thread.sleep(pause);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+/**
+ * The phases of writing an audit record that are traced by {@link AuditTracing}.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public enum AuditPhase {
+
+    /** Building the audit record and its audit event type from a Fedora event. */
+    CLASSIFICATION,
+
+    /** Minting the path of the audit node. */
+    PATH_MINTING,
+
+    /** Finding or creating the audit node. */
+    FIND_OR_CREATE,
+
+    /** Writing the properties of the audit node. */
+    PROPERTY_WRITE,
+
+    /** Committing the audit node. */
+    COMMIT,
+
+    /** Writing the audit record to a log. */
+    LOG_WRITE
+}
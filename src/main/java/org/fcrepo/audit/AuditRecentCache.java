@@ -0,0 +1,189 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded in-memory cache of the most recently written audit records, both overall and per related
+ * object, for activity feeds that would otherwise query the audit container on every request.
+ *
+ * <p>The global list holds the last {@code capacity} records. For each of the last {@code objectCapacity}
+ * objects with a record, the last {@code perObject} records are kept; the object whose latest record is
+ * oldest is evicted first. Records are returned newest first. Adding and reading are safe from any thread,
+ * and readers only share a read lock.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditRecentCache implements AuditSink {
+
+    private static final AuditRecord[] NONE = new AuditRecord[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AuditRecord[] ring;
+
+    private final int perObject;
+
+    // in the order of their latest record, oldest first; each array is never modified once added
+    private final LinkedHashMap<String, AuditRecord[]> objects;
+
+    private long count;
+
+    /**
+     * @param capacity the number of records kept overall
+     * @param objectCapacity the number of objects records are kept for
+     * @param perObject the number of records kept per object
+     */
+    public AuditRecentCache(final int capacity, final int objectCapacity, final int perObject) {
+        if (capacity < 1 || objectCapacity < 1 || perObject < 1) {
+            throw new IllegalArgumentException("Audit cache sizes must be positive");
+        }
+        this.ring = new AuditRecord[capacity];
+        this.perObject = perObject;
+        this.objects = new LinkedHashMap<String, AuditRecord[]>(16, 0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, AuditRecord[]> eldest) {
+                return size() > objectCapacity;
+            }
+        };
+    }
+
+    /**
+     * Add a record.
+     *
+     * @param record the record
+     */
+    @Override
+    public void write(final AuditRecord record) {
+        lock.writeLock().lock();
+        try {
+            ring[(int) (count++ % ring.length)] = record;
+            final String object = record.getObjectURI();
+            if (object != null) {
+                final AuditRecord[] previous = objects.remove(object);
+                final int kept = previous == null ? 0 : Math.min(previous.length, perObject - 1);
+                final AuditRecord[] records = new AuditRecord[kept + 1];
+                records[0] = record;
+                if (kept > 0) {
+                    System.arraycopy(previous, 0, records, 1, kept);
+                }
+                objects.put(object, records);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param max the maximum number of records to return
+     * @return the most recent records, newest first
+     */
+    public List<AuditRecord> recent(final int max) {
+        lock.readLock().lock();
+        try {
+            final int n = (int) Math.min(Math.min(max, ring.length), count);
+            final List<AuditRecord> records = new ArrayList<>(Math.max(n, 0));
+            for (int i = 1; i <= n; i++) {
+                records.add(ring[(int) ((count - i) % ring.length)]);
+            }
+            return records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param objectURI the URI of a repository resource
+     * @param max the maximum number of records to return
+     * @return the most recent records of the object, newest first; empty if it has none in the cache
+     */
+    public List<AuditRecord> recent(final String objectURI, final int max) {
+        final AuditRecord[] records = get(objectURI);
+        final List<AuditRecord> list = new ArrayList<>(Math.max(Math.min(max, records.length), 0));
+        for (int i = 0; i < records.length && i < max; i++) {
+            list.add(records[i]);
+        }
+        return list;
+    }
+
+    /**
+     * @param objectURI the URI of a repository resource
+     * @return the most recent record of the object, null if it has none in the cache
+     */
+    public AuditRecord last(final String objectURI) {
+        final AuditRecord[] records = get(objectURI);
+        return records.length == 0 ? null : records[0];
+    }
+
+    /**
+     * @return the URIs of the objects in the cache, most recently changed first
+     */
+    public List<String> getObjects() {
+        lock.readLock().lock();
+        try {
+            final List<String> uris = new ArrayList<>(objects.keySet());
+            Collections.reverse(uris);
+            return uris;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of records in the global list
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (int) Math.min(count, ring.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of records added since the cache was created
+     */
+    public long getAddedCount() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private AuditRecord[] get(final String objectURI) {
+        lock.readLock().lock();
+        try {
+            final AuditRecord[] records = objects.get(objectURI);
+            return records == null ? NONE : records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
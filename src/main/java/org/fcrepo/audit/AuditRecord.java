@@ -0,0 +1,223 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.time.ZoneOffset.UTC;
+import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
+import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+
+/**
+ * Immutable audit record built once from a {@link FedoraEvent} and shared by all audit sinks.
+ * The event identifier is parsed to a UUID, the timestamp kept as epoch milliseconds and the audit
+ * event type classified up front; string renderings are produced lazily and cached.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditRecord {
+
+    private static final String UUID_PREFIX = "urn:uuid:";
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(UTC);
+
+    private final UUID uuid;
+    private final long epochMillis;
+    private final String auditEventType;
+    private final String userID;
+    private final String userAgent;
+    private final String baseURL;
+    private final String path;
+
+    // lazily rendered, racy single-check caching is safe since String is immutable
+    private String eventID;
+    private String eventDate;
+    private String objectURI;
+
+    /**
+     * Create an audit record.
+     *
+     * @param uuid the UUID of the event, may be null
+     * @param epochMillis the time of the event in milliseconds since the epoch
+     * @param auditEventType the audit event type URI, may be null
+     * @param userID the user responsible for the event
+     * @param userAgent the user agent of the request, may be null
+     * @param baseURL the base URL of the repository, may be null
+     * @param path the repository path of the affected resource
+     */
+    public AuditRecord(final UUID uuid, final long epochMillis, final String auditEventType, final String userID,
+            final String userAgent, final String baseURL, final String path) {
+        this.uuid = uuid;
+        this.epochMillis = epochMillis;
+        this.auditEventType = auditEventType;
+        this.userID = userID;
+        this.userAgent = userAgent;
+        this.baseURL = baseURL;
+        this.path = path;
+    }
+
+    /**
+     * Build an audit record from a Fedora event, reading each event field only once.
+     *
+     * @param event the Fedora event
+     * @return the audit record
+     */
+    public static AuditRecord fromEvent(final FedoraEvent event) {
+        final Map<String, String> info = event.getInfo();
+        final Instant date = event.getDate();
+        return new AuditRecord(parseEventID(event.getEventID()), date == null ? 0L : date.toEpochMilli(),
+                AuditUtils.getAuditEventType(AuditUtils.getEventURIs(event.getTypes()), event.getResourceTypes()),
+                event.getUserID(), info == null ? null : info.get(USER_AGENT),
+                info == null ? null : info.get(BASE_URL), event.getPath());
+    }
+
+    /**
+     * Parse a 'urn:uuid:' event identifier.
+     *
+     * @param eventID the event identifier, may be null
+     * @return the UUID, or null if eventID is null
+     */
+    public static UUID parseEventID(final String eventID) {
+        if (eventID == null) {
+            return null;
+        }
+        if (!eventID.startsWith(UUID_PREFIX)) {
+            throw new IllegalArgumentException("Event ID must be a 'urn:uuid:'" + eventID);
+        }
+        return UUID.fromString(eventID.substring(UUID_PREFIX.length()));
+    }
+
+    /**
+     * @return the UUID of the event
+     */
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    /**
+     * @return the 'urn:uuid:' identifier of the event
+     */
+    public String getEventID() {
+        if (eventID == null && uuid != null) {
+            eventID = UUID_PREFIX + uuid;
+        }
+        return eventID;
+    }
+
+    /**
+     * @return the time of the event in milliseconds since the epoch
+     */
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    /**
+     * @return the time of the event
+     */
+    public Instant getDate() {
+        return Instant.ofEpochMilli(epochMillis);
+    }
+
+    /**
+     * @return the time of the event as an xsd:dateTime string with second precision
+     */
+    public String getEventDate() {
+        if (eventDate == null) {
+            eventDate = DATE_FORMAT.format(getDate());
+        }
+        return eventDate;
+    }
+
+    /**
+     * @return the audit event type URI, or null if the event is not auditable
+     */
+    public String getAuditEventType() {
+        return auditEventType;
+    }
+
+    /**
+     * @return the user responsible for the event
+     */
+    public String getUserID() {
+        return userID;
+    }
+
+    /**
+     * @return the user agent of the request
+     */
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    /**
+     * @return the base URL of the repository
+     */
+    public String getBaseURL() {
+        return baseURL;
+    }
+
+    /**
+     * @return the repository path of the affected resource
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the URI of the affected resource
+     */
+    public String getObjectURI() {
+        if (objectURI == null) {
+            objectURI = baseURL + path;
+        }
+        return objectURI;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuditRecord)) {
+            return false;
+        }
+        final AuditRecord other = (AuditRecord) o;
+        return epochMillis == other.epochMillis && Objects.equals(uuid, other.uuid) &&
+                Objects.equals(auditEventType, other.auditEventType) && Objects.equals(userID, other.userID) &&
+                Objects.equals(userAgent, other.userAgent) && Objects.equals(baseURL, other.baseURL) &&
+                Objects.equals(path, other.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(uuid, epochMillis, auditEventType, userID, path);
+    }
+
+    @Override
+    public String toString() {
+        return getEventID() + " " + auditEventType + " " + userID + " " + path;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.fcrepo.audit.AuditProperties.CONTENT_ADD;
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.AuditProperties.CONTENT_REM;
+import static org.fcrepo.audit.AuditProperties.METADATA_MOD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_REM;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Binary encoding of {@link AuditRecord}s using absolute {@link ByteBuffer} access, so records can be
+ * written into shared (direct or mapped) buffers without allocating. The layout is: a flag byte, the
+ * UUID as two longs, the epoch milliseconds, a one byte audit event type code, then the user ID, user
+ * agent, base URL and path as length-prefixed UTF-8 strings (length -1 for null).
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditRecordCodec {
+
+    private static final String[] AUDIT_EVENT_TYPES =
+            { CONTENT_ADD, CONTENT_MOD, CONTENT_REM, METADATA_MOD, OBJECT_ADD, OBJECT_REM };
+
+    private static final int FIXED_LENGTH = 1 + 8 + 8 + 8 + 1;
+
+    private static final byte HAS_UUID = 1;
+
+    /**
+     * @param record the record to measure
+     * @return the number of bytes the encoded record occupies
+     */
+    public static int encodedLength(final AuditRecord record) {
+        return FIXED_LENGTH + stringLength(record.getUserID()) + stringLength(record.getUserAgent()) +
+                stringLength(record.getBaseURL()) + stringLength(record.getPath());
+    }
+
+    /**
+     * Encode a record at the given offset. The buffer must have room for {@link #encodedLength}.
+     *
+     * @param record the record to encode
+     * @param buffer the target buffer, its position and limit are not used or changed
+     * @param offset the index of the first byte to write
+     * @return the number of bytes written
+     */
+    public static int encode(final AuditRecord record, final ByteBuffer buffer, final int offset) {
+        int i = offset;
+        final UUID uuid = record.getUuid();
+        buffer.put(i, uuid == null ? 0 : HAS_UUID);
+        buffer.putLong(i + 1, uuid == null ? 0L : uuid.getMostSignificantBits());
+        buffer.putLong(i + 9, uuid == null ? 0L : uuid.getLeastSignificantBits());
+        buffer.putLong(i + 17, record.getEpochMillis());
+        buffer.put(i + 25, typeCode(record.getAuditEventType()));
+        i += FIXED_LENGTH;
+        i = putString(buffer, i, record.getUserID());
+        i = putString(buffer, i, record.getUserAgent());
+        i = putString(buffer, i, record.getBaseURL());
+        i = putString(buffer, i, record.getPath());
+        return i - offset;
+    }
+
+    /**
+     * Decode a record written by {@link #encode}.
+     *
+     * @param buffer the source buffer, its position and limit are not used or changed
+     * @param offset the index of the first byte of the record
+     * @return the record
+     */
+    public static AuditRecord decode(final ByteBuffer buffer, final int offset) {
+        final UUID uuid = buffer.get(offset) == HAS_UUID ?
+                new UUID(buffer.getLong(offset + 1), buffer.getLong(offset + 9)) : null;
+        final long epochMillis = buffer.getLong(offset + 17);
+        final byte typeCode = buffer.get(offset + 25);
+        final int[] cursor = { offset + FIXED_LENGTH };
+        final String userID = getString(buffer, cursor);
+        final String userAgent = getString(buffer, cursor);
+        final String baseURL = getString(buffer, cursor);
+        final String path = getString(buffer, cursor);
+        return new AuditRecord(uuid, epochMillis, typeCode < 0 ? null : AUDIT_EVENT_TYPES[typeCode], userID,
+                userAgent, baseURL, path);
+    }
+
+    /**
+     * Encode a record into a new byte array.
+     *
+     * @param record the record to encode
+     * @return the encoded bytes
+     */
+    public static byte[] toBytes(final AuditRecord record) {
+        final byte[] bytes = new byte[encodedLength(record)];
+        encode(record, ByteBuffer.wrap(bytes), 0);
+        return bytes;
+    }
+
+    /**
+     * Decode a record from a byte array produced by {@link #toBytes}.
+     *
+     * @param bytes the encoded bytes
+     * @return the record
+     */
+    public static AuditRecord fromBytes(final byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes), 0);
+    }
+
+    private static byte typeCode(final String auditEventType) {
+        if (auditEventType != null) {
+            for (byte i = 0; i < AUDIT_EVENT_TYPES.length; i++) {
+                if (AUDIT_EVENT_TYPES[i].equals(auditEventType)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int stringLength(final String s) {
+        return 4 + (s == null ? 0 : utf8Length(s));
+    }
+
+    private static int utf8Length(final String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() &&
+                    Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int putString(final ByteBuffer buffer, final int offset, final String s) {
+        if (s == null) {
+            buffer.putInt(offset, -1);
+            return offset + 4;
+        }
+        int i = offset + 4;
+        for (int j = 0; j < s.length(); j++) {
+            final char c = s.charAt(j);
+            if (c < 0x80) {
+                buffer.put(i++, (byte) c);
+            } else if (c < 0x800) {
+                buffer.put(i++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(i++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && j + 1 < s.length() &&
+                    Character.isLowSurrogate(s.charAt(j + 1))) {
+                final int cp = Character.toCodePoint(c, s.charAt(++j));
+                buffer.put(i++, (byte) (0xF0 | (cp >> 18)));
+                buffer.put(i++, (byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put(i++, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put(i++, (byte) (0x80 | (cp & 0x3F)));
+            } else {
+                // unpaired surrogates are encoded as three bytes and decode to U+FFFD
+                buffer.put(i++, (byte) (0xE0 | (c >> 12)));
+                buffer.put(i++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put(i++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        buffer.putInt(offset, i - offset - 4);
+        return i;
+    }
+
+    private static String getString(final ByteBuffer buffer, final int[] cursor) {
+        final int length = buffer.getInt(cursor[0]);
+        cursor[0] += 4;
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(cursor[0] + i);
+        }
+        cursor[0] += length;
+        return new String(bytes, UTF_8);
+    }
+
+    private AuditRecordCodec() {
+        // prevent instantiation
+    }
+}
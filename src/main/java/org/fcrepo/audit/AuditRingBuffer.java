@@ -0,0 +1,278 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-size ring buffer holding encoded {@link AuditRecord}s in a direct or memory-mapped buffer, so the
+ * number of queued records has no effect on the Java heap. The buffer is divided into fixed-size slots
+ * addressed by a monotonically increasing sequence number.
+ *
+ * <p>There must be a single writer thread calling {@link #offer}. Any number of {@link Reader}s may be
+ * opened, each seeing every record published after it was opened; the writer never overwrites a slot
+ * that an open reader has not yet consumed, and {@link #offer} returns false instead.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditRingBuffer {
+
+    private static final int LENGTH_PREFIX = 4;
+
+    private final ByteBuffer buffer;
+
+    private final int slotSize;
+
+    private final int slots;
+
+    private final long mask;
+
+    private final AtomicLong published = new AtomicLong(-1L);
+
+    private final List<Reader> readers = new CopyOnWriteArrayList<>();
+
+    // owned by the writer thread
+    private long next = 0L;
+
+    private long cachedMinimumReaderSequence = 0L;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong oversized = new AtomicLong();
+
+    /**
+     * Create a ring buffer over an existing buffer.
+     *
+     * @param buffer the backing buffer, its capacity divided by slotSize must be a power of two
+     * @param slotSize the number of bytes per slot, limiting the encoded size of a record
+     */
+    public AuditRingBuffer(final ByteBuffer buffer, final int slotSize) {
+        final int count = buffer.capacity() / slotSize;
+        if (count < 1 || Integer.bitCount(count) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + count);
+        }
+        this.buffer = buffer;
+        this.slotSize = slotSize;
+        this.slots = count;
+        this.mask = count - 1;
+    }
+
+    /**
+     * Create a ring buffer in direct memory.
+     *
+     * @param slots the number of slots, a power of two
+     * @param slotSize the number of bytes per slot
+     * @return the ring buffer
+     */
+    public static AuditRingBuffer allocateDirect(final int slots, final int slotSize) {
+        return new AuditRingBuffer(ByteBuffer.allocateDirect(checkedCapacity(slots, slotSize)), slotSize);
+    }
+
+    /**
+     * Create a ring buffer backed by a memory-mapped file, letting the operating system page queued records
+     * out under memory pressure. The file is scratch space: its contents are not recovered on restart.
+     *
+     * @param file the backing file, created if necessary
+     * @param slots the number of slots, a power of two
+     * @param slotSize the number of bytes per slot
+     * @return the ring buffer
+     * @throws IOException if the file cannot be mapped
+     */
+    public static AuditRingBuffer map(final Path file, final int slots, final int slotSize) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            return new AuditRingBuffer(channel.map(READ_WRITE, 0, checkedCapacity(slots, slotSize)), slotSize);
+        }
+    }
+
+    private static int checkedCapacity(final int slots, final int slotSize) {
+        final long capacity = (long) slots * slotSize;
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ring buffer capacity too large: " + capacity);
+        }
+        return (int) capacity;
+    }
+
+    /**
+     * @param record a record
+     * @return whether the encoded record fits in a slot
+     */
+    public boolean fits(final AuditRecord record) {
+        return AuditRecordCodec.encodedLength(record) <= slotSize - LENGTH_PREFIX;
+    }
+
+    /**
+     * Append a record. Must only be called from the single writer thread.
+     *
+     * @param record the record to append
+     * @return false if the record is larger than a slot or the slowest reader is a full ring behind
+     */
+    public boolean offer(final AuditRecord record) {
+        final int length = AuditRecordCodec.encodedLength(record);
+        if (length > slotSize - LENGTH_PREFIX) {
+            oversized.incrementAndGet();
+            return false;
+        }
+        final long wrapPoint = next - slots;
+        if (wrapPoint >= cachedMinimumReaderSequence) {
+            cachedMinimumReaderSequence = minimumReaderSequence();
+            if (wrapPoint >= cachedMinimumReaderSequence) {
+                rejected.incrementAndGet();
+                return false;
+            }
+        }
+        final int offset = offset(next);
+        buffer.putInt(offset, length);
+        AuditRecordCodec.encode(record, buffer, offset + LENGTH_PREFIX);
+        // the volatile store publishes the slot contents to the readers
+        published.set(next);
+        next++;
+        return true;
+    }
+
+    private long minimumReaderSequence() {
+        long minimum = next;
+        for (final Reader reader : readers) {
+            minimum = Math.min(minimum, reader.sequence.get());
+        }
+        return minimum;
+    }
+
+    private int offset(final long sequence) {
+        return (int) (sequence & mask) * slotSize;
+    }
+
+    /**
+     * Open a reader positioned after the most recently published record.
+     *
+     * @return the reader
+     */
+    public Reader newReader() {
+        final Reader reader = new Reader(published.get() + 1);
+        readers.add(reader);
+        // the writer may have wrapped past that position before it saw the reader; once registered, the
+        // reader holds back the writer, so the position read now stays intact
+        reader.sequence.set(published.get() + 1);
+        return reader;
+    }
+
+    /**
+     * @return the sequence of the most recently published record, or -1 if none
+     */
+    public long getPublishedSequence() {
+        return published.get();
+    }
+
+    /**
+     * @return the number of slots
+     */
+    public int getCapacity() {
+        return slots;
+    }
+
+    /**
+     * @return the number of records rejected because the ring was full
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * @return the number of records rejected because they were larger than a slot
+     */
+    public long getOversizedCount() {
+        return oversized.get();
+    }
+
+    /**
+     * A cursor over the published records. Each reader must be used by one thread at a time and closed when
+     * no longer needed, since an open reader holds back the writer.
+     */
+    public final class Reader implements AutoCloseable {
+
+        private final AtomicLong sequence;
+
+        private Reader(final long start) {
+            this.sequence = new AtomicLong(start);
+        }
+
+        /**
+         * @return the sequence of the next record this reader will return
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        /**
+         * @return the number of published records this reader has not yet consumed
+         */
+        public long available() {
+            return published.get() - sequence.get() + 1;
+        }
+
+        /**
+         * @return the next record, or null if none has been published yet
+         */
+        public AuditRecord poll() {
+            final long current = sequence.get();
+            if (current > published.get()) {
+                return null;
+            }
+            final AuditRecord record = AuditRecordCodec.decode(buffer, offset(current) + LENGTH_PREFIX);
+            // release the slot to the writer only after it has been decoded
+            sequence.lazySet(current + 1);
+            return record;
+        }
+
+        /**
+         * Hand up to maxRecords published records to the consumer, releasing their slots as a batch.
+         *
+         * @param consumer receives the records in sequence order
+         * @param maxRecords the maximum number of records to read
+         * @return the number of records read
+         */
+        public int drain(final Consumer<AuditRecord> consumer, final int maxRecords) {
+            final long current = sequence.get();
+            final long last = Math.min(published.get(), current + maxRecords - 1);
+            for (long s = current; s <= last; s++) {
+                consumer.accept(AuditRecordCodec.decode(buffer, offset(s) + LENGTH_PREFIX));
+            }
+            if (last >= current) {
+                sequence.lazySet(last + 1);
+            }
+            return (int) Math.max(0, last - current + 1);
+        }
+
+        @Override
+        public void close() {
+            readers.remove(this);
+        }
+    }
+}
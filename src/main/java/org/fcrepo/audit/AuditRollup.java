@@ -0,0 +1,209 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incrementally maintained counts of audit records by hour, audit event type and agent. Counting is
+ * lock-free: each group has a striped {@link LongAdder}, so concurrent writers rarely contend. The counts
+ * accumulated since the previous {@link #drain} are handed out for persisting as summaries.
+ *
+ * <p>A drain only retires the groups of hours before the previous one, and does so holding the group's
+ * monitor. Records of the current and previous hour, nearly all of them, are counted without a lock; the
+ * occasional late record of an older hour is counted under the monitor, so it cannot land in a group the
+ * drain has just retired.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditRollup {
+
+    static final long MILLIS_PER_HOUR = 3600000L;
+
+    private final ConcurrentHashMap<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Count a record. Records without an audit event type are not counted.
+     *
+     * @param record the record
+     */
+    public void increment(final AuditRecord record) {
+        if (record.getAuditEventType() == null) {
+            return;
+        }
+        final Key key = new Key(Math.floorDiv(record.getEpochMillis(), MILLIS_PER_HOUR),
+                record.getAuditEventType(), record.getUserID());
+        final boolean recent = key.hour >= Math.floorDiv(System.currentTimeMillis(), MILLIS_PER_HOUR) - 1;
+        while (true) {
+            Counter counter = counters.get(key);
+            if (counter == null) {
+                counter = counters.computeIfAbsent(key, k -> new Counter());
+            }
+            if (recent) {
+                // a drain does not retire this hour
+                counter.adder.increment();
+                return;
+            }
+            synchronized (counter) {
+                if (!counter.retired) {
+                    counter.adder.increment();
+                    return;
+                }
+            }
+            counters.remove(key, counter);
+        }
+    }
+
+    /**
+     * Take the counts accumulated since the previous drain. Groups of past hours that have not changed since
+     * the previous drain are discarded.
+     *
+     * @param nowMillis the current time
+     * @return the new counts per group
+     */
+    public synchronized Map<Key, Long> drain(final long nowMillis) {
+        final long currentHour = Math.floorDiv(nowMillis, MILLIS_PER_HOUR);
+        final Map<Key, Long> deltas = new HashMap<>();
+        final Iterator<Map.Entry<Key, Counter>> entries = counters.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<Key, Counter> entry = entries.next();
+            final Counter counter = entry.getValue();
+            final long total = counter.adder.sum();
+            final long delta = total - counter.drained;
+            if (delta != 0) {
+                deltas.put(entry.getKey(), delta);
+                counter.drained = total;
+            } else if (entry.getKey().hour < currentHour - 1 && retire(counter)) {
+                entries.remove();
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Retire an unchanged group, unless a late record was counted since it was last drained.
+     */
+    private static boolean retire(final Counter counter) {
+        synchronized (counter) {
+            if (counter.adder.sum() != counter.drained) {
+                return false;
+            }
+            counter.retired = true;
+            return true;
+        }
+    }
+
+    /**
+     * Return drained counts that could not be persisted, so the next drain includes them again.
+     *
+     * @param deltas counts returned by {@link #drain}
+     */
+    public synchronized void restore(final Map<Key, Long> deltas) {
+        deltas.forEach((key, delta) -> counters.computeIfAbsent(key, k -> new Counter()).drained -= delta);
+    }
+
+    /**
+     * @param key a group
+     * @return the number of records counted in the group since it was created
+     */
+    public long get(final Key key) {
+        final Counter counter = counters.get(key);
+        return counter == null ? 0L : counter.adder.sum();
+    }
+
+    private static class Counter {
+
+        private final LongAdder adder = new LongAdder();
+
+        // guarded by the AuditRollup monitor
+        private long drained;
+
+        // guarded by the counter's monitor
+        private boolean retired;
+    }
+
+    /**
+     * A rollup group.
+     */
+    public static final class Key {
+
+        private final long hour;
+
+        private final String auditEventType;
+
+        private final String agent;
+
+        /**
+         * @param hour hours since the epoch
+         * @param auditEventType the audit event type URI
+         * @param agent the user ID
+         */
+        public Key(final long hour, final String auditEventType, final String agent) {
+            this.hour = hour;
+            this.auditEventType = auditEventType;
+            this.agent = agent;
+        }
+
+        /**
+         * @return hours since the epoch
+         */
+        public long getHour() {
+            return hour;
+        }
+
+        /**
+         * @return the audit event type URI
+         */
+        public String getAuditEventType() {
+            return auditEventType;
+        }
+
+        /**
+         * @return the user ID
+         */
+        public String getAgent() {
+            return agent;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return hour == other.hour && auditEventType.equals(other.auditEventType) &&
+                    Objects.equals(agent, other.agent);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hour, auditEventType, agent);
+        }
+
+        @Override
+        public String toString() {
+            return hour + " " + auditEventType + " " + agent;
+        }
+    }
+}
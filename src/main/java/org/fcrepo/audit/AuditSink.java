@@ -0,0 +1,33 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+/**
+ * A destination for audit records fanned out by an {@link AuditDispatcher}.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public interface AuditSink {
+
+    /**
+     * @param record
+     *        The {@link AuditRecord} to write.
+     */
+    void write(final AuditRecord record);
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * A single sink with its own queue and writer executor. The queue is bounded by a semaphore counting
+ * records that are queued or being written, which works for both pooled and thread-per-task executors.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+class AuditSinkWorker {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditSinkWorker.class);
+
+    // log only every this many dropped records
+    private static final int DROP_LOG_INTERVAL = 10000;
+
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30;
+
+    private final AuditSink sink;
+
+    private final String name;
+
+    private final ExecutorService executor;
+
+    private final Semaphore capacity;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * @param sink the sink
+     * @param name used to name the writer threads and in log messages
+     * @param queueCapacity the maximum number of records queued or being written
+     * @param threads the number of platform threads writing to the sink
+     * @param virtualThreads whether to write from virtual threads, if the JDK supports them
+     */
+    AuditSinkWorker(final AuditSink sink, final String name, final int queueCapacity, final int threads,
+            final boolean virtualThreads) {
+        this.sink = sink;
+        this.name = name;
+        this.capacity = new Semaphore(queueCapacity);
+        this.executor = AuditExecutors.newWriterExecutor(name, threads, virtualThreads);
+    }
+
+    /**
+     * Queue a record, dropping it if the queue is full.
+     *
+     * @param record the record
+     */
+    void submit(final AuditRecord record) {
+        if (!capacity.tryAcquire()) {
+            drop();
+            return;
+        }
+        try {
+            executor.execute(() -> write(record));
+        } catch (final RejectedExecutionException e) {
+            capacity.release();
+            drop();
+        }
+    }
+
+    private void drop() {
+        if (dropped.getAndIncrement() % DROP_LOG_INTERVAL == 0) {
+            LOGGER.warn("Audit queue for {} is full, dropped {} records", name, dropped.get());
+        }
+    }
+
+    private void write(final AuditRecord record) {
+        try {
+            sink.write(record);
+        } catch (final RuntimeException e) {
+            failed.incrementAndGet();
+            LOGGER.error("Audit sink {} failed to write {}", name, record.getEventID(), e);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /**
+     * Stop accepting records.
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Wait for the queued records to be written.
+     */
+    void awaitTermination() {
+        try {
+            if (!executor.awaitTermination(DEFAULT_SHUTDOWN_TIMEOUT, SECONDS)) {
+                LOGGER.warn("Audit sink {} did not drain within {} seconds", name, DEFAULT_SHUTDOWN_TIMEOUT);
+                executor.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of records dropped because the queue was full
+     */
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of records the sink failed to write
+     */
+    long getFailedCount() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+
+import org.slf4j.Logger;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Audit sink that numbers records in the order they are written and keeps the most recent ones, so that
+ * downstream consumers can tail the audit stream from any retained sequence number without querying the
+ * repository. Consumers poll with {@link #read}, optionally waiting for new records, and pass the returned
+ * next sequence to their following read; records they fell too far behind to read are counted as missed.
+ *
+ * <p>Sequence numbers restart at zero with every stream, identified by {@link #getStreamId}, so a consumer
+ * seeing a different stream ID must start over. By default records are received from an
+ * {@link AuditDispatcher}; setting subscribe registers with the EventBus instead.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditTail implements Auditor, AuditSink {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditTail.class);
+
+    private static final int DEFAULT_CAPACITY = 16384;
+
+    @Inject
+    private EventBus eventBus;
+
+    private boolean subscribe = false;
+
+    private int capacity = DEFAULT_CAPACITY;
+
+    private final String streamId = UUID.randomUUID().toString();
+
+    private AtomicReferenceArray<Entry> entries;
+
+    private long mask;
+
+    // the sequence of the next record, written only by the synchronized write
+    private volatile long next = 0L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition appended = lock.newCondition();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final AtomicLong missed = new AtomicLong();
+
+    /**
+     * @param subscribe whether to register with the EventBus instead of being used as an {@link AuditSink}
+     */
+    public void setSubscribe(final boolean subscribe) {
+        this.subscribe = subscribe;
+    }
+
+    /**
+     * @param capacity the number of most recent records kept for consumers, a power of two
+     */
+    public void setCapacity(final int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Allocate the ring and, if configured, register with the EventBus to receive events.
+     */
+    @PostConstruct
+    public void start() {
+        LOGGER.info("Initializing: {}, stream {} keeping {} records", this.getClass().getCanonicalName(),
+                streamId, capacity);
+        entries = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+        if (subscribe) {
+            eventBus.register(this);
+        }
+    }
+
+    /**
+     * Unregister from the EventBus and wake waiting consumers.
+     */
+    @PreDestroy
+    public void stop() {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        if (subscribe) {
+            eventBus.unregister(this);
+        }
+        signal();
+    }
+
+    /**
+     * Fedora internal events are received by this method when subscribed.
+     *
+     * @param event
+     *        The {@link FedoraEvent} to record.
+     */
+    @Override
+    @Subscribe
+    public void recordEvent(final FedoraEvent event) {
+        write(AuditRecord.fromEvent(event));
+    }
+
+    @Override
+    public void write(final AuditRecord record) {
+        synchronized (this) {
+            final long sequence = next;
+            entries.set((int) (sequence & mask), new Entry(sequence, record));
+            next = sequence + 1;
+        }
+        if (waiting.get() > 0) {
+            signal();
+        }
+    }
+
+    private void signal() {
+        lock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the records from a sequence number on, without waiting.
+     *
+     * @param from the sequence of the first record to read; a sequence beyond the newest record reads only
+     *        records written from now on
+     * @param maxRecords the maximum number of records to read
+     * @return the records, possibly none
+     */
+    public Batch read(final long from, final int maxRecords) {
+        long start = Math.min(Math.max(from, 0L), next);
+        long skipped = 0L;
+        while (true) {
+            final long end = next;
+            final long oldest = Math.max(0L, end - capacity);
+            if (start < oldest) {
+                skipped += oldest - start;
+                start = oldest;
+            }
+            final List<AuditRecord> records = new ArrayList<>((int) Math.min(maxRecords, end - start));
+            long sequence = start;
+            while (sequence < end && records.size() < maxRecords) {
+                final Entry entry = entries.get((int) (sequence & mask));
+                if (entry.sequence != sequence) {
+                    break;
+                }
+                records.add(entry.record);
+                sequence++;
+            }
+            if (!records.isEmpty() || sequence == end || records.size() == maxRecords) {
+                if (skipped > 0) {
+                    missed.addAndGet(skipped);
+                }
+                return new Batch(start, sequence, skipped, records);
+            }
+            // the first record was overwritten while reading, start again from the new oldest record
+        }
+    }
+
+    /**
+     * Read the records from a sequence number on, waiting for one to be written if there are none yet.
+     *
+     * @param from the sequence of the first record to read; a sequence beyond the newest record reads only
+     *        records written from now on
+     * @param maxRecords the maximum number of records to read
+     * @param timeout how long to wait
+     * @param unit the unit of the timeout
+     * @return the records, none if none were written in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Batch read(final long from, final int maxRecords, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        final long start = Math.min(Math.max(from, 0L), next);
+        final Batch batch = read(start, maxRecords);
+        if (!batch.getRecords().isEmpty() || batch.getMissedCount() > 0) {
+            return batch;
+        }
+        long remaining = unit.toNanos(timeout);
+        waiting.incrementAndGet();
+        lock.lock();
+        try {
+            while (next <= start && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+            waiting.decrementAndGet();
+        }
+        return read(start, maxRecords);
+    }
+
+    /**
+     * @return the ID of this stream of sequence numbers
+     */
+    public String getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * @return the sequence the next record will have
+     */
+    public long getNextSequence() {
+        return next;
+    }
+
+    /**
+     * @return the sequence of the oldest record still kept
+     */
+    public long getOldestSequence() {
+        return Math.max(0L, next - capacity);
+    }
+
+    /**
+     * @return the number of records consumers fell too far behind to read, summed over all reads
+     */
+    public long getMissedCount() {
+        return missed.get();
+    }
+
+    private static final class Entry {
+
+        private final long sequence;
+
+        private final AuditRecord record;
+
+        Entry(final long sequence, final AuditRecord record) {
+            this.sequence = sequence;
+            this.record = record;
+        }
+    }
+
+    /**
+     * Consecutive records read from the tail.
+     */
+    public static final class Batch {
+
+        private final long firstSequence;
+
+        private final long nextSequence;
+
+        private final long missedCount;
+
+        private final List<AuditRecord> records;
+
+        Batch(final long firstSequence, final long nextSequence, final long missedCount,
+                final List<AuditRecord> records) {
+            this.firstSequence = firstSequence;
+            this.nextSequence = nextSequence;
+            this.missedCount = missedCount;
+            this.records = Collections.unmodifiableList(records);
+        }
+
+        /**
+         * @return the sequence of the first record
+         */
+        public long getFirstSequence() {
+            return firstSequence;
+        }
+
+        /**
+         * @return the sequence to read from next
+         */
+        public long getNextSequence() {
+            return nextSequence;
+        }
+
+        /**
+         * @return the number of records before the first one that were no longer kept
+         */
+        public long getMissedCount() {
+            return missedCount;
+        }
+
+        /**
+         * @return the records in sequence order
+         */
+        public List<AuditRecord> getRecords() {
+            return records;
+        }
+    }
+}
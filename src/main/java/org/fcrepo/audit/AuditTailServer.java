@@ -0,0 +1,246 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP long-poll endpoint for an {@link AuditTail}, bound to the loopback interface by default.
+ *
+ * <p>{@code GET /audit/tail?from=<sequence>&max=<records>&wait=<milliseconds>} answers as soon as there is
+ * a record at or after {@code from}, or after waiting, with one JSON object per line. Leaving out
+ * {@code from} waits for records written from now on. The response headers carry the stream ID, the
+ * sequence to pass as {@code from} next, and the number of records missed because they were no longer
+ * kept. A request giving a {@code stream} other than the current one is answered with 409 Conflict, telling
+ * the consumer to start over.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditTailServer {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditTailServer.class);
+
+    static final String CONTEXT = "/audit/tail";
+
+    static final String STREAM_HEADER = "Audit-Stream";
+
+    static final String NEXT_HEADER = "Audit-Next-Sequence";
+
+    static final String MISSED_HEADER = "Audit-Missed";
+
+    private static final int MAX_RECORDS = 10000;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private AuditTail tail;
+
+    private String host = "127.0.0.1";
+
+    private int port = 8181;
+
+    private int threads = 8;
+
+    private long maxWait = 30000;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    /**
+     * @param tail the tail to serve
+     */
+    public void setTail(final AuditTail tail) {
+        this.tail = tail;
+    }
+
+    /**
+     * @param host the address to listen on
+     */
+    public void setHost(final String host) {
+        this.host = host;
+    }
+
+    /**
+     * @param port the port to listen on, 0 for any free port
+     */
+    public void setPort(final int port) {
+        this.port = port;
+    }
+
+    /**
+     * @param threads the maximum number of requests served, or waiting, at the same time
+     */
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @param maxWait the longest a request may wait for records, in milliseconds
+     */
+    public void setMaxWait(final long maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Start listening.
+     *
+     * @throws IOException if the address cannot be bound
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext(CONTEXT, this::handle);
+        executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("fcrepo-audit-tail-%d").setDaemon(true).build());
+        server.setExecutor(executor);
+        server.start();
+        LOGGER.info("Initializing: {}, http://{}:{}{}", this.getClass().getCanonicalName(), host, getPort(),
+                CONTEXT);
+    }
+
+    /**
+     * Stop listening, cutting off waiting requests.
+     */
+    @PreDestroy
+    public void stop() {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the port listened on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                respond(exchange, 405, "Only GET is supported");
+                return;
+            }
+            final Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            exchange.getResponseHeaders().set(STREAM_HEADER, tail.getStreamId());
+            final String stream = query.get("stream");
+            if (stream != null && !stream.equals(tail.getStreamId())) {
+                exchange.getResponseHeaders().set(NEXT_HEADER, Long.toString(tail.getOldestSequence()));
+                respond(exchange, 409, "Stream " + stream + " has ended, start again from " +
+                        tail.getOldestSequence());
+                return;
+            }
+            final long from;
+            final int max;
+            final long wait;
+            try {
+                from = query.containsKey("from") ? Long.parseLong(query.get("from")) : tail.getNextSequence();
+                max = query.containsKey("max") ? Integer.parseInt(query.get("max")) : 1000;
+                wait = query.containsKey("wait") ? Long.parseLong(query.get("wait")) : maxWait;
+            } catch (final NumberFormatException e) {
+                respond(exchange, 400, "Invalid parameter: " + e.getMessage());
+                return;
+            }
+            if (from < 0 || max < 1 || wait < 0) {
+                respond(exchange, 400, "Parameters must not be negative, max must be positive");
+                return;
+            }
+            final AuditTail.Batch batch = tail.read(from, Math.min(max, MAX_RECORDS), Math.min(wait, maxWait),
+                    MILLISECONDS);
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.getResponseHeaders().set(NEXT_HEADER, Long.toString(batch.getNextSequence()));
+            exchange.getResponseHeaders().set(MISSED_HEADER, Long.toString(batch.getMissedCount()));
+            exchange.sendResponseHeaders(200, 0);
+            try (final OutputStream body = exchange.getResponseBody();
+                    final JsonGenerator json = jsonFactory.createGenerator(body, JsonEncoding.UTF8)) {
+                long sequence = batch.getFirstSequence();
+                for (final AuditRecord record : batch.getRecords()) {
+                    json.writeStartObject();
+                    json.writeNumberField("sequence", sequence++);
+                    json.writeStringField("id", record.getEventID());
+                    json.writeStringField("date", record.getEventDate());
+                    json.writeStringField("type", record.getAuditEventType());
+                    json.writeStringField("user", record.getUserID());
+                    json.writeStringField("userAgent", record.getUserAgent());
+                    json.writeStringField("object", record.getObjectURI());
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "Shutting down");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String message)
+            throws IOException {
+        final byte[] body = (message + "\n").getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(final String query) throws IOException {
+        final Map<String, String> parameters = new HashMap<>();
+        if (query != null) {
+            for (final String parameter : query.split("&")) {
+                final int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, equals), "UTF-8"),
+                            URLDecoder.decode(parameter.substring(equals + 1), "UTF-8"));
+                }
+            }
+        }
+        return parameters;
+    }
+}
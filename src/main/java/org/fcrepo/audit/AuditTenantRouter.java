@@ -0,0 +1,283 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.kernel.api.services.ContainerService;
+
+import org.slf4j.Logger;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Auditor implementation that routes each event by its base URL to a tenant-specific audit container. Every
+ * tenant has its own {@link InternalAuditor}, writing with its own session and translator from its own
+ * bounded queue and thread, so tenants do not contend on one audit subtree and a bulk ingest into one tenant
+ * does not hold up the audit trail of the others.
+ *
+ * <p>Tenants are configured as a map of base URL prefixes to audit containers; an event goes to the tenant
+ * with the longest prefix of its base URL, matched on whole path segments. Events matching no tenant go to
+ * the audit container of the {@code fcrepo.audit.container} system property if it is set, and are counted
+ * as unrouted otherwise.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditTenantRouter implements Auditor {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditTenantRouter.class);
+
+    private static final String AUDIT_CONTAINER = "fcrepo.audit.container";
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    // base URLs whose routes are remembered, as they come from request headers
+    private static final int MAX_CACHED_ROUTES = 1024;
+
+    @Inject
+    private EventBus eventBus;
+
+    @Inject
+    private FedoraRepository repository;
+
+    @Inject
+    private ContainerService containerService;
+
+    private Map<String, String> tenants = new LinkedHashMap<>();
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private long rollupInterval = 0;
+
+    // longest prefix first
+    private final List<Tenant> routes = new ArrayList<>();
+
+    private Tenant fallback;
+
+    private final Map<String, Tenant> routeCache = new ConcurrentHashMap<>();
+
+    private final AtomicLong unrouted = new AtomicLong();
+
+    /**
+     * @param tenants audit container paths by base URL prefix
+     */
+    public void setTenants(final Map<String, String> tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * @param queueCapacity the maximum number of records waiting for each tenant
+     */
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @param rollupInterval seconds between writing each tenant's rollup counts, 0 (the default) to neither
+     *        count records nor write summaries
+     */
+    public void setRollupInterval(final long rollupInterval) {
+        this.rollupInterval = rollupInterval;
+    }
+
+    /**
+     * Start an auditor and writer for each tenant and register with the EventBus to receive events.
+     */
+    @PostConstruct
+    public void register() {
+        LOGGER.info("Initializing: {} with {} tenants", this.getClass().getCanonicalName(), tenants.size());
+        final Map<String, Tenant> byContainer = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> route : tenants.entrySet()) {
+            final Tenant tenant = byContainer.computeIfAbsent(route.getValue(), this::newTenant);
+            routes.add(new Tenant(normalize(route.getKey()), tenant.auditor, tenant.worker));
+        }
+        routes.sort(Comparator.comparingInt((Tenant t) -> t.prefix.length()).reversed());
+        if (System.getProperty(AUDIT_CONTAINER) != null) {
+            fallback = byContainer.computeIfAbsent(System.getProperty(AUDIT_CONTAINER), this::newTenant);
+        }
+        eventBus.register(this);
+    }
+
+    private Tenant newTenant(final String container) {
+        final InternalAuditor auditor = new InternalAuditor(repository, containerService);
+        auditor.setContainer(container);
+        auditor.setRollupInterval(rollupInterval);
+        auditor.register();
+        LOGGER.info("Writing tenant audit container {}", auditor.getContainer());
+        // one thread per tenant, which lets the auditor share its session and translator
+        final AuditSinkWorker worker = new AuditSinkWorker(auditor, "tenant-" + auditor.getContainer()
+                .substring(1).replaceAll("[^A-Za-z0-9._-]", "-"), queueCapacity, 1, false);
+        return new Tenant(null, auditor, worker);
+    }
+
+    /**
+     * Fedora internal events are received by this method and queued for the tenant of their base URL.
+     *
+     * @param event
+     *        The {@link FedoraEvent} to record.
+     */
+    @Override
+    @Subscribe
+    public void recordEvent(final FedoraEvent event) {
+        LOGGER.debug("Event detected: {} {}", event.getUserID(), event.getPath());
+        final AuditRecord record = AuditRecord.fromEvent(event);
+        final Tenant tenant = route(record.getBaseURL());
+        if (tenant == null) {
+            unrouted.incrementAndGet();
+            LOGGER.debug("No audit tenant for base URL {}", record.getBaseURL());
+            return;
+        }
+        tenant.worker.submit(record);
+    }
+
+    /**
+     * @param baseURL a base URL
+     * @return the auditor writing the records of the base URL, null if there is none
+     */
+    public InternalAuditor getAuditor(final String baseURL) {
+        final Tenant tenant = route(baseURL);
+        return tenant == null ? null : tenant.auditor;
+    }
+
+    private Tenant route(final String baseURL) {
+        if (baseURL == null) {
+            return fallback;
+        }
+        final Tenant cached = routeCache.get(baseURL);
+        if (cached != null) {
+            return cached;
+        }
+        final String normalized = normalize(baseURL);
+        Tenant tenant = fallback;
+        for (final Tenant route : routes) {
+            if (matches(route.prefix, normalized)) {
+                tenant = route;
+                break;
+            }
+        }
+        if (tenant != null && routeCache.size() < MAX_CACHED_ROUTES) {
+            routeCache.put(baseURL, tenant);
+        }
+        return tenant;
+    }
+
+    /**
+     * A prefix matches a base URL equal to it or continuing it with a path segment, so a tenant for
+     * {@code http://host/rest/a} does not take events from {@code http://host/rest/ab}.
+     *
+     * @param prefix the normalized tenant prefix
+     * @param baseURL the normalized base URL
+     * @return whether the base URL belongs to the tenant
+     */
+    static boolean matches(final String prefix, final String baseURL) {
+        return baseURL.startsWith(prefix)
+                && (baseURL.length() == prefix.length() || baseURL.charAt(prefix.length()) == '/');
+    }
+
+    private static String normalize(final String baseURL) {
+        return baseURL.endsWith("/") ? baseURL.substring(0, baseURL.length() - 1) : baseURL;
+    }
+
+    /**
+     * Unregister from the EventBus, drain the tenant queues and release the tenant auditors.
+     */
+    @PreDestroy
+    public void releaseConnections() {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        eventBus.unregister(this);
+        final List<Tenant> all = getTenants();
+        all.forEach(t -> t.worker.shutdown());
+        all.forEach(t -> t.worker.awaitTermination());
+        all.forEach(t -> t.auditor.releaseConnections());
+        routes.clear();
+        routeCache.clear();
+        fallback = null;
+    }
+
+    /**
+     * @return the number of records dropped because a tenant queue was full, summed over all tenants
+     */
+    public long getDroppedCount() {
+        return getTenants().stream().mapToLong(t -> t.worker.getDroppedCount()).sum();
+    }
+
+    /**
+     * @return the number of records a tenant auditor failed to write, summed over all tenants
+     */
+    public long getFailedCount() {
+        return getTenants().stream().mapToLong(t -> t.worker.getFailedCount()).sum();
+    }
+
+    /**
+     * @return the number of events whose base URL matched no tenant
+     */
+    public long getUnroutedCount() {
+        return unrouted.get();
+    }
+
+    // each auditor once, though several prefixes may share it
+    private List<Tenant> getTenants() {
+        final List<Tenant> all = new ArrayList<>();
+        for (final Tenant route : routes) {
+            if (all.stream().noneMatch(t -> t.auditor == route.auditor)) {
+                all.add(route);
+            }
+        }
+        if (fallback != null && all.stream().noneMatch(t -> t.auditor == fallback.auditor)) {
+            all.add(fallback);
+        }
+        return all;
+    }
+
+    /**
+     * A route to a tenant's auditor and the worker queueing its records.
+     */
+    private static class Tenant {
+
+        private final String prefix;
+
+        private final InternalAuditor auditor;
+
+        private final AuditSinkWorker worker;
+
+        Tenant(final String prefix, final InternalAuditor auditor, final AuditSinkWorker worker) {
+            this.prefix = prefix;
+            this.auditor = auditor;
+            this.worker = worker;
+        }
+    }
+}
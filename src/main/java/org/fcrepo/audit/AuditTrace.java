@@ -0,0 +1,40 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+/**
+ * A traced audit phase, started by {@link AuditTracing#start}.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public interface AuditTrace {
+
+    /**
+     * A trace that records nothing.
+     */
+    AuditTrace NONE = (eventID, path) -> { };
+
+    /**
+     * End the phase and record it if tracing is enabled.
+     *
+     * @param eventID the ID of the event the phase was for
+     * @param path the repository path of the event, or of the audit node
+     */
+    void end(String eventID, String path);
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.slf4j.Logger;
+
+/**
+ * Traces the phases of writing audit records as Java Flight Recorder events, so that recordings show where
+ * audit time goes alongside GC and I/O. The events are in the {@code org.fcrepo.audit.jfr} package and
+ * enabled by default; a phase costs little more than a check whether its event type is enabled when no
+ * recording is running.
+ *
+ * <p>The events are only compiled when the module is built on Java 11 or later; a build on Java 8 leaves
+ * them out and traces nothing. At run time the JFR API is only used if the running JDK has it (Java 11 or
+ * later, or 8u262 or later for a module built on Java 11), so this module still runs on older JDKs, where
+ * nothing is traced. Setting the {@code fcrepo.audit.jfr} system property to false turns tracing off.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditTracing {
+
+    private static final Logger LOGGER = getLogger(AuditTracing.class);
+
+    private static final String AUDIT_JFR = "fcrepo.audit.jfr";
+
+    private static final String JFR_TRACER = "org.fcrepo.audit.jfr.JfrAuditTracer";
+
+    private static final Tracer TRACER = load();
+
+    /**
+     * Starts traces of audit phases.
+     */
+    public interface Tracer {
+
+        /**
+         * @param phase the phase
+         * @return the started trace
+         */
+        AuditTrace start(AuditPhase phase);
+    }
+
+    /**
+     * @return whether audit phases are traced
+     */
+    public static boolean isEnabled() {
+        return !(TRACER instanceof NoTracer);
+    }
+
+    /**
+     * Start tracing an audit phase.
+     *
+     * @param phase the phase
+     * @return the trace to end when the phase is done
+     */
+    public static AuditTrace start(final AuditPhase phase) {
+        return TRACER.start(phase);
+    }
+
+    private static Tracer load() {
+        if (!Boolean.parseBoolean(System.getProperty(AUDIT_JFR, "true"))) {
+            return new NoTracer();
+        }
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (Tracer) Class.forName(JFR_TRACER).getDeclaredConstructor().newInstance();
+        } catch (final ClassNotFoundException e) {
+            LOGGER.info("Java Flight Recorder is not supported by this JDK, audit phases are not traced");
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            LOGGER.warn("Could not load {}, audit phases are not traced", JFR_TRACER, e);
+        }
+        return new NoTracer();
+    }
+
+    private static class NoTracer implements Tracer {
+
+        @Override
+        public AuditTrace start(final AuditPhase phase) {
+            return AuditTrace.NONE;
+        }
+    }
+
+    private AuditTracing() {
+        // prevent instantiation
+    }
+}
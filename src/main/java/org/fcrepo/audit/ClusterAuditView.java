@@ -0,0 +1,223 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Collections.singletonList;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+
+/**
+ * Merged read view over the audit partitions written by the nodes of a cluster. Audit data written
+ * without a node ID, directly under the audit container, is included as well, and so are the
+ * {@link AuditArchive} bundles audit nodes of each partition are compacted into.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class ClusterAuditView {
+
+    private static final String NODES = "nodes";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final FedoraRepository repository;
+
+    private final String auditContainer;
+
+    private final List<UuidPathMinter> layouts;
+
+    private final Map<String, AuditArchive> archives = new ConcurrentHashMap<>();
+
+    /**
+     * @param repository the repository
+     * @param auditContainer the path of the audit container
+     */
+    public ClusterAuditView(final FedoraRepository repository, final String auditContainer) {
+        this(repository, auditContainer, singletonList(new UuidPathMinter()));
+    }
+
+    /**
+     * @param repository the repository
+     * @param auditContainer the path of the audit container
+     * @param layouts the bucket layouts audit nodes may be in, in the order to try them
+     */
+    public ClusterAuditView(final FedoraRepository repository, final String auditContainer,
+            final List<UuidPathMinter> layouts) {
+        this.repository = repository;
+        this.auditContainer = auditContainer;
+        this.layouts = layouts;
+    }
+
+    /**
+     * @param nodeId a node ID
+     * @return the node ID without surrounding whitespace
+     * @throws IllegalArgumentException if the node ID is empty or has characters other than letters, digits,
+     *         '.', '_' and '-', which would have to be replaced and could then name another node's partition
+     */
+    static String toPartitionName(final String nodeId) {
+        final String name = nodeId.trim();
+        if (!PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Audit node ID must be letters, digits, '.', '_' and '-': " +
+                    nodeId);
+        }
+        return name;
+    }
+
+    /**
+     * @param auditContainer the path of the audit container
+     * @param nodeId a node ID
+     * @return the path of the node's partition
+     */
+    static String partitionLocation(final String auditContainer, final String nodeId) {
+        return auditContainer + "/" + NODES + "/" + nodeId;
+    }
+
+    /**
+     * @return the IDs of the nodes that have written audit data
+     */
+    public List<String> getNodeIds() {
+        return read(session -> {
+            final List<String> nodeIds = new ArrayList<>();
+            final String nodes = auditContainer + "/" + NODES;
+            if (session.nodeExists(nodes)) {
+                final NodeIterator children = session.getNode(nodes).getNodes();
+                while (children.hasNext()) {
+                    nodeIds.add(children.nextNode().getName());
+                }
+            }
+            nodeIds.sort(null);
+            return nodeIds;
+        });
+    }
+
+    /**
+     * @return the audit container followed by the partitions of all nodes
+     */
+    public List<String> getPartitionLocations() {
+        final List<String> locations = new ArrayList<>();
+        locations.add(auditContainer);
+        for (final String nodeId : getNodeIds()) {
+            locations.add(partitionLocation(auditContainer, nodeId));
+        }
+        return locations;
+    }
+
+    /**
+     * Find the audit node of an event in whichever partition it was written to or, once it is compacted, the
+     * bundle holding its record.
+     *
+     * @param eventID the event ID, a {@code urn:uuid:} URI
+     * @return the path of the audit node or bundle resource, null if there is none
+     */
+    public String findAuditNode(final String eventID) {
+        final String uuid = AuditRecord.parseEventID(eventID).toString();
+        final List<String> locations = getPartitionLocations();
+        final String found = read(session -> {
+            for (final String location : locations) {
+                for (final UuidPathMinter layout : layouts) {
+                    final String path = location + "/" + layout.get(uuid);
+                    if (session.nodeExists(path)) {
+                        return path;
+                    }
+                }
+            }
+            return null;
+        });
+        if (found != null) {
+            return found;
+        }
+        for (final String location : locations) {
+            final String bundle = archive(location).findBundle(eventID);
+            if (bundle != null) {
+                return location + "/" + AuditArchive.BUNDLES + "/" + bundle;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Merge the summary counts of all partitions for a day. A partition without a summary for the day, such
+     * as one written with rollups disabled, is counted from its bundles of the day.
+     *
+     * @param day a day in UTC
+     * @return counts keyed by {@code "<hour> <type URI> <agent>"}
+     */
+    public SortedMap<String, Long> getHourlyCounts(final LocalDate day) {
+        final List<String> locations = getPartitionLocations();
+        final List<String> unsummarized = new ArrayList<>();
+        final SortedMap<String, Long> counts = read(session -> {
+            final SortedMap<String, Long> summarized = new TreeMap<>();
+            for (final String location : locations) {
+                final String summary = location + "/" + InternalAuditor.SUMMARY_CONTAINER + "/" + day;
+                if (session.nodeExists(summary)) {
+                    InternalAuditor.readHourlyCounts(session.getNode(summary), summarized);
+                } else {
+                    unsummarized.add(location);
+                }
+            }
+            return summarized;
+        });
+        for (final String location : unsummarized) {
+            for (final AuditRecord record : archive(location).readDay(day)) {
+                InternalAuditor.addHourlyCount(record, counts);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return the archive of a partition, with the bundles written since it was last used
+     */
+    private AuditArchive archive(final String location) {
+        final AuditArchive archive = archives.computeIfAbsent(location, l -> new AuditArchive(repository, null, l));
+        archive.refresh();
+        return archive;
+    }
+
+    private <T> T read(final Reader<T> reader) {
+        final FedoraSession session = repository.login();
+        try {
+            return reader.read(getJcrSession(session));
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(Session session) throws RepositoryException;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+
+/**
+ * Audit sink that appends one tab-separated line per audit record to a local file.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class FileAuditSink implements AuditSink {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(FileAuditSink.class);
+
+    private Path file;
+
+    private Writer writer;
+
+    /**
+     * @param file the file the records are appended to
+     */
+    public void setFile(final String file) {
+        this.file = Paths.get(file);
+    }
+
+    /**
+     * Open the audit file for appending.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        LOGGER.info("Initializing: {}, {}", this.getClass().getCanonicalName(), file);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        writer = Files.newBufferedWriter(file, UTF_8, CREATE, WRITE, APPEND);
+    }
+
+    @Override
+    public synchronized void write(final AuditRecord record) {
+        try {
+            writer.write(record.getEventDate() + "\t" + record.getEventID() + "\t" + record.getAuditEventType() + "\t" +
+                    record.getUserID() + "\t" + record.getPath() + "\n");
+            writer.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Close the audit file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -23,9 +23,8 @@ import static org.apache.jena.rdf.model.ModelFactory.createDefaultModel;
 import static org.apache.jena.rdf.model.ResourceFactory.createProperty;
 import static org.apache.jena.rdf.model.ResourceFactory.createResource;
 import static org.apache.jena.rdf.model.ResourceFactory.createTypedLiteral;
+import static java.util.Collections.singletonList;
 import static java.util.EnumSet.noneOf;
-import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
-import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -41,18 +40,40 @@ import static org.fcrepo.audit.AuditProperties.RDF_TYPE;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.jcr.Node;
 import javax.jcr.PropertyType;
 import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Value;
+import javax.jcr.nodetype.NodeTypeManager;
 
+import org.fcrepo.audit.index.AuditIndex;
+import org.fcrepo.audit.seal.AuditSealer;
+import org.fcrepo.audit.seal.SealVerifier;
 import org.fcrepo.kernel.api.FedoraRepository;
 import org.fcrepo.kernel.api.FedoraSession;
 import org.fcrepo.kernel.api.RequiredRdfContext;
@@ -74,14 +95,37 @@ import org.apache.jena.rdf.model.Statement;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * Auditor implementation that creates audit nodes in the repository.
+ * Auditor implementation that creates audit nodes in the repository. It either subscribes to the
+ * EventBus itself or, with subscribe set to false, serves as a sink of an {@link AuditDispatcher}.
+ *
+ * <p>By default the audit container and node types are set up in the background so that repository
+ * startup does not wait for them; records arriving in the meantime are buffered and written once the
+ * setup has finished.</p>
+ *
+ * <p>With a rollup interval set, records are also counted by hour, audit event type and agent. The counts
+ * are periodically added to one summary node per day under {@code <audit container>/summary}, whose multi-valued
+ * {@code audit:hourlyCount} property holds values of the form {@code "<hour> <count> <type URI> <agent>"}.</p>
+ *
+ * <p>With sealing enabled, written records are hashed in the background into batches whose Merkle roots
+ * are chained into seal resources under {@code <audit container>/seals}; see {@link #verifySeals}.</p>
+ *
+ * <p>When several Fedora nodes share a repository cluster, giving each a node ID (the {@code fcrepo.audit.node}
+ * system property) makes it write its audit nodes, summaries and seals into its own partition,
+ * {@code <audit container>/nodes/<node ID>}, so that the nodes do not contend for the same parent
+ * containers. {@link ClusterAuditView} reads across the partitions. An auditor can also be given its own audit
+ * container, as the {@link AuditTenantRouter} does for each tenant.</p>
+ *
+ * <p>Audit nodes are placed below buckets named after the leading digits of their UUID, four levels of 256
+ * by default. The layout can be set, or sized from the expected volume; after changing it, existing audit
+ * nodes are still found in the previous layouts and can be moved over by an {@link AuditPathRebalancer}.</p>
  * @author mohideen
  * @author escowles
  * @since 2015-04-15
  */
-public class InternalAuditor implements Auditor {
+public class InternalAuditor implements Auditor, AuditSink {
 
     /**
      * Logger for this class.
@@ -90,8 +134,27 @@ public class InternalAuditor implements Auditor {
 
     private static final String AUDIT_CONTAINER = "fcrepo.audit.container";
 
+    private static final String AUDIT_NODE = "fcrepo.audit.node";
+
+    private static final String AUDIT_NODE_TYPE = "audit:InternalEvent";
+
+    private static final int STARTUP_BUFFER_CAPACITY = 10000;
+
+    static final String SUMMARY_CONTAINER = "summary";
+
+    // JCR property name, not URI
+    private static final String HOURLY_COUNT = "audit:hourlyCount";
+
+    private static final DateTimeFormatter SUMMARY_DAY = DateTimeFormatter.ofPattern("yyyy-MM-dd")
+            .withZone(ZoneOffset.UTC);
+
+    private static final DateTimeFormatter SUMMARY_HOUR = DateTimeFormatter.ofPattern("HH").withZone(ZoneOffset.UTC);
+
     private static String AUDIT_CONTAINER_LOCATION;
 
+    // containers set per auditor, whose events are not audited by any auditor
+    private static final Set<String> AUDIT_CONTAINER_LOCATIONS = ConcurrentHashMap.newKeySet();
+
     @Inject
     private EventBus eventBus;
 
@@ -101,40 +164,482 @@ public class InternalAuditor implements Auditor {
     @Inject
     private ContainerService containerService;
 
-    private static final UuidPathMinter pathMinter = new UuidPathMinter();
+    // records per bucket aimed for when sizing the layout from the expected volume
+    private static final long BUCKET_TARGET = 1000;
+
+    private UuidPathMinter pathMinter = new UuidPathMinter();
+
+    // nodes written before the layout was configured are in the default one
+    private List<UuidPathMinter> previousLayouts = new ArrayList<>(singletonList(new UuidPathMinter()));
+
+    private boolean rebalance = false;
+
+    private volatile AuditPathRebalancer rebalancer;
 
     private FedoraSession session;
     private static JcrTools jcrTools = new JcrTools(true);
 
+    private boolean subscribe = true;
+
+    private boolean sessionPerWrite = false;
+
+    private boolean backgroundInit = true;
+
+    private ExecutorService initExecutor;
+
+    private final Object startupLock = new Object();
+
+    // records received before initialization finished, null once it has; guarded by startupLock
+    private Queue<AuditRecord> startupBuffer;
+
+    private volatile boolean starting = false;
+
+    private final CountDownLatch ready = new CountDownLatch(1);
+
+    private final AuditRollup rollup = new AuditRollup();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private long rollupInterval = 0;
+
+    private ScheduledExecutorService rollupExecutor;
+
+    private String nodeId;
+
+    private String container;
+
+    // translators for the shared session, by base URL
+    private final Map<String, IdentifierConverter<Resource, FedoraResource>> translators =
+            new ConcurrentHashMap<>();
+
+    private boolean sealing = false;
+
+    private int sealBatchSize = 1024;
+
+    private AuditSealer sealer;
+
+    private long compactAfterDays = 0;
+
+    private long compactionInterval = 24;
+
+    private volatile AuditArchive archive;
+
+    private ScheduledExecutorService compactionExecutor;
+
+    private boolean indexing = false;
+
+    private String indexFile;
+
+    private AuditIndex index;
+
+    private ExecutorService indexExecutor;
+
+    private int recentCacheSize = 0;
+
+    private int recentObjects = 10000;
+
+    private int recentPerObject = 10;
+
+    private AuditRecentCache recentCache;
+
+    /**
+     * Create an auditor whose repository, container service and EventBus are injected.
+     */
+    public InternalAuditor() {
+    }
+
+    /**
+     * Create an auditor that is not subscribed to the EventBus, for use as an {@link AuditSink}.
+     *
+     * @param repository the repository
+     * @param containerService used to create the audit nodes
+     */
+    InternalAuditor(final FedoraRepository repository, final ContainerService containerService) {
+        this.repository = repository;
+        this.containerService = containerService;
+        this.subscribe = false;
+    }
+
+    /**
+     * @param subscribe whether to register with the EventBus, false when used as an {@link AuditSink}
+     */
+    public void setSubscribe(final boolean subscribe) {
+        this.subscribe = subscribe;
+    }
+
+    /**
+     * @param sessionPerWrite whether each audit node is written in its own session, allowing concurrent
+     *        writes from several threads instead of sharing one session
+     */
+    public void setSessionPerWrite(final boolean sessionPerWrite) {
+        this.sessionPerWrite = sessionPerWrite;
+    }
+
+    /**
+     * @return whether each audit node is written in its own session
+     */
+    public boolean isSessionPerWrite() {
+        return sessionPerWrite;
+    }
+
+    /**
+     * @param backgroundInit whether the audit container and node types are set up in the background
+     */
+    public void setBackgroundInit(final boolean backgroundInit) {
+        this.backgroundInit = backgroundInit;
+    }
+
+    /**
+     * @param rollupInterval seconds between writing the rollup counts to the summary nodes, 0 (the default)
+     *        to neither count records nor write summaries
+     */
+    public void setRollupInterval(final long rollupInterval) {
+        this.rollupInterval = rollupInterval;
+    }
+
+    /**
+     * @param nodeId the ID of this node in a cluster, whose audit data is written into its own partition;
+     *        overrides the {@code fcrepo.audit.node} system property. Only letters, digits, '.', '_' and '-'
+     *        are allowed.
+     */
+    public void setNodeId(final String nodeId) {
+        this.nodeId = nodeId == null ? null : ClusterAuditView.toPartitionName(nodeId);
+    }
+
+    /**
+     * @param container the path of the audit container of this auditor; overrides the
+     *        {@code fcrepo.audit.container} system property
+     */
+    public void setContainer(final String container) {
+        final String path = container.startsWith("/") ? container : "/" + container;
+        this.container = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * @return the path of the audit container of this auditor
+     */
+    public String getContainer() {
+        return container != null ? container : AUDIT_CONTAINER_LOCATION;
+    }
+
+    /**
+     * @return the path this auditor writes its audit nodes, summaries and seals under
+     */
+    public String getPartitionLocation() {
+        return nodeId == null ? getContainer() : ClusterAuditView.partitionLocation(getContainer(), nodeId);
+    }
+
+    /**
+     * @param path a repository path
+     * @return whether the path is an audit container or in one, matched on whole path segments
+     */
+    static boolean isAuditPath(final String path) {
+        if (AUDIT_CONTAINER_LOCATION != null && AuditTenantRouter.matches(AUDIT_CONTAINER_LOCATION, path)) {
+            return true;
+        }
+        for (final String location : AUDIT_CONTAINER_LOCATIONS) {
+            if (AuditTenantRouter.matches(location, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param pathLayout the bucket layout of new audit nodes, {@code <length>x<count>}; the default is
+     *        {@code 2x4}, four levels of 256 buckets
+     */
+    public void setPathLayout(final String pathLayout) {
+        this.pathMinter = UuidPathMinter.parse(pathLayout);
+    }
+
+    /**
+     * @param expectedVolume the number of audit nodes expected, to size the bucket layout of new audit nodes
+     *        for instead of setting it explicitly
+     */
+    public void setExpectedVolume(final long expectedVolume) {
+        this.pathMinter = UuidPathMinter.forExpectedVolume(expectedVolume, BUCKET_TARGET);
+    }
+
+    /**
+     * @param previousLayouts layouts existing audit nodes may still be in, {@code <length>x<count>}; the
+     *        default is the default layout {@code 2x4}, which this replaces
+     */
+    public void setPreviousPathLayouts(final List<String> previousLayouts) {
+        this.previousLayouts = new ArrayList<>();
+        previousLayouts.forEach(layout -> this.previousLayouts.add(UuidPathMinter.parse(layout)));
+    }
+
+    /**
+     * @param rebalance whether to move audit nodes into the current layout in the background
+     */
+    public void setRebalance(final boolean rebalance) {
+        this.rebalance = rebalance;
+    }
+
+    /**
+     * @return the rebalancer moving audit nodes into the current layout, null if not rebalancing
+     */
+    public AuditPathRebalancer getRebalancer() {
+        return rebalancer;
+    }
+
+    /**
+     * @param sealing whether written records are sealed against tampering
+     */
+    public void setSealing(final boolean sealing) {
+        this.sealing = sealing;
+    }
+
+    /**
+     * @param sealBatchSize the maximum number of records per seal
+     */
+    public void setSealBatchSize(final int sealBatchSize) {
+        this.sealBatchSize = sealBatchSize;
+    }
+
+    /**
+     * @param compactAfterDays the age in days after which audit nodes are compacted into daily bundles, 0 to
+     *        not compact
+     */
+    public void setCompactAfterDays(final long compactAfterDays) {
+        this.compactAfterDays = compactAfterDays;
+    }
+
+    /**
+     * @param compactionInterval hours between compaction runs
+     */
+    public void setCompactionInterval(final long compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
+
+    /**
+     * @return the archive of compacted audit nodes in this auditor's partition
+     */
+    public AuditArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * @param indexing whether written records are indexed by agent, type and day
+     */
+    public void setIndexing(final boolean indexing) {
+        this.indexing = indexing;
+    }
+
+    /**
+     * @param indexFile a file the index is loaded from on startup and saved to on shutdown. It is removed once
+     *        loaded, so an index that was not saved, like one that was never loaded, is caught up from the
+     *        repository in the background.
+     */
+    public void setIndexFile(final String indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * @return the index of the records written, null if not indexing; see {@link AuditIndex#isComplete} for
+     *         whether it is still catching up
+     */
+    public AuditIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @param recentCacheSize the number of recently written records kept in memory, 0 to keep none
+     */
+    public void setRecentCacheSize(final int recentCacheSize) {
+        this.recentCacheSize = recentCacheSize;
+    }
+
+    /**
+     * @param recentObjects the number of objects recently written records are kept in memory for
+     */
+    public void setRecentObjects(final int recentObjects) {
+        this.recentObjects = recentObjects;
+    }
+
+    /**
+     * @param recentPerObject the number of recently written records kept in memory per object
+     */
+    public void setRecentPerObject(final int recentPerObject) {
+        this.recentPerObject = recentPerObject;
+    }
+
+    /**
+     * @return the recently written records, null if none are kept
+     */
+    public AuditRecentCache getRecentCache() {
+        return recentCache;
+    }
+
+    /**
+     * @return the rollup counts maintained by this auditor
+     */
+    public AuditRollup getRollup() {
+        return rollup;
+    }
+
+    /**
+     * @return the number of audit nodes written
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
     /**
      * Register with the EventBus to receive events.
      */
     @PostConstruct
     public void register() {
         AUDIT_CONTAINER_LOCATION = System.getProperty(AUDIT_CONTAINER);
-        if (AUDIT_CONTAINER_LOCATION != null) {
-            LOGGER.info("Initializing: {}, {}", this.getClass().getCanonicalName(), AUDIT_CONTAINER_LOCATION);
-            eventBus.register(this);
-            if (!AUDIT_CONTAINER_LOCATION.startsWith("/")) {
+        if (getContainer() != null) {
+            LOGGER.info("Initializing: {}, {}", this.getClass().getCanonicalName(), getContainer());
+            if (AUDIT_CONTAINER_LOCATION != null && !AUDIT_CONTAINER_LOCATION.startsWith("/")) {
                 AUDIT_CONTAINER_LOCATION = "/" + AUDIT_CONTAINER_LOCATION;
             }
-            if (AUDIT_CONTAINER_LOCATION.endsWith("/")) {
+            if (AUDIT_CONTAINER_LOCATION != null && AUDIT_CONTAINER_LOCATION.endsWith("/")) {
                 AUDIT_CONTAINER_LOCATION = AUDIT_CONTAINER_LOCATION.substring(0,
-                        AUDIT_CONTAINER_LOCATION.length() - 2);
+                        AUDIT_CONTAINER_LOCATION.length() - 1);
+            }
+            if (container != null) {
+                AUDIT_CONTAINER_LOCATIONS.add(container);
+            }
+            if (nodeId == null && System.getProperty(AUDIT_NODE) != null) {
+                setNodeId(System.getProperty(AUDIT_NODE));
+            }
+            if (nodeId != null) {
+                LOGGER.info("Writing audit partition {}", getPartitionLocation());
             }
             session = repository.login();
-            containerService.findOrCreate(session, AUDIT_CONTAINER_LOCATION);
-
-            LOGGER.debug("Registering audit CND");
-            jcrTools.registerNodeTypes(getJcrSession(session), "audit.cnd");
-
-            session.commit();
+            archive = new AuditArchive(repository, containerService, getPartitionLocation());
+            archive.setMaxAge(compactAfterDays);
+            if (indexing) {
+                index = loadIndex();
+            }
+            if (recentCacheSize > 0) {
+                recentCache = new AuditRecentCache(recentCacheSize, recentObjects, recentPerObject);
+            }
+            if (sealing) {
+                sealer = new AuditSealer();
+                sealer.setStore(newSealStore());
+                sealer.setBatchSize(sealBatchSize);
+                sealer.start();
+            }
+            if (backgroundInit) {
+                synchronized (startupLock) {
+                    startupBuffer = new ArrayDeque<>();
+                    starting = true;
+                }
+                initExecutor = Executors.newSingleThreadExecutor(
+                        new ThreadFactoryBuilder().setNameFormat("fcrepo-audit-init-%d").setDaemon(true).build());
+                initExecutor.execute(this::initialize);
+            } else {
+                initialize();
+            }
+            // only once the session and startup buffer are in place
+            if (subscribe) {
+                eventBus.register(this);
+            }
+            if (rollupInterval > 0) {
+                rollupExecutor = Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder().setNameFormat("fcrepo-audit-rollup-%d").setDaemon(true).build());
+                rollupExecutor.scheduleWithFixedDelay(this::flushRollup, rollupInterval, rollupInterval,
+                        TimeUnit.SECONDS);
+            }
+            if (compactAfterDays > 0) {
+                compactionExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                        .setNameFormat("fcrepo-audit-compaction-%d").setDaemon(true).build());
+                compactionExecutor.scheduleWithFixedDelay(archive::compact, compactionInterval,
+                        compactionInterval, TimeUnit.HOURS);
+            }
         } else {
             LOGGER.warn("Cannot Initialize: {}", this.getClass().getCanonicalName());
             LOGGER.warn("System property not found: " + AUDIT_CONTAINER);
         }
     }
 
+    /**
+     * Create the audit container and register the audit node types unless they already exist, then
+     * write any records buffered in the meantime and, if configured, start rebalancing.
+     */
+    private void initialize() {
+        try {
+            containerService.findOrCreate(session, getPartitionLocation());
+
+            final NodeTypeManager nodeTypeManager = getJcrSession(session).getWorkspace().getNodeTypeManager();
+            if (nodeTypeManager.hasNodeType(AUDIT_NODE_TYPE)) {
+                LOGGER.debug("Audit CND already registered");
+            } else {
+                LOGGER.debug("Registering audit CND");
+                jcrTools.registerNodeTypes(getJcrSession(session), "audit.cnd");
+            }
+
+            session.commit();
+        } catch (final RepositoryException | RuntimeException e) {
+            LOGGER.error("Error initializing audit container {}", getContainer(), e);
+        } finally {
+            writeStartupBuffer();
+        }
+        if (rebalance) {
+            rebalancer = new AuditPathRebalancer(repository, containerService, getPartitionLocation(), pathMinter);
+            rebalancer.start();
+        }
+    }
+
+    private void writeStartupBuffer() {
+        while (true) {
+            final List<AuditRecord> batch;
+            synchronized (startupLock) {
+                if (startupBuffer == null) {
+                    return;
+                }
+                if (startupBuffer.isEmpty()) {
+                    startupBuffer = null;
+                    starting = false;
+                    ready.countDown();
+                    return;
+                }
+                batch = new ArrayList<>(startupBuffer);
+                startupBuffer.clear();
+            }
+            LOGGER.debug("Writing {} audit records received during startup", batch.size());
+            for (final AuditRecord record : batch) {
+                try {
+                    createAuditNode(record);
+                    recordWritten(record);
+                } catch (final IOException | RuntimeException e) {
+                    LOGGER.error("Error writing audit record {}", record.getEventID(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffer a record while initialization is in progress. If the buffer is full, wait for initialization
+     * to finish instead.
+     *
+     * @param record the record to buffer
+     * @return true if buffered, false if the record should be written directly
+     */
+    private boolean bufferDuringStartup(final AuditRecord record) {
+        synchronized (startupLock) {
+            if (startupBuffer == null) {
+                return false;
+            }
+            if (startupBuffer.size() < STARTUP_BUFFER_CAPACITY) {
+                startupBuffer.add(record);
+                return true;
+            }
+        }
+        try {
+            ready.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryRuntimeException(e);
+        }
+        return false;
+    }
+
     /**
      * Fedora internal events are received and processed by this method.
      *
@@ -144,27 +649,262 @@ public class InternalAuditor implements Auditor {
     @Subscribe
     public void recordEvent(final FedoraEvent event) {
         LOGGER.debug("Event detected: {} {}", event.getUserID(), event.getPath());
-        if (!event.getPath().startsWith(AUDIT_CONTAINER_LOCATION) && !event.getPath().isEmpty()) {
+        final AuditTrace classification = AuditTracing.start(AuditPhase.CLASSIFICATION);
+        final AuditRecord record = AuditRecord.fromEvent(event);
+        classification.end(record.getEventID(), record.getPath());
+        write(record);
+    }
+
+    @Override
+    public void write(final AuditRecord record) {
+        if (!isAuditPath(record.getPath()) && !record.getPath().isEmpty()) {
+            if (starting && bufferDuringStartup(record)) {
+                return;
+            }
             try {
-                createAuditNode(event);
+                createAuditNode(record);
             } catch (IOException e) {
                 throw new RepositoryRuntimeException(e);
             }
+            recordWritten(record);
+        }
+    }
+
+    private void recordWritten(final AuditRecord record) {
+        written.incrementAndGet();
+        if (rollupInterval > 0) {
+            rollup.increment(record);
+        }
+        if (index != null) {
+            index.add(record);
+        }
+        if (recentCache != null) {
+            recentCache.write(record);
+        }
+        if (sealer != null) {
+            sealer.write(record);
+        }
+    }
+
+    private AuditIndex loadIndex() {
+        AuditIndex loaded = null;
+        if (indexFile != null && Files.exists(Paths.get(indexFile))) {
+            try {
+                loaded = AuditIndex.load(Paths.get(indexFile));
+                // saved again on shutdown; without a file, the next start knows this index was not
+                Files.delete(Paths.get(indexFile));
+                LOGGER.info("Loaded audit index of {} records from {}", loaded.size(), indexFile);
+            } catch (final IOException e) {
+                LOGGER.error("Error loading audit index {}, starting a new one", indexFile, e);
+                loaded = null;
+            }
+        }
+        final AuditIndex result = loaded == null ? new AuditIndex() : loaded;
+        if (loaded == null || !loaded.isComplete()) {
+            result.startCatchUp();
+            indexExecutor = Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("fcrepo-audit-index-%d").setDaemon(true).build());
+            indexExecutor.submit(() -> catchUpIndex(result));
+        }
+        return result;
+    }
+
+    /**
+     * Add the records of the partition missing from the index, from its audit nodes and bundles.
+     */
+    private void catchUpIndex(final AuditIndex catchingUp) {
+        LOGGER.info("Catching up audit index from {}", getPartitionLocation());
+        try {
+            archive.forEachRecord(catchingUp::addIfAbsent);
+            catchingUp.finishCatchUp();
+            LOGGER.info("Caught up audit index, now of {} records", catchingUp.size());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.info("Stopped catching up audit index");
+        } catch (final RuntimeException e) {
+            LOGGER.error("Error catching up audit index, searches can miss records", e);
+        }
+    }
+
+    /**
+     * Verify the seals in the audit container and the records they cover.
+     *
+     * @param parallelism the number of threads verifying records
+     * @return the result
+     */
+    public SealVerifier.Result verifySeals(final int parallelism) {
+        return new SealVerifier(newSealStore(), parallelism).verify();
+    }
+
+    private RepositorySealStore newSealStore() {
+        final String partition = getPartitionLocation();
+        final RepositorySealStore store = new RepositorySealStore(repository, containerService, partition,
+                eventID -> {
+                    final List<String> paths = new ArrayList<>();
+                    getEventPaths(eventID).forEach(path -> paths.add(partition + "/" + path));
+                    return paths;
+                });
+        store.setArchive(archive);
+        return store;
+    }
+
+    /**
+     * Find a record in this auditor's partition, from its audit node or, once compacted, its bundle.
+     *
+     * @param eventID the event ID, a {@code urn:uuid:} URI
+     * @return the record, null if there is none or its audit node has no event date
+     */
+    public AuditRecord findAuditRecord(final String eventID) {
+        final FedoraSession readSession = repository.login();
+        try {
+            final Session jcrSession = getJcrSession(readSession);
+            for (final String path : getEventPaths(eventID)) {
+                final String nodePath = getPartitionLocation() + "/" + path;
+                if (jcrSession.nodeExists(nodePath)) {
+                    return AuditNodes.read(eventID, jcrSession.getNode(nodePath));
+                }
+            }
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            readSession.expire();
+        }
+        return archive == null ? null : archive.find(eventID);
+    }
+
+    /**
+     * Add the rollup counts accumulated since the previous flush to the summary nodes. If they cannot be
+     * written, they are kept for the next flush.
+     */
+    public void flushRollup() {
+        final Map<AuditRollup.Key, Long> deltas = rollup.drain(System.currentTimeMillis());
+        if (deltas.isEmpty()) {
+            return;
+        }
+        final Map<String, List<Map.Entry<AuditRollup.Key, Long>>> days = new TreeMap<>();
+        for (final Map.Entry<AuditRollup.Key, Long> delta : deltas.entrySet()) {
+            final Instant hour = Instant.ofEpochMilli(delta.getKey().getHour() * AuditRollup.MILLIS_PER_HOUR);
+            days.computeIfAbsent(SUMMARY_DAY.format(hour), d -> new ArrayList<>()).add(delta);
+        }
+        final FedoraSession flushSession = repository.login();
+        try {
+            for (final Map.Entry<String, List<Map.Entry<AuditRollup.Key, Long>>> day : days.entrySet()) {
+                final Node node = getJcrNode(containerService.findOrCreate(flushSession,
+                        getPartitionLocation() + "/" + SUMMARY_CONTAINER + "/" + day.getKey()));
+                final Map<String, Long> counts = new HashMap<>();
+                readHourlyCounts(node, counts);
+                for (final Map.Entry<AuditRollup.Key, Long> delta : day.getValue()) {
+                    final AuditRollup.Key key = delta.getKey();
+                    final String hour = SUMMARY_HOUR.format(
+                            Instant.ofEpochMilli(key.getHour() * AuditRollup.MILLIS_PER_HOUR));
+                    final String agent = key.getAgent() == null ? "" : key.getAgent();
+                    counts.merge(countKey(hour, key.getAuditEventType(), agent), delta.getValue(), Long::sum);
+                }
+                final List<String> values = new ArrayList<>(counts.size());
+                for (final Map.Entry<String, Long> count : new TreeMap<>(counts).entrySet()) {
+                    final String[] parts = count.getKey().split(" ", 3);
+                    values.add(parts[0] + " " + count.getValue() + " " + parts[1] + " " + parts[2]);
+                }
+                node.setProperty(HOURLY_COUNT, values.toArray(new String[values.size()]));
+            }
+            flushSession.commit();
+            LOGGER.debug("Wrote {} audit rollup counts", deltas.size());
+        } catch (final RepositoryException | RuntimeException e) {
+            LOGGER.error("Error writing audit rollup counts", e);
+            rollup.restore(deltas);
+        } finally {
+            flushSession.expire();
+        }
+    }
+
+    /**
+     * Add the counts of a summary node to a map.
+     *
+     * @param node a summary node
+     * @param counts counts keyed by {@code "<hour> <type URI> <agent>"}
+     * @throws RepositoryException if the counts cannot be read
+     */
+    static void readHourlyCounts(final Node node, final Map<String, Long> counts) throws RepositoryException {
+        if (node.hasProperty(HOURLY_COUNT)) {
+            for (final Value value : node.getProperty(HOURLY_COUNT).getValues()) {
+                final String[] parts = value.getString().split(" ", 4);
+                counts.merge(countKey(parts[0], parts[2], parts.length > 3 ? parts[3] : ""),
+                        Long.parseLong(parts[1]), Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Count a record in a map of counts as {@link #flushRollup} would in a summary node.
+     *
+     * @param record a record
+     * @param counts counts keyed by {@code "<hour> <type URI> <agent>"}
+     */
+    static void addHourlyCount(final AuditRecord record, final Map<String, Long> counts) {
+        if (record.getAuditEventType() != null) {
+            final String hour = SUMMARY_HOUR.format(Instant.ofEpochMilli(record.getEpochMillis()));
+            final String agent = record.getUserID() == null ? "" : record.getUserID();
+            counts.merge(countKey(hour, record.getAuditEventType(), agent), 1L, Long::sum);
         }
     }
 
+    private static String countKey(final String hour, final String auditEventType, final String agent) {
+        return hour + " " + auditEventType + " " + agent;
+    }
+
     /**
      * Close external connections
      */
     @PreDestroy
     public void releaseConnections() {
         LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
-        eventBus.unregister(this);
+        if (subscribe) {
+            eventBus.unregister(this);
+        }
+        if (initExecutor != null) {
+            initExecutor.shutdown();
+        }
+        if (rollupExecutor != null) {
+            rollupExecutor.shutdown();
+            try {
+                rollupExecutor.awaitTermination(rollupInterval, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (getContainer() != null && rollupInterval > 0) {
+            flushRollup();
+        }
+        if (compactionExecutor != null) {
+            archive.stop();
+            compactionExecutor.shutdownNow();
+        }
+        if (rebalancer != null) {
+            try {
+                rebalancer.stop();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (sealer != null) {
+            try {
+                sealer.stop();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (indexExecutor != null) {
+            indexExecutor.shutdownNow();
+        }
+        if (index != null && indexFile != null) {
+            try {
+                index.save(Paths.get(indexFile));
+            } catch (final IOException e) {
+                LOGGER.error("Error saving audit index {}", indexFile, e);
+            }
+        }
     }
 
-    // JCR property name, not URI
-    private static final String PREMIS_OBJ = "premis:hasEventRelatedObject";
-
     /**
      * Creates a node for the audit event under the configured container.
      *
@@ -172,63 +912,106 @@ public class InternalAuditor implements Auditor {
      * @throws java.io.IOException on json mapping error
      */
     public void createAuditNode(final FedoraEvent event) throws IOException {
+        createAuditNode(AuditRecord.fromEvent(event));
+    }
+
+    /**
+     * Creates a node for the audit record under the configured container.
+     *
+     * @param record to be persisted in the repository
+     * @throws java.io.IOException on json mapping error
+     */
+    public void createAuditNode(final AuditRecord record) throws IOException {
+        final FedoraSession writeSession = sessionPerWrite ? repository.login() : session;
+        final String partition = getPartitionLocation();
         try {
-            final String userAgent = event.getInfo().get(USER_AGENT);
-            final String baseURL = event.getInfo().get(BASE_URL);
-            final String path = event.getPath();
-            final String uri = baseURL + path;
-            final Instant timestamp =  event.getDate();
-            final DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-            df.setTimeZone(TimeZone.getTimeZone("UTC"));
-            final String eventDate = df.format(timestamp.toEpochMilli());
-            final String userID = event.getUserID();
-            final Set<String> eventTypes = AuditUtils.getEventURIs(event.getTypes());
-            final Set<String> resourceTypes = event.getResourceTypes();
-            final String auditEventType = AuditUtils.getAuditEventType(eventTypes, resourceTypes);
-
-            final String eventPath = getEventPath(event.getEventID());
-            final FedoraResource auditResource = containerService.findOrCreate(session,
-                    AUDIT_CONTAINER_LOCATION + "/" + eventPath);
-
-            LOGGER.debug("Audit node {} created for event.", event.getEventID());
+            final String baseURL = record.getBaseURL();
+            final String uri = record.getObjectURI();
+            final AuditTrace pathMinting = AuditTracing.start(AuditPhase.PATH_MINTING);
+            final String eventPath = pathMinter.get(record.getUuid().toString());
+            final String auditPath = partition + "/" + eventPath;
+            pathMinting.end(record.getEventID(), auditPath);
+
+            final AuditTrace findOrCreate = AuditTracing.start(AuditPhase.FIND_OR_CREATE);
+            final FedoraResource auditResource = containerService.findOrCreate(writeSession, auditPath);
+            findOrCreate.end(record.getEventID(), auditPath);
 
+            LOGGER.debug("Audit node {} created for event.", record.getEventID());
+
+            final AuditTrace propertyWrite = AuditTracing.start(AuditPhase.PROPERTY_WRITE);
             final Model m = createDefaultModel();
-            final String auditResourceURI = baseURL + AUDIT_CONTAINER_LOCATION + "/" + eventPath;
+            final String auditResourceURI = baseURL + auditPath;
             final Resource s = createResource(auditResourceURI);
             m.add(createStatement(s, RDF_TYPE, createResource(INTERNAL_EVENT)));
             m.add(createStatement(s, RDF_TYPE, createResource(PREMIS_EVENT)));
             m.add(createStatement(s, RDF_TYPE, createResource(PROV_EVENT)));
-            m.add(createStatement(s, PREMIS_TIME, createTypedLiteral(eventDate, XSDdateTime)));
-            m.add(createStatement(s, PREMIS_AGENT, createTypedLiteral(userID, XSDstring)));
-            m.add(createStatement(s, PREMIS_AGENT, createTypedLiteral(userAgent, XSDstring)));
-            if (auditEventType != null) {
-                m.add(createStatement(s, PREMIS_TYPE, createResource(auditEventType)));
+            m.add(createStatement(s, PREMIS_TIME, createTypedLiteral(record.getEventDate(), XSDdateTime)));
+            m.add(createStatement(s, PREMIS_AGENT, createTypedLiteral(record.getUserID(), XSDstring)));
+            m.add(createStatement(s, PREMIS_AGENT, createTypedLiteral(record.getUserAgent(), XSDstring)));
+            if (record.getAuditEventType() != null) {
+                m.add(createStatement(s, PREMIS_TYPE, createResource(record.getAuditEventType())));
             }
 
-            final IdentifierConverter<Resource, FedoraResource> translator =
-                new PrefixingIdentifierTranslator(getJcrSession(session), baseURL + "/");
+            final IdentifierConverter<Resource, FedoraResource> translator = sessionPerWrite ?
+                new PrefixingIdentifierTranslator(getJcrSession(writeSession), baseURL + "/") :
+                translators.computeIfAbsent(String.valueOf(baseURL),
+                        b -> new PrefixingIdentifierTranslator(getJcrSession(session), baseURL + "/"));
             auditResource.replaceProperties(translator, m,
                     auditResource.getTriples(translator, noneOf(RequiredRdfContext.class)));
 
             // set link to impacted object using a URI property to preserve the link if it's deleted
+            final Node auditNode = getJcrNode(auditResource);
             try {
-                getJcrNode(auditResource).setProperty(PREMIS_OBJ, new URI(uri).toString(), PropertyType.URI);
+                auditNode.setProperty(AuditNodes.PREMIS_OBJ, new URI(uri).toString(), PropertyType.URI);
             } catch (URISyntaxException e) {
                 LOGGER.warn("Error creating URI for repository resource {}", uri);
             }
+            // the record fields, to read the record back from
+            AuditNodes.write(auditNode, record);
+            propertyWrite.end(record.getEventID(), auditPath);
 
-            session.commit();
+            final AuditTrace commit = AuditTracing.start(AuditPhase.COMMIT);
+            writeSession.commit();
+            commit.end(record.getEventID(), auditPath);
         } catch (RepositoryException e) {
             throw new RepositoryRuntimeException(e);
+        } finally {
+            if (sessionPerWrite) {
+                writeSession.expire();
+            }
         }
     }
 
     @VisibleForTesting
     protected String getEventPath(final String eventID) {
-        if (!eventID.startsWith("urn:uuid:")) {
-            throw new IllegalArgumentException("Event ID must be a 'urn:uuid:'" + eventID);
-        }
-        return pathMinter.get(eventID.substring("urn:uuid:".length()));
+        return pathMinter.get(AuditRecord.parseEventID(eventID).toString());
+    }
+
+    /**
+     * @param eventID an event ID
+     * @return the paths of the event's audit node relative to the partition, in the current layout followed
+     *         by the previous layouts
+     */
+    protected List<String> getEventPaths(final String eventID) {
+        final String uuid = AuditRecord.parseEventID(eventID).toString();
+        final List<String> paths = new ArrayList<>();
+        getLayouts().forEach(layout -> paths.add(layout.get(uuid)));
+        return paths;
+    }
+
+    /**
+     * @return a read view over the audit partitions of all nodes, resolving audit nodes in the current and
+     *         previous layouts
+     */
+    public ClusterAuditView getClusterView() {
+        return new ClusterAuditView(repository, getContainer(), getLayouts());
+    }
+
+    private List<UuidPathMinter> getLayouts() {
+        final List<UuidPathMinter> layouts = new ArrayList<>();
+        layouts.add(pathMinter);
+        previousLayouts.stream().filter(layout -> !layouts.contains(layout)).forEach(layouts::add);
+        return layouts;
     }
 
     @VisibleForTesting
@@ -0,0 +1,169 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.fcrepo.audit.store.AuditLogStore;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+
+import org.slf4j.Logger;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Auditor implementation that appends audit records to an embedded {@link AuditLogStore} beside the
+ * repository instead of creating a repository node per event. The records carry the same PREMIS/PROV
+ * fields as the nodes written by {@link InternalAuditor}.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class LogStoreAuditor implements Auditor, AuditSink {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(LogStoreAuditor.class);
+
+    private static final String AUDIT_STORE = "fcrepo.audit.store";
+
+    @Inject
+    private EventBus eventBus;
+
+    private String directory = System.getProperty(AUDIT_STORE);
+
+    private int memtableLimit = AuditLogStore.DEFAULT_MEMTABLE_LIMIT;
+
+    private int compactionThreshold = AuditLogStore.DEFAULT_COMPACTION_THRESHOLD;
+
+    private boolean sync = false;
+
+    private boolean subscribe = true;
+
+    private AuditLogStore store;
+
+    /**
+     * @param directory the store directory, defaults to the fcrepo.audit.store system property
+     */
+    public void setDirectory(final String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param memtableLimit the number of records held in memory before they are written to a segment
+     */
+    public void setMemtableLimit(final int memtableLimit) {
+        this.memtableLimit = memtableLimit;
+    }
+
+    /**
+     * @param compactionThreshold the number of segments that triggers a compaction
+     */
+    public void setCompactionThreshold(final int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * @param sync whether every record is forced to disk before the write returns
+     */
+    public void setSync(final boolean sync) {
+        this.sync = sync;
+    }
+
+    /**
+     * @param subscribe whether to register with the EventBus, false when used as an {@link AuditSink}
+     */
+    public void setSubscribe(final boolean subscribe) {
+        this.subscribe = subscribe;
+    }
+
+    /**
+     * Open the store and register with the EventBus to receive events.
+     *
+     * @throws IOException if the store cannot be opened
+     */
+    @PostConstruct
+    public void register() throws IOException {
+        if (directory != null) {
+            LOGGER.info("Initializing: {}, {}", this.getClass().getCanonicalName(), directory);
+            store = new AuditLogStore(Paths.get(directory), memtableLimit, compactionThreshold, sync);
+            if (subscribe) {
+                eventBus.register(this);
+            }
+        } else {
+            LOGGER.warn("Cannot Initialize: {}", this.getClass().getCanonicalName());
+            LOGGER.warn("System property not found: " + AUDIT_STORE);
+        }
+    }
+
+    @Override
+    @Subscribe
+    public void recordEvent(final FedoraEvent event) {
+        LOGGER.debug("Event detected: {} {}", event.getUserID(), event.getPath());
+        write(AuditRecord.fromEvent(event));
+    }
+
+    @Override
+    public void write(final AuditRecord record) {
+        if (store == null) {
+            // not initialized for lack of a directory, which register() has logged
+            LOGGER.debug("No audit store, ignoring {}", record.getEventID());
+            return;
+        }
+        if (!record.getPath().isEmpty()) {
+            try {
+                store.append(record);
+            } catch (final IOException e) {
+                throw new RepositoryRuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * @return the store holding the audit records
+     */
+    public AuditLogStore getStore() {
+        return store;
+    }
+
+    /**
+     * Close the store.
+     *
+     * @throws IOException if the store cannot be closed
+     */
+    @PreDestroy
+    public void releaseConnections() throws IOException {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        if (store != null) {
+            if (subscribe) {
+                eventBus.unregister(this);
+            }
+            store.close();
+        }
+    }
+}
@@ -35,7 +35,7 @@ import com.google.common.eventbus.Subscribe;
  * @author Edwin Shin
  * @since 2014
  */
-public class LogbackAuditor implements Auditor {
+public class LogbackAuditor implements Auditor, AuditSink {
 
     /**
      * Logger for this class.
@@ -45,18 +45,39 @@ public class LogbackAuditor implements Auditor {
     @Inject
     private EventBus eventBus;
 
+    private boolean subscribe = true;
+
+    /**
+     * @param subscribe whether to register with the EventBus, false when used as an {@link AuditSink}
+     */
+    public void setSubscribe(final boolean subscribe) {
+        this.subscribe = subscribe;
+    }
+
     /**
      * Register with the EventBus to receive events.
      */
     @PostConstruct
     public void register() {
         LOGGER.debug("Initializing: {}", this.getClass().getCanonicalName());
-        eventBus.register(this);
+        if (subscribe) {
+            eventBus.register(this);
+        }
     }
 
     @Override
     @Subscribe
     public void recordEvent(final FedoraEvent e) {
+        // logged from the event itself, which needs no event ID parsing or classification
+        final AuditTrace logWrite = AuditTracing.start(AuditPhase.LOG_WRITE);
         LOGGER.info("{} {}", e.getUserID(), e.getPath());
+        logWrite.end(e.getEventID(), e.getPath());
+    }
+
+    @Override
+    public void write(final AuditRecord record) {
+        final AuditTrace logWrite = AuditTracing.start(AuditPhase.LOG_WRITE);
+        LOGGER.info("{} {}", record.getUserID(), record.getPath());
+        logWrite.end(record.getEventID(), record.getPath());
     }
 }
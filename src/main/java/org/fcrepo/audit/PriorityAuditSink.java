@@ -0,0 +1,330 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Arrays.asList;
+import static org.fcrepo.audit.AuditProperties.CONTENT_ADD;
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.AuditProperties.CONTENT_REM;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_REM;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+
+import org.slf4j.Logger;
+
+/**
+ * Audit sink that queues records in lanes by audit event type and writes them to a delegate sink from
+ * background threads, draining the lanes by weighted round robin. When the delegate falls behind, records
+ * in a heavily weighted lane, such as creations and deletions, keep being written promptly while a flood
+ * of modifications waits in, or overflows from, its own lane.
+ *
+ * <p>The default lanes are "critical" for creations and deletions (weight 8), "content" for binary
+ * modifications (weight 2) and "metadata" for everything else (weight 1). All of them block when full, so no
+ * record is lost unless a lane is configured to drop.</p>
+ *
+ * <p>With more than one writer thread the delegate is written concurrently, so an {@link InternalAuditor}
+ * delegate must write each audit node in its own session ({@link InternalAuditor#setSessionPerWrite}); one
+ * sharing a session is rejected on start.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class PriorityAuditSink implements AuditSink {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(PriorityAuditSink.class);
+
+    private AuditSink delegate;
+
+    private List<AuditLane> lanes = asList(
+            new AuditLane("critical", 8, 10000, AuditLane.Overflow.BLOCK,
+                    OBJECT_ADD, OBJECT_REM, CONTENT_ADD, CONTENT_REM),
+            new AuditLane("content", 2, 10000, AuditLane.Overflow.BLOCK, CONTENT_MOD),
+            new AuditLane("metadata", 1, 10000, AuditLane.Overflow.BLOCK));
+
+    private int writerThreads = 1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final List<Lane> queues = new ArrayList<>();
+
+    private final Map<String, Lane> byType = new HashMap<>();
+
+    private Lane fallback;
+
+    private final List<Thread> writers = new ArrayList<>();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    // guarded by lock
+    private int queued;
+
+    private int current;
+
+    private int credit;
+
+    private boolean running;
+
+    /**
+     * @param delegate the sink the queued records are written to
+     */
+    public void setDelegate(final AuditSink delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @param lanes the lanes, replacing the default ones
+     */
+    public void setLanes(final List<AuditLane> lanes) {
+        this.lanes = lanes;
+    }
+
+    /**
+     * @param writerThreads the number of threads writing to the delegate, more than one only for a delegate
+     *        that supports concurrent writes
+     */
+    public void setWriterThreads(final int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    /**
+     * Set up the lanes and start the background writers.
+     */
+    @PostConstruct
+    public void start() {
+        LOGGER.info("Initializing: {} with {} lanes", this.getClass().getCanonicalName(), lanes.size());
+        if (writerThreads > 1 && delegate instanceof InternalAuditor &&
+                !((InternalAuditor) delegate).isSessionPerWrite()) {
+            throw new IllegalArgumentException("Writing an internal auditor from " + writerThreads +
+                    " threads needs a session per write");
+        }
+        for (final AuditLane config : lanes) {
+            if (config.getWeight() < 1 || config.getCapacity() < 1) {
+                throw new IllegalArgumentException("Audit lane " + config.getName() +
+                        " needs a positive weight and capacity");
+            }
+            final Lane lane = new Lane(config);
+            queues.add(lane);
+            if (config.getAuditEventTypes().isEmpty()) {
+                fallback = lane;
+            }
+            config.getAuditEventTypes().forEach(type -> byType.put(type, lane));
+        }
+        if (fallback == null) {
+            fallback = queues.get(queues.size() - 1);
+        }
+        credit = queues.get(0).config.getWeight();
+        running = true;
+        for (int i = 0; i < writerThreads; i++) {
+            final Thread writer = new Thread(this::writeRecords, "fcrepo-audit-lanes-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Queue a record in its lane, applying the lane's overflow policy if it is full.
+     *
+     * @param record the record to queue
+     */
+    @Override
+    public void write(final AuditRecord record) {
+        final Lane lane = classify(record);
+        lock.lock();
+        try {
+            while (lane.records.size() >= lane.config.getCapacity()) {
+                switch (lane.config.getOverflow()) {
+                    case DROP_OLDEST:
+                        lane.records.poll();
+                        queued--;
+                        lane.drop();
+                        break;
+                    case BLOCK:
+                        if (!running) {
+                            lane.drop();
+                            return;
+                        }
+                        notFull.await();
+                        break;
+                    default:
+                        lane.drop();
+                        return;
+                }
+            }
+            lane.records.add(record);
+            queued++;
+            notEmpty.signal();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lane classify(final AuditRecord record) {
+        final Lane lane = record.getAuditEventType() == null ? null : byType.get(record.getAuditEventType());
+        return lane == null ? fallback : lane;
+    }
+
+    /**
+     * Take the next record by weighted round robin: each lane in turn may hand out up to its weight in
+     * records, and an empty lane forfeits the rest of its turn.
+     *
+     * @return the next record, null once stopped and empty
+     */
+    private AuditRecord take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queued == 0) {
+                if (!running) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            while (true) {
+                final Lane lane = queues.get(current);
+                if (credit > 0 && !lane.records.isEmpty()) {
+                    credit--;
+                    queued--;
+                    notFull.signalAll();
+                    return lane.records.poll();
+                }
+                current = (current + 1) % queues.size();
+                credit = queues.get(current).config.getWeight();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeRecords() {
+        try {
+            for (AuditRecord record = take(); record != null; record = take()) {
+                try {
+                    delegate.write(record);
+                } catch (final RuntimeException e) {
+                    failed.incrementAndGet();
+                    LOGGER.error("Audit sink failed to write {}", record.getEventID(), e);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Write the remaining queued records and stop the background writers.
+     *
+     * @throws InterruptedException if interrupted while waiting for the lanes to drain
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (final Thread writer : writers) {
+            writer.join();
+        }
+    }
+
+    /**
+     * @param name a lane name
+     * @return the number of records waiting in the lane
+     */
+    public int getQueuedCount(final String name) {
+        lock.lock();
+        try {
+            return lane(name).records.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param name a lane name
+     * @return the number of records the lane dropped because it was full
+     */
+    public long getDroppedCount(final String name) {
+        return lane(name).dropped.get();
+    }
+
+    /**
+     * @return the number of records the delegate failed to write
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private Lane lane(final String name) {
+        for (final Lane lane : queues) {
+            if (lane.config.getName().equals(name)) {
+                return lane;
+            }
+        }
+        throw new IllegalArgumentException("No audit lane named " + name);
+    }
+
+    private static class Lane {
+
+        private final AuditLane config;
+
+        // guarded by the sink's lock
+        private final Queue<AuditRecord> records = new ArrayDeque<>();
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        Lane(final AuditLane config) {
+            this.config = config;
+        }
+
+        void drop() {
+            if (dropped.getAndIncrement() % config.getCapacity() == 0) {
+                LOGGER.warn("Audit lane {} is full, dropped {} records", config.getName(), dropped.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit sink that hands records to in-process consumers through a bounded local queue.
+ * Records are dropped, and counted, when consumers fall behind and the queue is full.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class QueueAuditSink implements AuditSink {
+
+    private static final int DEFAULT_CAPACITY = 10000;
+
+    private final BlockingQueue<AuditRecord> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Create a queue sink with the default capacity.
+     */
+    public QueueAuditSink() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the maximum number of records waiting for a consumer
+     */
+    public QueueAuditSink(final int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void write(final AuditRecord record) {
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Wait for the next record.
+     *
+     * @param timeout how long to wait
+     * @param unit the unit of the timeout
+     * @return the next record, or null if none arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public AuditRecord poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    /**
+     * Move up to maxRecords waiting records into the given collection.
+     *
+     * @param records the collection receiving the records
+     * @param maxRecords the maximum number of records to move
+     * @return the number of records moved
+     */
+    public int drainTo(final Collection<? super AuditRecord> records, final int maxRecords) {
+        return queue.drainTo(records, maxRecords);
+    }
+
+    /**
+     * @return the number of records waiting for a consumer
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of records dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
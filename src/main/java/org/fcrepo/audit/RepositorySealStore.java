@@ -0,0 +1,202 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Value;
+
+import org.fcrepo.audit.seal.MerkleTree;
+import org.fcrepo.audit.seal.Seal;
+import org.fcrepo.audit.seal.SealStore;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.services.ContainerService;
+
+import org.slf4j.Logger;
+
+/**
+ * Stores seals as resources in the audit container, one per seal under {@code <audit container>/seals},
+ * and reads sealed records back from the audit nodes written by the {@link InternalAuditor}. Each
+ * operation uses its own session so that it can run alongside the auditor. Records whose audit nodes have
+ * been compacted are read from the {@link AuditArchive}, if one is set.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class RepositorySealStore implements SealStore {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(RepositorySealStore.class);
+
+    // JCR property names, not URIs
+    private static final String SEQUENCE = "audit:sealSequence";
+    private static final String RECORDS = "audit:sealedRecord";
+    private static final String MERKLE_ROOT = "audit:merkleRoot";
+    private static final String PREVIOUS = "audit:previousSeal";
+    private static final String HASH = "audit:sealHash";
+    private static final String LAST = "audit:lastSeal";
+
+    private final FedoraRepository repository;
+
+    private final ContainerService containerService;
+
+    private final String sealsPath;
+
+    private final Function<String, List<String>> eventPaths;
+
+    private AuditArchive archive;
+
+    /**
+     * @param repository the repository
+     * @param containerService used to create the seal resources
+     * @param auditContainer the path of the audit container
+     * @param eventPaths maps an event ID to the paths its audit node may have, in the order to try them
+     */
+    public RepositorySealStore(final FedoraRepository repository, final ContainerService containerService,
+            final String auditContainer, final Function<String, List<String>> eventPaths) {
+        this.repository = repository;
+        this.containerService = containerService;
+        this.sealsPath = auditContainer + "/seals";
+        this.eventPaths = eventPaths;
+    }
+
+    /**
+     * @param archive bundles to read sealed records from once their audit nodes have been compacted
+     */
+    public void setArchive(final AuditArchive archive) {
+        this.archive = archive;
+    }
+
+    @Override
+    public void append(final Seal seal) {
+        final FedoraSession session = repository.login();
+        try {
+            final Node seals = getJcrNode(containerService.findOrCreate(session, sealsPath));
+            final Node node = getJcrNode(containerService.findOrCreate(session,
+                    sealsPath + "/" + String.format("%016d", seal.getSequence())));
+            node.setProperty(SEQUENCE, seal.getSequence());
+            node.setProperty(RECORDS, seal.getEventIDs().toArray(new String[seal.getEventIDs().size()]));
+            node.setProperty(MERKLE_ROOT, MerkleTree.toHex(seal.getMerkleRoot()));
+            if (seal.getPreviousHash() != null) {
+                node.setProperty(PREVIOUS, MerkleTree.toHex(seal.getPreviousHash()));
+            }
+            node.setProperty(HASH, MerkleTree.toHex(seal.getHash()));
+            seals.setProperty(LAST, seal.getSequence());
+            session.commit();
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Override
+    public Seal last() {
+        final FedoraSession session = repository.login();
+        try {
+            final Session jcrSession = getJcrSession(session);
+            if (!jcrSession.nodeExists(sealsPath) || !jcrSession.getNode(sealsPath).hasProperty(LAST)) {
+                return null;
+            }
+            final long last = jcrSession.getNode(sealsPath).getProperty(LAST).getLong();
+            return readSeal(jcrSession.getNode(sealsPath + "/" + String.format("%016d", last)));
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Override
+    public List<Seal> readAll() {
+        final FedoraSession session = repository.login();
+        try {
+            final Session jcrSession = getJcrSession(session);
+            final List<Seal> seals = new ArrayList<>();
+            if (jcrSession.nodeExists(sealsPath)) {
+                final NodeIterator nodes = jcrSession.getNode(sealsPath).getNodes();
+                while (nodes.hasNext()) {
+                    final Node node = nodes.nextNode();
+                    if (node.hasProperty(SEQUENCE)) {
+                        seals.add(readSeal(node));
+                    }
+                }
+            }
+            seals.sort(Comparator.comparingLong(Seal::getSequence));
+            return seals;
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Override
+    public List<AuditRecord> readRecords(final Seal seal) {
+        final FedoraSession session = repository.login();
+        try {
+            final Session jcrSession = getJcrSession(session);
+            final List<AuditRecord> records = new ArrayList<>(seal.getEventIDs().size());
+            for (final String eventID : seal.getEventIDs()) {
+                AuditRecord record = null;
+                for (final String path : eventPaths.apply(eventID)) {
+                    if (jcrSession.nodeExists(path)) {
+                        record = AuditNodes.read(eventID, jcrSession.getNode(path));
+                        break;
+                    }
+                }
+                if (record == null && archive != null) {
+                    LOGGER.debug("No audit node for {}, looking in the archive", eventID);
+                    record = archive.find(eventID);
+                }
+                records.add(record);
+            }
+            return records;
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+    }
+
+    private static Seal readSeal(final Node node) throws RepositoryException {
+        final List<String> eventIDs = new ArrayList<>();
+        for (final Value value : node.getProperty(RECORDS).getValues()) {
+            eventIDs.add(value.getString());
+        }
+        return new Seal(node.getProperty(SEQUENCE).getLong(), eventIDs,
+                MerkleTree.fromHex(node.getProperty(MERKLE_ROOT).getString()),
+                node.hasProperty(PREVIOUS) ? MerkleTree.fromHex(node.getProperty(PREVIOUS).getString()) : null,
+                MerkleTree.fromHex(node.getProperty(HASH).getString()));
+    }
+}
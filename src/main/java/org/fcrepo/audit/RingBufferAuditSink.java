@@ -0,0 +1,222 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+
+/**
+ * Audit sink that queues records off-heap in an {@link AuditRingBuffer} and writes them to a delegate sink
+ * from a background thread, so a slow delegate (such as the {@link InternalAuditor} during a repository
+ * slowdown) can fall far behind without growing the Java heap.
+ *
+ * <p>Records too large for a slot are queued on the heap instead, in a small separate queue written by the
+ * same background thread, so they may be written out of order with the records in the ring buffer.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class RingBufferAuditSink implements AuditSink {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(RingBufferAuditSink.class);
+
+    private static final int DEFAULT_SLOTS = 65536;
+
+    private static final int DEFAULT_SLOT_SIZE = 1024;
+
+    private static final int BATCH_SIZE = 256;
+
+    private static final int OVERSIZED_CAPACITY = 1024;
+
+    private static final long IDLE_PARK_NANOS = MILLISECONDS.toNanos(1);
+
+    private AuditSink delegate;
+
+    private int slots = DEFAULT_SLOTS;
+
+    private int slotSize = DEFAULT_SLOT_SIZE;
+
+    private String file;
+
+    private AuditRingBuffer ringBuffer;
+
+    private AuditRingBuffer.Reader reader;
+
+    private Thread drainer;
+
+    private volatile boolean running;
+
+    // records too large for a slot
+    private final BlockingQueue<AuditRecord> oversized = new ArrayBlockingQueue<>(OVERSIZED_CAPACITY);
+
+    private final AtomicLong oversizedCount = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * @param delegate the sink the queued records are written to
+     */
+    public void setDelegate(final AuditSink delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @param slots the maximum number of queued records, a power of two
+     */
+    public void setSlots(final int slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * @param slotSize the maximum encoded size of a record in bytes
+     */
+    public void setSlotSize(final int slotSize) {
+        this.slotSize = slotSize;
+    }
+
+    /**
+     * @param file a file to memory-map for the queue instead of using direct memory
+     */
+    public void setFile(final String file) {
+        this.file = file;
+    }
+
+    /**
+     * Allocate the ring buffer and start the background writer.
+     *
+     * @throws IOException if the mapped file cannot be created
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        LOGGER.info("Initializing: {}, {} slots of {} bytes", this.getClass().getCanonicalName(), slots, slotSize);
+        ringBuffer = file == null ? AuditRingBuffer.allocateDirect(slots, slotSize) :
+                AuditRingBuffer.map(Paths.get(file), slots, slotSize);
+        reader = ringBuffer.newReader();
+        running = true;
+        drainer = new Thread(this::drain, "fcrepo-audit-ringbuffer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Queue a record. Records are dropped, and counted, when the ring buffer, or for records larger than a
+     * slot the oversized queue, is full.
+     *
+     * @param record the record to queue
+     */
+    @Override
+    public void write(final AuditRecord record) {
+        if (!ringBuffer.fits(record)) {
+            if (oversizedCount.getAndIncrement() % OVERSIZED_CAPACITY == 0) {
+                LOGGER.warn("Audit record {} is larger than the {} byte ring buffer slots, queued on the heap; " +
+                        "{} oversized records so far", record.getEventID(), slotSize, oversizedCount.get());
+            }
+            if (!oversized.offer(record) && dropped.getAndIncrement() % OVERSIZED_CAPACITY == 0) {
+                LOGGER.warn("Audit queue for oversized records is full, dropped {} records", dropped.get());
+            }
+            return;
+        }
+        synchronized (this) {
+            if (!ringBuffer.offer(record) && dropped.getAndIncrement() % slots == 0) {
+                LOGGER.warn("Audit ring buffer is full, dropped {} records", dropped.get());
+            }
+        }
+    }
+
+    private void drain() {
+        while (running || reader.available() > 0 || !oversized.isEmpty()) {
+            int count = reader.drain(this::writeDelegate, BATCH_SIZE);
+            for (AuditRecord record = oversized.poll(); record != null; record = oversized.poll()) {
+                writeDelegate(record);
+                count++;
+            }
+            if (count == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void writeDelegate(final AuditRecord record) {
+        try {
+            delegate.write(record);
+        } catch (final RuntimeException e) {
+            failed.incrementAndGet();
+            LOGGER.error("Audit sink failed to write {}", record.getEventID(), e);
+        }
+    }
+
+    /**
+     * Write the remaining queued records and stop the background writer.
+     *
+     * @throws InterruptedException if interrupted while waiting for the queue to drain
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        running = false;
+        if (drainer != null) {
+            drainer.join();
+            reader.close();
+        }
+    }
+
+    /**
+     * @return the number of records waiting to be written to the delegate
+     */
+    public long getQueuedCount() {
+        return reader.available() + oversized.size();
+    }
+
+    /**
+     * @return the number of records larger than a slot, queued on the heap
+     */
+    public long getOversizedCount() {
+        return oversizedCount.get();
+    }
+
+    /**
+     * @return the number of records dropped because the ring buffer or the oversized queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of records the delegate failed to write
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
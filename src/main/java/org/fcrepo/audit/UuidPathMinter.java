@@ -21,7 +21,9 @@ import java.util.StringJoiner;
 import java.util.stream.IntStream;
 
 /**
- * PID minter that creates hierarchical IDs from a given UUID.
+ * PID minter that creates hierarchical IDs from a given UUID. The ID is the UUID below {@code count} levels
+ * of buckets, each named by the next {@code length} hex digits of the UUID, so that each bucket has up to
+ * 16<sup>length</sup> children.
  *
  * @author  awoods
  * @since 2016-07-03
@@ -31,6 +33,62 @@ public class UuidPathMinter {
     private static final int DEFAULT_LENGTH = 2;
     private static final int DEFAULT_COUNT = 4;
 
+    // hex digits in a UUID
+    private static final int MAX_DIGITS = 32;
+
+    private final int length;
+    private final int count;
+
+    /**
+     * Minter with four levels of 256 buckets.
+     */
+    public UuidPathMinter() {
+        this(DEFAULT_LENGTH, DEFAULT_COUNT);
+    }
+
+    /**
+     * @param length hex digits per bucket name
+     * @param count levels of buckets, 0 for none
+     */
+    public UuidPathMinter(final int length, final int count) {
+        if (length < 1 || count < 0 || length * count > MAX_DIGITS) {
+            throw new IllegalArgumentException("Invalid path layout: length " + length + ", count " + count);
+        }
+        this.length = length;
+        this.count = count;
+    }
+
+    /**
+     * @param layout a layout of the form {@code <length>x<count>}, such as {@code 2x4}
+     * @return a minter for the layout
+     */
+    public static UuidPathMinter parse(final String layout) {
+        final String[] parts = layout.trim().split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid path layout: " + layout);
+        }
+        return new UuidPathMinter(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    /**
+     * Size the layout for an expected number of records: the fewest levels of 256 buckets for which the
+     * expected records spread over the lowest level leave no more than maxChildren in a bucket.
+     *
+     * @param expectedRecords the number of records expected
+     * @param maxChildren the target maximum number of records per bucket
+     * @return a minter for the layout
+     */
+    public static UuidPathMinter forExpectedVolume(final long expectedRecords, final long maxChildren) {
+        final int width = 1 << (4 * DEFAULT_LENGTH);
+        int levels = 0;
+        double perBucket = expectedRecords;
+        while (perBucket > maxChildren && DEFAULT_LENGTH * (levels + 1) <= MAX_DIGITS) {
+            perBucket /= width;
+            levels++;
+        }
+        return new UuidPathMinter(DEFAULT_LENGTH, levels);
+    }
+
     /**
      * Mint a unique identifier given a UUID
      *
@@ -38,11 +96,42 @@ public class UuidPathMinter {
      * @return hierarchical identifier
      */
     public String get(final String uuid) {
-        final StringJoiner joiner = new StringJoiner("/", "", "/" + uuid);
+        final StringJoiner joiner = new StringJoiner("/", "", count == 0 ? uuid : "/" + uuid);
+        final String digits = uuid.replace("-", "");
 
-        IntStream.rangeClosed(0, DEFAULT_COUNT - 1)
-                .forEach(x -> joiner.add(uuid.substring(x * DEFAULT_LENGTH, (x + 1) * DEFAULT_LENGTH)));
+        IntStream.rangeClosed(0, count - 1)
+                .forEach(x -> joiner.add(digits.substring(x * length, (x + 1) * length)));
 
         return joiner.toString();
     }
+
+    /**
+     * @return hex digits per bucket name
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return levels of buckets
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof UuidPathMinter && ((UuidPathMinter) o).length == length &&
+                ((UuidPathMinter) o).count == count;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * length + count;
+    }
+
+    @Override
+    public String toString() {
+        return length + "x" + count;
+    }
 }
@@ -0,0 +1,310 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.bundle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.fcrepo.audit.AuditRecord;
+import org.fcrepo.audit.AuditRecordCodec;
+
+/**
+ * A compressed, immutable bundle of audit records. Records are sorted by UUID and stored in deflated blocks
+ * of up to {@value #BLOCK_SIZE} records. A header holds a Bloom filter over the UUIDs and the first UUID
+ * and location of each block, so finding a record reads the header, which can be cached, and one block.
+ *
+ * <pre>
+ * header   magic, version, record count, block count, Bloom filter words (5 ints)
+ * bloom    Bloom filter words (longs)
+ * index    per block: first UUID (2 longs), offset (long), compressed length (int)
+ * blocks   deflated, per record: encoded length (int), {@link AuditRecordCodec} encoding
+ * </pre>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditBundle {
+
+    /**
+     * Maximum number of records in a block.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    private static final int MAGIC = 0x46434142;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 20;
+
+    private static final int INDEX_ENTRY_LENGTH = 28;
+
+    private static final Comparator<UUID> ORDER = Comparator.comparingLong(UUID::getMostSignificantBits)
+            .thenComparingLong(UUID::getLeastSignificantBits);
+
+    /**
+     * Random access to the bytes of a stored bundle.
+     */
+    @FunctionalInterface
+    public interface Source {
+
+        /**
+         * Fill a buffer with the bytes starting at a position.
+         *
+         * @param position the position in the bundle
+         * @param buffer the buffer to fill
+         * @throws IOException if the bytes cannot be read
+         */
+        void readFully(long position, byte[] buffer) throws IOException;
+    }
+
+    private final Source source;
+
+    private final int recordCount;
+
+    private final BloomFilter bloom;
+
+    private final UUID[] firstKeys;
+
+    private final long[] offsets;
+
+    private final int[] lengths;
+
+    private AuditBundle(final Source source, final int recordCount, final BloomFilter bloom,
+            final UUID[] firstKeys, final long[] offsets, final int[] lengths) {
+        this.source = source;
+        this.recordCount = recordCount;
+        this.bloom = bloom;
+        this.firstKeys = firstKeys;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Write records into a bundle.
+     *
+     * @param records the records, with distinct UUIDs, in any order
+     * @return the bundle
+     */
+    public static byte[] write(final List<AuditRecord> records) {
+        final List<AuditRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(AuditRecord::getUuid, ORDER));
+        final int blockCount = (sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final BloomFilter bloom = BloomFilter.forRecords(sorted.size());
+        final List<byte[]> blocks = new ArrayList<>(blockCount);
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (int start = 0; start < sorted.size(); start += BLOCK_SIZE) {
+                final List<AuditRecord> block = sorted.subList(start, Math.min(start + BLOCK_SIZE, sorted.size()));
+                int length = 0;
+                for (final AuditRecord record : block) {
+                    bloom.add(record.getUuid());
+                    length += 4 + AuditRecordCodec.encodedLength(record);
+                }
+                final ByteBuffer raw = ByteBuffer.allocate(length);
+                for (final AuditRecord record : block) {
+                    final int encoded = AuditRecordCodec.encodedLength(record);
+                    raw.putInt(encoded);
+                    AuditRecordCodec.encode(record, raw, raw.position());
+                    raw.position(raw.position() + encoded);
+                }
+                blocks.add(deflate(deflater, raw.array()));
+            }
+        } finally {
+            deflater.end();
+        }
+
+        final int indexOffset = HEADER_LENGTH + bloom.words() * 8;
+        long offset = indexOffset + (long) blockCount * INDEX_ENTRY_LENGTH;
+        int total = (int) offset;
+        for (final byte[] block : blocks) {
+            total += block.length;
+        }
+        final ByteBuffer out = ByteBuffer.allocate(total);
+        out.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(blockCount).putInt(bloom.words());
+        bloom.write(out);
+        for (int i = 0; i < blockCount; i++) {
+            final UUID first = sorted.get(i * BLOCK_SIZE).getUuid();
+            out.putLong(first.getMostSignificantBits()).putLong(first.getLeastSignificantBits())
+                    .putLong(offset).putInt(blocks.get(i).length);
+            offset += blocks.get(i).length;
+        }
+        blocks.forEach(out::put);
+        return out.array();
+    }
+
+    /**
+     * Read the header of a bundle.
+     *
+     * @param source the bundle bytes
+     * @return the bundle
+     * @throws IOException if the bundle cannot be read or is not a bundle
+     */
+    public static AuditBundle open(final Source source) throws IOException {
+        final byte[] header = new byte[HEADER_LENGTH];
+        source.readFully(0, header);
+        final ByteBuffer buffer = ByteBuffer.wrap(header);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not an audit bundle");
+        }
+        final int recordCount = buffer.getInt();
+        final int blockCount = buffer.getInt();
+        final int words = buffer.getInt();
+        final byte[] rest = new byte[words * 8 + blockCount * INDEX_ENTRY_LENGTH];
+        source.readFully(HEADER_LENGTH, rest);
+        final ByteBuffer index = ByteBuffer.wrap(rest);
+        final BloomFilter bloom = BloomFilter.read(index, words);
+        final UUID[] firstKeys = new UUID[blockCount];
+        final long[] offsets = new long[blockCount];
+        final int[] lengths = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            firstKeys[i] = new UUID(index.getLong(), index.getLong());
+            offsets[i] = index.getLong();
+            lengths[i] = index.getInt();
+        }
+        return new AuditBundle(source, recordCount, bloom, firstKeys, offsets, lengths);
+    }
+
+    /**
+     * Open a bundle held in memory.
+     *
+     * @param bytes the bundle
+     * @return the bundle
+     * @throws IOException if the bytes are not a bundle
+     */
+    public static AuditBundle open(final byte[] bytes) throws IOException {
+        return open((position, buffer) -> {
+            if (position + buffer.length > bytes.length) {
+                throw new IOException("Truncated audit bundle");
+            }
+            System.arraycopy(bytes, (int) position, buffer, 0, buffer.length);
+        });
+    }
+
+    /**
+     * @param uuid a record UUID
+     * @return whether the bundle may hold the record; false means it certainly does not
+     */
+    public boolean mightContain(final UUID uuid) {
+        return bloom.mightContain(uuid);
+    }
+
+    /**
+     * @param uuid a record UUID
+     * @return the record, null if the bundle does not hold it
+     * @throws IOException if the bundle cannot be read
+     */
+    public AuditRecord find(final UUID uuid) throws IOException {
+        if (!bloom.mightContain(uuid)) {
+            return null;
+        }
+        int low = 0;
+        int high = firstKeys.length - 1;
+        int block = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (ORDER.compare(firstKeys[mid], uuid) <= 0) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (block < 0) {
+            return null;
+        }
+        for (final AuditRecord record : readBlock(block)) {
+            if (record.getUuid().equals(uuid)) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return all records in UUID order
+     * @throws IOException if the bundle cannot be read
+     */
+    public List<AuditRecord> readAll() throws IOException {
+        final List<AuditRecord> records = new ArrayList<>(recordCount);
+        for (int i = 0; i < firstKeys.length; i++) {
+            records.addAll(readBlock(i));
+        }
+        return records;
+    }
+
+    /**
+     * @return the number of records in the bundle
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    private List<AuditRecord> readBlock(final int block) throws IOException {
+        final byte[] compressed = new byte[lengths[block]];
+        source.readFully(offsets[block], compressed);
+        final ByteBuffer raw = ByteBuffer.wrap(inflate(compressed));
+        final List<AuditRecord> records = new ArrayList<>(BLOCK_SIZE);
+        while (raw.hasRemaining()) {
+            final int length = raw.getInt();
+            records.add(AuditRecordCodec.decode(raw, raw.position()));
+            raw.position(raw.position() + length);
+        }
+        return records;
+    }
+
+    private static byte[] deflate(final Deflater deflater, final byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        final byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(final byte[] compressed) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            final byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                final int inflated = inflater.inflate(chunk);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated audit bundle block");
+                }
+                out.write(chunk, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupt audit bundle block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
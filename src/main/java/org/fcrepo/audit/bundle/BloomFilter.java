@@ -0,0 +1,101 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.bundle;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Bloom filter over record UUIDs, with about ten bits and seven probes per record for a false positive
+ * rate near one percent. UUIDs are random, so their bits are mixed rather than hashed.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+final class BloomFilter {
+
+    private static final int BITS_PER_RECORD = 10;
+
+    private static final int PROBES = 7;
+
+    private final long[] bits;
+
+    private BloomFilter(final long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * @param records the number of records to be added
+     * @return an empty filter sized for the records
+     */
+    static BloomFilter forRecords(final int records) {
+        return new BloomFilter(new long[Math.max(1, (records * BITS_PER_RECORD + 63) / 64)]);
+    }
+
+    /**
+     * @param buffer a buffer positioned at a filter written by {@link #write}
+     * @param words the number of 64-bit words in the filter
+     * @return the filter
+     */
+    static BloomFilter read(final ByteBuffer buffer, final int words) {
+        final long[] bits = new long[words];
+        buffer.asLongBuffer().get(bits);
+        buffer.position(buffer.position() + words * 8);
+        return new BloomFilter(bits);
+    }
+
+    void add(final UUID uuid) {
+        final long h1 = mix(uuid.getLeastSignificantBits());
+        final long h2 = mix(uuid.getMostSignificantBits()) | 1;
+        final long size = bits.length * 64L;
+        for (int i = 0; i < PROBES; i++) {
+            final long bit = Long.remainderUnsigned(h1 + i * h2, size);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(final UUID uuid) {
+        final long h1 = mix(uuid.getLeastSignificantBits());
+        final long h2 = mix(uuid.getMostSignificantBits()) | 1;
+        final long size = bits.length * 64L;
+        for (int i = 0; i < PROBES; i++) {
+            final long bit = Long.remainderUnsigned(h1 + i * h2, size);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int words() {
+        return bits.length;
+    }
+
+    void write(final ByteBuffer buffer) {
+        buffer.asLongBuffer().put(bits);
+        buffer.position(buffer.position() + bits.length * 8);
+    }
+
+    // finalizer of SplitMix64
+    private static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,499 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap of non-negative ints in the style of Roaring bitmaps. Values are partitioned by their
+ * high 16 bits into chunks; a chunk holding up to {@value #ARRAY_MAX} values is a sorted array, a denser
+ * chunk a 65536-bit bitmap. Sequential record numbers therefore cost two bytes each in sparse bitmaps and
+ * at most one bit each in dense ones.
+ *
+ * <p>Bitmaps are not thread-safe. The set operations return new bitmaps and leave their operands
+ * unchanged.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+
+    private static final int WORDS = 1024;
+
+    private char[] keys;
+
+    // each chunk is a char[] of sorted values or a long[] of WORDS words
+    private Object[] chunks;
+
+    // the number of values in each chunk
+    private int[] cardinalities;
+
+    private int size;
+
+    /**
+     * Create an empty bitmap.
+     */
+    public AuditBitmap() {
+        this(4);
+    }
+
+    private AuditBitmap(final int capacity) {
+        keys = new char[capacity];
+        chunks = new Object[capacity];
+        cardinalities = new int[capacity];
+    }
+
+    /**
+     * @param values the values
+     * @return a bitmap holding the values
+     */
+    public static AuditBitmap of(final int... values) {
+        final AuditBitmap bitmap = new AuditBitmap();
+        for (final int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @param value a non-negative value to add
+     */
+    public void add(final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        final char key = (char) (value >>> 16);
+        final char low = (char) value;
+        // record numbers are mostly added in increasing order, so try the last chunk first
+        int i = size > 0 && keys[size - 1] == key ? size - 1 : indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, key, new char[4], 0);
+        }
+        if (chunks[i] instanceof long[]) {
+            final long[] words = (long[]) chunks[i];
+            final long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                words[low >>> 6] |= bit;
+                cardinalities[i]++;
+            }
+            return;
+        }
+        char[] values = (char[]) chunks[i];
+        final int cardinality = cardinalities[i];
+        final int at = cardinality > 0 && values[cardinality - 1] < low ? -cardinality - 1 :
+                Arrays.binarySearch(values, 0, cardinality, low);
+        if (at >= 0) {
+            return;
+        }
+        if (cardinality == ARRAY_MAX) {
+            final long[] words = toWords(values, cardinality);
+            words[low >>> 6] |= 1L << low;
+            chunks[i] = words;
+            cardinalities[i] = cardinality + 1;
+            return;
+        }
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            chunks[i] = values;
+        }
+        final int insert = -at - 1;
+        System.arraycopy(values, insert, values, insert + 1, cardinality - insert);
+        values[insert] = low;
+        cardinalities[i] = cardinality + 1;
+    }
+
+    /**
+     * @param value a value
+     * @return whether the bitmap holds the value
+     */
+    public boolean contains(final int value) {
+        if (value < 0) {
+            return false;
+        }
+        final int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        final char low = (char) value;
+        if (chunks[i] instanceof long[]) {
+            return (((long[]) chunks[i])[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunks[i], 0, cardinalities[i], low) >= 0;
+    }
+
+    /**
+     * @return the number of values
+     */
+    public long getCardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += cardinalities[i];
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return whether the bitmap holds no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param consumer receives the values in increasing order
+     */
+    public void forEach(final IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            final int high = keys[i] << 16;
+            if (chunks[i] instanceof long[]) {
+                final long[] words = (long[]) chunks[i];
+                for (int w = 0; w < WORDS; w++) {
+                    for (long word = words[w]; word != 0; word &= word - 1) {
+                        consumer.accept(high | w << 6 | Long.numberOfTrailingZeros(word));
+                    }
+                }
+            } else {
+                final char[] values = (char[]) chunks[i];
+                for (int v = 0; v < cardinalities[i]; v++) {
+                    consumer.accept(high | values[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the values in increasing order
+     */
+    public int[] toArray() {
+        final int[] values = new int[(int) getCardinality()];
+        final int[] next = { 0 };
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    /**
+     * @return a copy of this bitmap
+     */
+    public AuditBitmap copy() {
+        final AuditBitmap copy = new AuditBitmap(Math.max(4, size));
+        for (int i = 0; i < size; i++) {
+            copy.keys[i] = keys[i];
+            copy.chunks[i] = chunks[i] instanceof long[] ? ((long[]) chunks[i]).clone() :
+                    Arrays.copyOf((char[]) chunks[i], cardinalities[i]);
+            copy.cardinalities[i] = cardinalities[i];
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * @param a a bitmap
+     * @param b another bitmap
+     * @return the values in both
+     */
+    public static AuditBitmap and(final AuditBitmap a, final AuditBitmap b) {
+        final AuditBitmap result = new AuditBitmap(Math.max(4, Math.min(a.size, b.size)));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                if (a.chunks[i] instanceof char[] && b.chunks[j] instanceof char[]) {
+                    result.appendArray(a.keys[i], intersect((char[]) a.chunks[i], a.cardinalities[i],
+                            (char[]) b.chunks[j], b.cardinalities[j]));
+                } else {
+                    final long[] words = a.words(i);
+                    final long[] other = b.words(j);
+                    for (int w = 0; w < WORDS; w++) {
+                        words[w] &= other[w];
+                    }
+                    result.appendWords(a.keys[i], words);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param a a bitmap
+     * @param b another bitmap
+     * @return the values in either
+     */
+    public static AuditBitmap or(final AuditBitmap a, final AuditBitmap b) {
+        final AuditBitmap result = new AuditBitmap(Math.max(4, a.size + b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || i < a.size && a.keys[i] < b.keys[j]) {
+                result.appendCopy(a, i++);
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.appendCopy(b, j++);
+            } else {
+                if (a.chunks[i] instanceof char[] && b.chunks[j] instanceof char[] &&
+                        a.cardinalities[i] + b.cardinalities[j] <= ARRAY_MAX) {
+                    result.appendArray(a.keys[i], union((char[]) a.chunks[i], a.cardinalities[i],
+                            (char[]) b.chunks[j], b.cardinalities[j]));
+                } else {
+                    final long[] words = a.words(i);
+                    final long[] other = b.words(j);
+                    for (int w = 0; w < WORDS; w++) {
+                        words[w] |= other[w];
+                    }
+                    result.appendWords(a.keys[i], words);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param a a bitmap
+     * @param b another bitmap
+     * @return the values in a but not in b
+     */
+    public static AuditBitmap andNot(final AuditBitmap a, final AuditBitmap b) {
+        final AuditBitmap result = new AuditBitmap(Math.max(4, a.size));
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j == b.size || b.keys[j] != a.keys[i]) {
+                result.appendCopy(a, i);
+            } else if (a.chunks[i] instanceof char[] && b.chunks[j] instanceof char[]) {
+                result.appendArray(a.keys[i], difference((char[]) a.chunks[i], a.cardinalities[i],
+                        (char[]) b.chunks[j], b.cardinalities[j]));
+            } else {
+                final long[] words = a.words(i);
+                final long[] other = b.words(j);
+                for (int w = 0; w < WORDS; w++) {
+                    words[w] &= ~other[w];
+                }
+                result.appendWords(a.keys[i], words);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param output the output to write this bitmap to
+     * @throws IOException if the bitmap cannot be written
+     */
+    public void write(final DataOutput output) throws IOException {
+        output.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            output.writeChar(keys[i]);
+            output.writeInt(cardinalities[i]);
+            if (chunks[i] instanceof long[]) {
+                for (final long word : (long[]) chunks[i]) {
+                    output.writeLong(word);
+                }
+            } else {
+                final char[] values = (char[]) chunks[i];
+                for (int v = 0; v < cardinalities[i]; v++) {
+                    output.writeChar(values[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param input the input to read a bitmap written by {@link #write} from
+     * @return the bitmap
+     * @throws IOException if the bitmap cannot be read
+     */
+    public static AuditBitmap read(final DataInput input) throws IOException {
+        final int size = input.readInt();
+        final AuditBitmap bitmap = new AuditBitmap(Math.max(4, size));
+        for (int i = 0; i < size; i++) {
+            final char key = input.readChar();
+            final int cardinality = input.readInt();
+            if (cardinality > ARRAY_MAX) {
+                final long[] words = new long[WORDS];
+                for (int w = 0; w < WORDS; w++) {
+                    words[w] = input.readLong();
+                }
+                bitmap.appendChunk(key, words, cardinality);
+            } else {
+                final char[] values = new char[cardinality];
+                for (int v = 0; v < cardinality; v++) {
+                    values[v] = input.readChar();
+                }
+                bitmap.appendChunk(key, values, cardinality);
+            }
+        }
+        return bitmap;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof AuditBitmap)) {
+            return false;
+        }
+        return Arrays.equals(toArray(), ((AuditBitmap) o).toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return "AuditBitmap{cardinality=" + getCardinality() + ", chunks=" + size + "}";
+    }
+
+    private int indexOf(final char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertChunk(final int i, final char key, final Object chunk, final int cardinality) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            chunks = Arrays.copyOf(chunks, size * 2);
+            cardinalities = Arrays.copyOf(cardinalities, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(chunks, i, chunks, i + 1, size - i);
+        System.arraycopy(cardinalities, i, cardinalities, i + 1, size - i);
+        keys[i] = key;
+        chunks[i] = chunk;
+        cardinalities[i] = cardinality;
+        size++;
+    }
+
+    private void appendChunk(final char key, final Object chunk, final int cardinality) {
+        if (cardinality > 0) {
+            insertChunk(size, key, chunk, cardinality);
+        }
+    }
+
+    private void appendCopy(final AuditBitmap source, final int i) {
+        appendChunk(source.keys[i], source.chunks[i] instanceof long[] ? ((long[]) source.chunks[i]).clone() :
+                Arrays.copyOf((char[]) source.chunks[i], source.cardinalities[i]), source.cardinalities[i]);
+    }
+
+    private void appendArray(final char key, final char[] values) {
+        appendChunk(key, values, values.length);
+    }
+
+    /**
+     * Append a chunk of words, as an array if it has become sparse enough.
+     */
+    private void appendWords(final char key, final long[] words) {
+        int cardinality = 0;
+        for (final long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality > ARRAY_MAX) {
+            appendChunk(key, words, cardinality);
+            return;
+        }
+        final char[] values = new char[cardinality];
+        int v = 0;
+        for (int w = 0; w < WORDS; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                values[v++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+            }
+        }
+        appendChunk(key, values, cardinality);
+    }
+
+    /**
+     * @return a modifiable copy of chunk i as words
+     */
+    private long[] words(final int i) {
+        return chunks[i] instanceof long[] ? ((long[]) chunks[i]).clone() :
+                toWords((char[]) chunks[i], cardinalities[i]);
+    }
+
+    private static long[] toWords(final char[] values, final int cardinality) {
+        final long[] words = new long[WORDS];
+        for (int v = 0; v < cardinality; v++) {
+            words[values[v] >>> 6] |= 1L << values[v];
+        }
+        return words;
+    }
+
+    private static char[] intersect(final char[] a, final int aLength, final char[] b, final int bLength) {
+        final char[] result = new char[Math.min(aLength, bLength)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < aLength && j < bLength) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static char[] union(final char[] a, final int aLength, final char[] b, final int bLength) {
+        final char[] result = new char[aLength + bLength];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < aLength || j < bLength) {
+            if (j == bLength || i < aLength && a[i] < b[j]) {
+                result[k++] = a[i++];
+            } else if (i == aLength || a[i] > b[j]) {
+                result[k++] = b[j++];
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static char[] difference(final char[] a, final int aLength, final char[] b, final int bLength) {
+        final char[] result = new char[aLength];
+        int j = 0;
+        int k = 0;
+        for (int i = 0; i < aLength; i++) {
+            while (j < bLength && b[j] < a[i]) {
+                j++;
+            }
+            if (j == bLength || b[j] != a[i]) {
+                result[k++] = a[i];
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
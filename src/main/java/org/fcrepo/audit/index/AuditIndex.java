@@ -0,0 +1,401 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.index;
+
+import static java.time.ZoneOffset.UTC;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * Bitmap indexes over audit records by agent, audit event type and day (UTC). Records are numbered in the
+ * order they are added, and each distinct agent, type and day has an {@link AuditBitmap} of the numbers of
+ * its records. Searches combine the bitmaps with {@link AuditBitmap#and}, {@link AuditBitmap#or} and
+ * {@link AuditBitmap#andNot} and resolve the resulting numbers to event IDs.
+ *
+ * <p>Both the user and the user agent of a record are indexed as agents, since both are written as
+ * {@code premis:hasEventRelatedAgent}. Adding and reading are safe from any thread; the bitmaps handed out
+ * are copies.</p>
+ *
+ * <p>An index that does not yet hold every record of its audit container, such as a new one or one whose
+ * owner stopped without saving it, is caught up from the repository: {@link #startCatchUp} marks it
+ * incomplete, {@link #addIfAbsent} adds the records it is missing alongside the records still being
+ * added, and {@link #finishCatchUp} marks it complete. Whether it is complete is saved with it.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditIndex {
+
+    private static final int MAGIC = 0x46434149;
+
+    private static final int VERSION = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, AuditBitmap> agents = new HashMap<>();
+
+    private final Map<String, AuditBitmap> types = new HashMap<>();
+
+    private final NavigableMap<Long, AuditBitmap> days = new TreeMap<>();
+
+    private long[] mostSignificantBits = new long[1024];
+
+    private long[] leastSignificantBits = new long[1024];
+
+    private int size;
+
+    private volatile boolean complete = true;
+
+    // the UUIDs indexed, kept only while catching up
+    private Set<UUID> uuids;
+
+    /**
+     * Index a record.
+     *
+     * @param record the record
+     * @return the record's number
+     */
+    public int add(final AuditRecord record) {
+        lock.writeLock().lock();
+        try {
+            if (uuids != null) {
+                uuids.add(record.getUuid());
+            }
+            return addRecord(record);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index a record found while catching up, unless it is already indexed.
+     *
+     * @param record the record
+     * @return whether the record was added
+     */
+    public boolean addIfAbsent(final AuditRecord record) {
+        lock.writeLock().lock();
+        try {
+            if (uuids != null && !uuids.add(record.getUuid())) {
+                return false;
+            }
+            addRecord(record);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mark the index incomplete until {@link #finishCatchUp}, and keep the indexed UUIDs in memory until then
+     * so that {@link #addIfAbsent} can skip them.
+     */
+    public void startCatchUp() {
+        lock.writeLock().lock();
+        try {
+            uuids = new HashSet<>(Math.max(16, size * 2));
+            for (int number = 0; number < size; number++) {
+                uuids.add(new UUID(mostSignificantBits[number], leastSignificantBits[number]));
+            }
+            complete = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mark the index complete, once every record missing from it has been added.
+     */
+    public void finishCatchUp() {
+        lock.writeLock().lock();
+        try {
+            uuids = null;
+            complete = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the index holds every record of its audit container; searches of an incomplete index
+     *         can miss records
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private int addRecord(final AuditRecord record) {
+        final int number = size;
+        if (number == mostSignificantBits.length) {
+            mostSignificantBits = Arrays.copyOf(mostSignificantBits, number * 2);
+            leastSignificantBits = Arrays.copyOf(leastSignificantBits, number * 2);
+        }
+        mostSignificantBits[number] = record.getUuid().getMostSignificantBits();
+        leastSignificantBits[number] = record.getUuid().getLeastSignificantBits();
+        if (record.getUserID() != null) {
+            agents.computeIfAbsent(record.getUserID(), a -> new AuditBitmap()).add(number);
+        }
+        if (record.getUserAgent() != null) {
+            agents.computeIfAbsent(record.getUserAgent(), a -> new AuditBitmap()).add(number);
+        }
+        if (record.getAuditEventType() != null) {
+            types.computeIfAbsent(record.getAuditEventType(), t -> new AuditBitmap()).add(number);
+        }
+        days.computeIfAbsent(epochDay(record.getEpochMillis()), d -> new AuditBitmap()).add(number);
+        size = number + 1;
+        return number;
+    }
+
+    /**
+     * @param agent a user or user agent
+     * @return the records of the agent
+     */
+    public AuditBitmap agent(final String agent) {
+        return copy(agents, agent);
+    }
+
+    /**
+     * @param auditEventType an audit event type URI
+     * @return the records of the type
+     */
+    public AuditBitmap type(final String auditEventType) {
+        return copy(types, auditEventType);
+    }
+
+    /**
+     * @param from the first day
+     * @param to the last day
+     * @return the records of the days from the first to the last, inclusive
+     */
+    public AuditBitmap days(final LocalDate from, final LocalDate to) {
+        lock.readLock().lock();
+        try {
+            AuditBitmap result = new AuditBitmap();
+            for (final AuditBitmap day : days.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+                result = AuditBitmap.or(result, day);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the records matching all the given criteria.
+     *
+     * @param agent a user or user agent, null for any
+     * @param auditEventType an audit event type URI, null for any
+     * @param from the first day, null for no lower bound
+     * @param to the last day, null for no upper bound
+     * @return the records
+     */
+    public AuditBitmap search(final String agent, final String auditEventType, final LocalDate from,
+            final LocalDate to) {
+        lock.readLock().lock();
+        try {
+            AuditBitmap result = null;
+            // whether result is one of the index's own bitmaps, which must not be handed out
+            boolean shared = false;
+            if (agent != null) {
+                result = agents.getOrDefault(agent, new AuditBitmap());
+                shared = true;
+            }
+            if (auditEventType != null) {
+                final AuditBitmap type = types.getOrDefault(auditEventType, new AuditBitmap());
+                shared = result == null;
+                result = result == null ? type : AuditBitmap.and(result, type);
+            }
+            if (from != null || to != null) {
+                final long first = from == null ? Long.MIN_VALUE : from.toEpochDay();
+                final long last = to == null ? Long.MAX_VALUE : to.toEpochDay();
+                AuditBitmap range = new AuditBitmap();
+                for (final AuditBitmap day : days.subMap(first, true, last, true).values()) {
+                    range = AuditBitmap.or(range, day);
+                }
+                shared = false;
+                result = result == null ? range : AuditBitmap.and(result, range);
+            }
+            return result == null ? all() : shared ? result.copy() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return all records
+     */
+    public AuditBitmap all() {
+        lock.readLock().lock();
+        try {
+            final AuditBitmap all = new AuditBitmap();
+            for (int number = 0; number < size; number++) {
+                all.add(number);
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param records record numbers
+     * @return the event IDs of the records, in record order
+     */
+    public List<String> getEventIDs(final AuditBitmap records) {
+        final List<String> eventIDs = new ArrayList<>((int) records.getCardinality());
+        lock.readLock().lock();
+        try {
+            records.forEach(number -> {
+                if (number < size) {
+                    eventIDs.add("urn:uuid:" + new UUID(mostSignificantBits[number], leastSignificantBits[number]));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return eventIDs;
+    }
+
+    /**
+     * @return the number of records indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write the index to a file, replacing it atomically.
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path file) throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeBoolean(complete);
+            out.writeInt(size);
+            for (int number = 0; number < size; number++) {
+                out.writeLong(mostSignificantBits[number]);
+                out.writeLong(leastSignificantBits[number]);
+            }
+            writeBitmaps(out, agents);
+            writeBitmaps(out, types);
+            out.writeInt(days.size());
+            for (final Map.Entry<Long, AuditBitmap> day : days.entrySet()) {
+                out.writeLong(day.getKey());
+                day.getValue().write(out);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read an index written by {@link #save}.
+     *
+     * @param file the file
+     * @return the index
+     * @throws IOException if the file cannot be read or is not an index
+     */
+    public static AuditIndex load(final Path file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an audit index: " + file);
+            }
+            final AuditIndex index = new AuditIndex();
+            index.complete = in.readBoolean();
+            index.size = in.readInt();
+            index.mostSignificantBits = new long[Math.max(1024, index.size)];
+            index.leastSignificantBits = new long[Math.max(1024, index.size)];
+            for (int number = 0; number < index.size; number++) {
+                index.mostSignificantBits[number] = in.readLong();
+                index.leastSignificantBits[number] = in.readLong();
+            }
+            readBitmaps(in, index.agents);
+            readBitmaps(in, index.types);
+            final int dayCount = in.readInt();
+            for (int i = 0; i < dayCount; i++) {
+                index.days.put(in.readLong(), AuditBitmap.read(in));
+            }
+            return index;
+        }
+    }
+
+    private AuditBitmap copy(final Map<String, AuditBitmap> bitmaps, final String key) {
+        lock.readLock().lock();
+        try {
+            final AuditBitmap bitmap = bitmaps.get(key);
+            return bitmap == null ? new AuditBitmap() : bitmap.copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void writeBitmaps(final DataOutputStream out, final Map<String, AuditBitmap> bitmaps)
+            throws IOException {
+        out.writeInt(bitmaps.size());
+        for (final Map.Entry<String, AuditBitmap> entry : bitmaps.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().write(out);
+        }
+    }
+
+    private static void readBitmaps(final DataInputStream in, final Map<String, AuditBitmap> bitmaps)
+            throws IOException {
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            bitmaps.put(in.readUTF(), AuditBitmap.read(in));
+        }
+    }
+
+    private static long epochDay(final long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(UTC).toLocalDate().toEpochDay();
+    }
+}
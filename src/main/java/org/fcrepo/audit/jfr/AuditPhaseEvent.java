@@ -0,0 +1,56 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import org.fcrepo.audit.AuditTrace;
+
+/**
+ * Base of the JFR events of the audit phases, timed from construction to {@link #end(String, String)}.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@Category({ "Fedora", "Audit" })
+@StackTrace(false)
+abstract class AuditPhaseEvent extends Event implements AuditTrace {
+
+    @Label("Event ID")
+    String eventID;
+
+    @Label("Path")
+    String path;
+
+    AuditPhaseEvent() {
+        begin();
+    }
+
+    @Override
+    public void end(final String eventID, final String path) {
+        end();
+        if (shouldCommit()) {
+            this.eventID = eventID;
+            this.path = path;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.jfr;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.fcrepo.audit.AuditPhase;
+import org.fcrepo.audit.AuditTrace;
+import org.fcrepo.audit.AuditTracing;
+
+/**
+ * Traces audit phases as JFR events, one event type per phase. A phase whose event type is disabled in the
+ * running recordings, or with no recording running, is given {@link AuditTrace#NONE}.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class JfrAuditTracer implements AuditTracing.Tracer {
+
+    private final Map<AuditPhase, Phase> phases = new EnumMap<>(AuditPhase.class);
+
+    /**
+     * Register the event type of each phase.
+     */
+    public JfrAuditTracer() {
+        phases.put(AuditPhase.CLASSIFICATION, new Phase(ClassificationEvent.class, ClassificationEvent::new));
+        phases.put(AuditPhase.PATH_MINTING, new Phase(PathMintingEvent.class, PathMintingEvent::new));
+        phases.put(AuditPhase.FIND_OR_CREATE, new Phase(FindOrCreateEvent.class, FindOrCreateEvent::new));
+        phases.put(AuditPhase.PROPERTY_WRITE, new Phase(PropertyWriteEvent.class, PropertyWriteEvent::new));
+        phases.put(AuditPhase.COMMIT, new Phase(CommitEvent.class, CommitEvent::new));
+        phases.put(AuditPhase.LOG_WRITE, new Phase(LogWriteEvent.class, LogWriteEvent::new));
+    }
+
+    @Override
+    public AuditTrace start(final AuditPhase phase) {
+        final Phase p = phases.get(phase);
+        return p.type.isEnabled() ? p.factory.get() : AuditTrace.NONE;
+    }
+
+    private static class Phase {
+
+        private final EventType type;
+
+        private final Supplier<AuditPhaseEvent> factory;
+
+        Phase(final Class<? extends AuditPhaseEvent> eventClass, final Supplier<AuditPhaseEvent> factory) {
+            this.type = EventType.getEventType(eventClass);
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Building the audit record and its audit event type from a Fedora event.
+     */
+    @Name("org.fcrepo.audit.Classification")
+    @Label("Audit Classification")
+    @Description("Building the audit record and its audit event type from a Fedora event")
+    static class ClassificationEvent extends AuditPhaseEvent {
+    }
+
+    /**
+     * Minting the path of the audit node.
+     */
+    @Name("org.fcrepo.audit.PathMinting")
+    @Label("Audit Path Minting")
+    @Description("Minting the path of the audit node")
+    static class PathMintingEvent extends AuditPhaseEvent {
+    }
+
+    /**
+     * Finding or creating the audit node.
+     */
+    @Name("org.fcrepo.audit.FindOrCreate")
+    @Label("Audit Find Or Create")
+    @Description("Finding or creating the audit node")
+    static class FindOrCreateEvent extends AuditPhaseEvent {
+    }
+
+    /**
+     * Writing the properties of the audit node.
+     */
+    @Name("org.fcrepo.audit.PropertyWrite")
+    @Label("Audit Property Write")
+    @Description("Writing the properties of the audit node")
+    static class PropertyWriteEvent extends AuditPhaseEvent {
+    }
+
+    /**
+     * Committing the audit node.
+     */
+    @Name("org.fcrepo.audit.Commit")
+    @Label("Audit Commit")
+    @Description("Committing the audit node")
+    static class CommitEvent extends AuditPhaseEvent {
+    }
+
+    /**
+     * Writing the audit record to a log.
+     */
+    @Name("org.fcrepo.audit.LogWrite")
+    @Label("Audit Log Write")
+    @Description("Writing the audit record to a log")
+    static class LogWriteEvent extends AuditPhaseEvent {
+    }
+}
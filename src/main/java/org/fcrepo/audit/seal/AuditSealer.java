@@ -0,0 +1,236 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.fcrepo.audit.AuditRecord;
+import org.fcrepo.audit.AuditSink;
+
+import org.slf4j.Logger;
+
+/**
+ * Audit sink that seals the records written to it. Records are queued and hashed on a background thread
+ * into batches of up to {@code batchSize} records, or fewer once the oldest queued record has waited
+ * {@code maxDelay} milliseconds. Each batch gets a {@link Seal} chained to the previous one and persisted
+ * in a {@link SealStore}. Records should be written to the sealer after they have been persisted.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditSealer implements AuditSink {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = getLogger(AuditSealer.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private static final long DEFAULT_MAX_DELAY = 1000;
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 100000;
+
+    private SealStore store;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private long maxDelay = DEFAULT_MAX_DELAY;
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private BlockingQueue<AuditRecord> queue;
+
+    private Thread sealer;
+
+    private volatile boolean running;
+
+    // accessed by the sealer thread only
+    private Seal last;
+
+    private final AtomicLong sealed = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param store where seals are persisted
+     */
+    public void setStore(final SealStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @param batchSize the maximum number of records per seal
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param maxDelay milliseconds a record may wait before a smaller batch is sealed
+     */
+    public void setMaxDelay(final long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * @param queueCapacity the maximum number of records waiting to be sealed
+     */
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Continue the chain from the last persisted seal and start the background sealer.
+     */
+    @PostConstruct
+    public void start() {
+        LOGGER.info("Initializing: {}, batches of {}", this.getClass().getCanonicalName(), batchSize);
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        last = store.last();
+        running = true;
+        sealer = new Thread(this::seal, "fcrepo-audit-sealer");
+        sealer.setDaemon(true);
+        sealer.start();
+    }
+
+    /**
+     * Queue a record for sealing. Records are dropped, and counted, when the queue is full; they remain
+     * in the audit log but are not covered by a seal.
+     *
+     * @param record a persisted record
+     */
+    @Override
+    public void write(final AuditRecord record) {
+        if (!queue.offer(record) && dropped.getAndIncrement() % queueCapacity == 0) {
+            LOGGER.warn("Audit seal queue is full, {} records left unsealed", dropped.get());
+        }
+    }
+
+    private void seal() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    fill(batch);
+                }
+                if (!batch.isEmpty()) {
+                    sealBatch(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException e) {
+                LOGGER.error("Error sealing {} audit records, retrying", batch.size(), e);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(maxDelay);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void fill(final List<AuditRecord> batch) throws InterruptedException {
+        final AuditRecord first = queue.poll(maxDelay, MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        final long deadline = System.nanoTime() + MILLISECONDS.toNanos(maxDelay);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            final long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            final AuditRecord next = queue.poll(remaining, NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void sealBatch(final List<AuditRecord> batch) {
+        final List<String> eventIDs = new ArrayList<>(batch.size());
+        for (final AuditRecord record : batch) {
+            eventIDs.add(record.getEventID());
+        }
+        final long sequence = last == null ? 1 : last.getSequence() + 1;
+        final byte[] previous = last == null ? null : last.getHash();
+        final byte[] root = MerkleTree.root(batch);
+        final Seal seal = new Seal(sequence, eventIDs, root, previous,
+                MerkleTree.chain(previous, sequence, batch.size(), root));
+        store.append(seal);
+        last = seal;
+        sealed.addAndGet(batch.size());
+        LOGGER.debug("Sealed {}", seal);
+    }
+
+    /**
+     * Seal the remaining queued records and stop the background sealer.
+     *
+     * @throws InterruptedException if interrupted while waiting for the queue to drain
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        LOGGER.debug("Tearing down: {}", this.getClass().getCanonicalName());
+        running = false;
+        if (sealer != null) {
+            sealer.join();
+        }
+    }
+
+    /**
+     * @return the number of records waiting to be sealed
+     */
+    public long getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of records covered by seals written since starting
+     */
+    public long getSealedCount() {
+        return sealed.get();
+    }
+
+    /**
+     * @return the number of records left unsealed because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
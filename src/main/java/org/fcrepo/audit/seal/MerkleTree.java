@@ -0,0 +1,194 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * SHA-256 hashing of audit records into Merkle trees and seal chains. Leaves and inner nodes are hashed
+ * with distinct prefixes so that an inner node cannot be passed off as a record.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class MerkleTree {
+
+    /**
+     * Length of a hash in bytes.
+     */
+    public static final int HASH_LENGTH = 32;
+
+    private static final byte LEAF = 0;
+
+    private static final byte NODE = 1;
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private MerkleTree() {
+    }
+
+    /**
+     * The fields of a record that are hashed, as persisted by the auditors: the event ID, the event date
+     * to the second, the audit event type, the user, the user agent, the base URL and the path. Each field is
+     * written as its UTF-8 length followed by its bytes, so a value that contains a separator cannot move a
+     * boundary between fields; missing values are written as empty.
+     *
+     * @param record the record
+     * @return the canonical bytes of the record
+     */
+    public static byte[] canonical(final AuditRecord record) {
+        final byte[][] fields = new byte[][] { bytes(record.getEventID()), bytes(record.getEventDate()),
+                bytes(record.getAuditEventType()), bytes(record.getUserID()), bytes(record.getUserAgent()),
+                bytes(record.getBaseURL()), bytes(record.getPath()) };
+        int length = 0;
+        for (final byte[] field : fields) {
+            length += Integer.BYTES + field.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (final byte[] field : fields) {
+            buffer.putInt(field.length).put(field);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param record the record
+     * @return the leaf hash of the record
+     */
+    public static byte[] leaf(final AuditRecord record) {
+        final MessageDigest digest = DIGEST.get();
+        digest.update(LEAF);
+        return digest.digest(canonical(record));
+    }
+
+    /**
+     * @param left the left child hash
+     * @param right the right child hash
+     * @return the hash of the inner node
+     */
+    public static byte[] node(final byte[] left, final byte[] right) {
+        final MessageDigest digest = DIGEST.get();
+        digest.update(NODE);
+        digest.update(left);
+        return digest.digest(right);
+    }
+
+    /**
+     * Compute the root of the tree over the given records. A node without a sibling is carried up to the
+     * next level unchanged.
+     *
+     * @param records the records in batch order, not empty
+     * @return the root hash
+     */
+    public static byte[] root(final List<AuditRecord> records) {
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("Cannot compute the Merkle root of no records");
+        }
+        byte[][] level = new byte[records.size()][];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = leaf(records.get(i));
+        }
+        while (level.length > 1) {
+            final byte[][] next = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = 2 * i + 1 < level.length ? node(level[2 * i], level[2 * i + 1]) : level[2 * i];
+            }
+            level = next;
+        }
+        return level[0];
+    }
+
+    /**
+     * @param previous the hash of the previous seal, or null for the first seal
+     * @param sequence the sequence number of the seal
+     * @param recordCount the number of records sealed
+     * @param root the Merkle root of the records
+     * @return the hash of the seal
+     */
+    public static byte[] chain(final byte[] previous, final long sequence, final int recordCount,
+            final byte[] root) {
+        final MessageDigest digest = DIGEST.get();
+        digest.update(previous == null ? new byte[HASH_LENGTH] : previous);
+        digest.update(ByteBuffer.allocate(12).putLong(sequence).putInt(recordCount).array());
+        return digest.digest(root);
+    }
+
+    /**
+     * @param a a hash
+     * @param b another hash
+     * @return whether the hashes are equal, compared in constant time
+     */
+    public static boolean equal(final byte[] a, final byte[] b) {
+        return a != null && b != null && MessageDigest.isEqual(a, b);
+    }
+
+    /**
+     * @param hash a hash
+     * @return the hash in lowercase hexadecimal
+     */
+    public static String toHex(final byte[] hash) {
+        final char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[2 * i] = Character.forDigit((hash[i] >> 4) & 0xf, 16);
+            hex[2 * i + 1] = Character.forDigit(hash[i] & 0xf, 16);
+        }
+        return new String(hex);
+    }
+
+    /**
+     * @param hex a hash in hexadecimal
+     * @return the hash
+     */
+    public static byte[] fromHex(final String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Invalid hash: " + hex);
+        }
+        final byte[] hash = new byte[hex.length() / 2];
+        for (int i = 0; i < hash.length; i++) {
+            final int high = Character.digit(hex.charAt(2 * i), 16);
+            final int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid hash: " + hex);
+            }
+            hash[i] = (byte) (high << 4 | low);
+        }
+        return hash;
+    }
+
+    static byte[] copy(final byte[] hash) {
+        return hash == null ? null : Arrays.copyOf(hash, hash.length);
+    }
+
+    private static byte[] bytes(final String value) {
+        return value == null ? new byte[0] : value.getBytes(UTF_8);
+    }
+}
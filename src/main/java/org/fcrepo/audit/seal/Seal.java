@@ -0,0 +1,98 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A seal over a batch of audit records: the Merkle root of the records, chained to the previous seal.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class Seal {
+
+    private final long sequence;
+
+    private final List<String> eventIDs;
+
+    private final byte[] merkleRoot;
+
+    private final byte[] previousHash;
+
+    private final byte[] hash;
+
+    /**
+     * @param sequence the sequence number, starting at 1
+     * @param eventIDs the IDs of the sealed records in batch order
+     * @param merkleRoot the Merkle root of the sealed records
+     * @param previousHash the hash of the previous seal, null for the first seal
+     * @param hash the hash of this seal
+     */
+    public Seal(final long sequence, final List<String> eventIDs, final byte[] merkleRoot,
+            final byte[] previousHash, final byte[] hash) {
+        this.sequence = sequence;
+        this.eventIDs = unmodifiableList(new ArrayList<>(eventIDs));
+        this.merkleRoot = MerkleTree.copy(merkleRoot);
+        this.previousHash = MerkleTree.copy(previousHash);
+        this.hash = MerkleTree.copy(hash);
+    }
+
+    /**
+     * @return the sequence number, starting at 1
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the IDs of the sealed records in batch order
+     */
+    public List<String> getEventIDs() {
+        return eventIDs;
+    }
+
+    /**
+     * @return the Merkle root of the sealed records
+     */
+    public byte[] getMerkleRoot() {
+        return MerkleTree.copy(merkleRoot);
+    }
+
+    /**
+     * @return the hash of the previous seal, null for the first seal
+     */
+    public byte[] getPreviousHash() {
+        return MerkleTree.copy(previousHash);
+    }
+
+    /**
+     * @return the hash of this seal
+     */
+    public byte[] getHash() {
+        return MerkleTree.copy(hash);
+    }
+
+    @Override
+    public String toString() {
+        return "Seal " + sequence + " (" + eventIDs.size() + " records): " + MerkleTree.toHex(hash);
+    }
+}
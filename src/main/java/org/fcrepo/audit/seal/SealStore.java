@@ -0,0 +1,56 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import java.util.List;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * Persistent storage of seals and lookup of the records they cover.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public interface SealStore {
+
+    /**
+     * Persist a seal.
+     *
+     * @param seal the seal following the last one
+     */
+    void append(Seal seal);
+
+    /**
+     * @return the last persisted seal, null if there is none
+     */
+    Seal last();
+
+    /**
+     * @return all persisted seals in sequence order
+     */
+    List<Seal> readAll();
+
+    /**
+     * Look up the records covered by a seal. May be called from several threads at once.
+     *
+     * @param seal a seal
+     * @return the records in the order of {@link Seal#getEventIDs()}, with null for records not found
+     */
+    List<AuditRecord> readRecords(Seal seal);
+}
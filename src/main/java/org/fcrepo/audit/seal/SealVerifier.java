@@ -0,0 +1,193 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * Verifies sealed audit records. The seal chain is checked sequentially, which is cheap; the records of
+ * each seal are read and their Merkle roots recomputed in parallel.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SealVerifier {
+
+    private final SealStore store;
+
+    private final int parallelism;
+
+    /**
+     * @param store the seals and records to verify
+     * @param parallelism the number of threads verifying Merkle roots
+     */
+    public SealVerifier(final SealStore store, final int parallelism) {
+        this.store = store;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Verify all persisted seals.
+     *
+     * @return the result
+     */
+    public Result verify() {
+        return verify(store.readAll());
+    }
+
+    /**
+     * @param seals seals in sequence order
+     * @return the result
+     */
+    public Result verify(final List<Seal> seals) {
+        final List<Long> brokenChain = new ArrayList<>();
+        Seal previous = null;
+        for (final Seal seal : seals) {
+            final byte[] previousHash = previous == null ? null : previous.getHash();
+            final long sequence = previous == null ? 1 : previous.getSequence() + 1;
+            if (seal.getSequence() != sequence ||
+                    !(previousHash == null ? seal.getPreviousHash() == null :
+                        MerkleTree.equal(previousHash, seal.getPreviousHash())) ||
+                    !MerkleTree.equal(seal.getHash(), MerkleTree.chain(previousHash, seal.getSequence(),
+                            seal.getEventIDs().size(), seal.getMerkleRoot()))) {
+                brokenChain.add(seal.getSequence());
+            }
+            previous = seal;
+        }
+
+        final AtomicLong records = new AtomicLong();
+        final AtomicLong missing = new AtomicLong();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final List<Long> tampered = pool.submit(() -> seals.parallelStream()
+                    .filter(seal -> !verifyRecords(seal, records, missing))
+                    .map(Seal::getSequence)
+                    .sorted()
+                    .collect(toList())).get();
+            return new Result(seals.size(), records.get(), missing.get(), brokenChain, tampered);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying audit seals", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Error verifying audit seals", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private boolean verifyRecords(final Seal seal, final AtomicLong records, final AtomicLong missing) {
+        final List<AuditRecord> sealed = store.readRecords(seal);
+        records.addAndGet(seal.getEventIDs().size());
+        if (sealed.size() != seal.getEventIDs().size()) {
+            return false;
+        }
+        boolean complete = true;
+        for (int i = 0; i < sealed.size(); i++) {
+            final AuditRecord record = sealed.get(i);
+            if (record == null) {
+                missing.incrementAndGet();
+                complete = false;
+            } else if (!record.getEventID().equals(seal.getEventIDs().get(i))) {
+                complete = false;
+            }
+        }
+        return complete && MerkleTree.equal(seal.getMerkleRoot(), MerkleTree.root(sealed));
+    }
+
+    /**
+     * The outcome of a verification.
+     */
+    public static final class Result {
+
+        private final long sealCount;
+
+        private final long recordCount;
+
+        private final long missingCount;
+
+        private final List<Long> brokenChain;
+
+        private final List<Long> tamperedSeals;
+
+        private Result(final long sealCount, final long recordCount, final long missingCount,
+                final List<Long> brokenChain, final List<Long> tamperedSeals) {
+            this.sealCount = sealCount;
+            this.recordCount = recordCount;
+            this.missingCount = missingCount;
+            this.brokenChain = unmodifiableList(brokenChain);
+            this.tamperedSeals = unmodifiableList(tamperedSeals);
+        }
+
+        /**
+         * @return whether every seal and sealed record is intact
+         */
+        public boolean isValid() {
+            return brokenChain.isEmpty() && tamperedSeals.isEmpty();
+        }
+
+        /**
+         * @return the number of seals verified
+         */
+        public long getSealCount() {
+            return sealCount;
+        }
+
+        /**
+         * @return the number of sealed records verified
+         */
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * @return the number of sealed records that could not be found
+         */
+        public long getMissingCount() {
+            return missingCount;
+        }
+
+        /**
+         * @return sequence numbers of seals that are altered, missing their predecessor or out of order
+         */
+        public List<Long> getBrokenChain() {
+            return brokenChain;
+        }
+
+        /**
+         * @return sequence numbers of seals whose records are altered, missing or reordered
+         */
+        public List<Long> getTamperedSeals() {
+            return tamperedSeals;
+        }
+
+        @Override
+        public String toString() {
+            return (isValid() ? "Valid: " : "Invalid: ") + sealCount + " seals, " + recordCount + " records, " +
+                    missingCount + " missing, broken chain at " + brokenChain + ", tampered seals " + tamperedSeals;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Group key of an aggregate audit query result. Dimensions the query did not group by are null.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditGroup {
+
+    private final String agent;
+
+    private final String auditEventType;
+
+    private final LocalDate day;
+
+    /**
+     * @param agent the user ID, or null
+     * @param auditEventType the audit event type URI, or null
+     * @param day the UTC day, or null
+     */
+    public AuditGroup(final String agent, final String auditEventType, final LocalDate day) {
+        this.agent = agent;
+        this.auditEventType = auditEventType;
+        this.day = day;
+    }
+
+    /**
+     * @return the user ID, or null if not grouped by agent
+     */
+    public String getAgent() {
+        return agent;
+    }
+
+    /**
+     * @return the audit event type URI, or null if not grouped by type
+     */
+    public String getAuditEventType() {
+        return auditEventType;
+    }
+
+    /**
+     * @return the UTC day, or null if not grouped by day
+     */
+    public LocalDate getDay() {
+        return day;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof AuditGroup)) {
+            return false;
+        }
+        final AuditGroup other = (AuditGroup) o;
+        return Objects.equals(agent, other.agent) && Objects.equals(auditEventType, other.auditEventType) &&
+                Objects.equals(day, other.day);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(agent, auditEventType, day);
+    }
+
+    @Override
+    public String toString() {
+        return agent + " " + auditEventType + " " + day;
+    }
+}
@@ -0,0 +1,492 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.fcrepo.audit.AuditRecord;
+
+import org.slf4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Embedded log-structured store of audit records, kept sorted by event time and event ID.
+ *
+ * <p>Appends go to a write-ahead log and an in-memory sorted memtable. A full memtable is frozen and
+ * written in the background to an immutable {@link Segment} file, after which its log is deleted. When
+ * enough segments have accumulated the smallest are merged into one by a background compaction. A merged
+ * segment records the generations it replaces, so that inputs left behind by a crash before they were
+ * deleted are removed when the store is next opened rather than counted twice. Readers see a consistent
+ * snapshot of the memtables and segments without locking.</p>
+ *
+ * <p>Aggregate queries run over the {@link ColumnarSegment} copy of each segment in parallel, plus the
+ * records still in memory.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditLogStore implements Closeable {
+
+    private static final Logger LOGGER = getLogger(AuditLogStore.class);
+
+    public static final int DEFAULT_MEMTABLE_LIMIT = 50000;
+
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 8;
+
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final String WAL_PREFIX = "wal-";
+
+    private static final String WAL_SUFFIX = ".log";
+
+    private final Path directory;
+
+    private final int memtableLimit;
+
+    private final int compactionThreshold;
+
+    private final boolean sync;
+
+    private final ExecutorService background = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("fcrepo-audit-store-%d").setDaemon(true).build());
+
+    // guarded by this
+    private long nextGeneration;
+
+    private long walGeneration;
+
+    private WriteAheadLog wal;
+
+    private int memtableCount;
+
+    private volatile State state;
+
+    /**
+     * Open a store with default settings.
+     *
+     * @param directory the directory holding the store files, created if necessary
+     * @throws IOException if the store cannot be opened
+     */
+    public AuditLogStore(final Path directory) throws IOException {
+        this(directory, DEFAULT_MEMTABLE_LIMIT, DEFAULT_COMPACTION_THRESHOLD, false);
+    }
+
+    /**
+     * Open a store, recovering records from any write-ahead logs left by an unclean shutdown.
+     *
+     * @param directory the directory holding the store files, created if necessary
+     * @param memtableLimit the number of records held in memory before they are written to a segment
+     * @param compactionThreshold the number of segments that triggers a compaction
+     * @param sync whether every append is forced to disk before returning
+     * @throws IOException if the store cannot be opened
+     */
+    public AuditLogStore(final Path directory, final int memtableLimit, final int compactionThreshold,
+            final boolean sync) throws IOException {
+        this.directory = directory;
+        this.memtableLimit = memtableLimit;
+        this.compactionThreshold = compactionThreshold;
+        this.sync = sync;
+        Files.createDirectories(directory);
+
+        final List<Segment> segments = new ArrayList<>();
+        final NavigableMap<Long, Path> logs = new TreeMap<>();
+        final List<Path> columnFiles = new ArrayList<>();
+        long maxGeneration = 0;
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.endsWith(".col")) {
+                    columnFiles.add(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    final long generation = generation(name, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+                    segments.add(Segment.open(file, generation));
+                    maxGeneration = Math.max(maxGeneration, generation);
+                } else if (name.startsWith(WAL_PREFIX) && name.endsWith(WAL_SUFFIX)) {
+                    final long generation = generation(name, WAL_PREFIX, WAL_SUFFIX);
+                    logs.put(generation, file);
+                    maxGeneration = Math.max(maxGeneration, generation);
+                }
+            }
+        }
+        // remove segments whose records a compacted segment already holds
+        final Set<Long> replaced = new HashSet<>();
+        for (final Segment segment : segments) {
+            for (final long generation : segment.getReplaced()) {
+                replaced.add(generation);
+            }
+        }
+        for (final Iterator<Segment> i = segments.iterator(); i.hasNext();) {
+            final Segment segment = i.next();
+            if (replaced.contains(segment.getGeneration())) {
+                LOGGER.info("Removing audit segment {} left behind by a compaction", segment.getFile());
+                i.remove();
+                Files.delete(segment.getFile());
+                Files.deleteIfExists(Segment.columnsFile(segment.getFile()));
+            }
+        }
+        // remove columnar files orphaned by a crash before their segment was complete
+        for (final Path columnFile : columnFiles) {
+            if (segments.stream().noneMatch(segment -> Segment.columnsFile(segment.getFile()).equals(columnFile))) {
+                Files.deleteIfExists(columnFile);
+            }
+        }
+        for (final Long generation : logs.keySet()) {
+            final Path segmentFile = segmentFile(generation);
+            if (!Files.exists(segmentFile) && !replaced.contains(generation)) {
+                final NavigableMap<RecordKey, AuditRecord> recovered = new TreeMap<>();
+                WriteAheadLog.replay(logs.get(generation), r -> recovered.put(RecordKey.of(r), r));
+                if (!recovered.isEmpty()) {
+                    LOGGER.info("Recovered {} audit records from {}", recovered.size(), logs.get(generation));
+                    segments.add(Segment.write(segmentFile, generation, recovered.values().iterator()));
+                }
+            }
+            Files.delete(logs.get(generation));
+        }
+        nextGeneration = maxGeneration + 1;
+        walGeneration = nextGeneration++;
+        wal = new WriteAheadLog(walFile(walGeneration), sync);
+        state = new State(new ConcurrentSkipListMap<>(), Collections.emptyList(), segments);
+        LOGGER.info("Opened audit store {} with {} segments", directory, segments.size());
+    }
+
+    private static long generation(final String name, final String prefix, final String suffix) {
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private Path segmentFile(final long generation) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+    }
+
+    private Path walFile(final long generation) {
+        return directory.resolve(String.format("%s%016d%s", WAL_PREFIX, generation, WAL_SUFFIX));
+    }
+
+    /**
+     * Append a record.
+     *
+     * @param record the record to append
+     * @throws IOException if the write-ahead log cannot be written
+     */
+    public synchronized void append(final AuditRecord record) throws IOException {
+        wal.append(record);
+        state.memtable.put(RecordKey.of(record), record);
+        if (++memtableCount >= memtableLimit) {
+            rotate();
+        }
+    }
+
+    /**
+     * Freeze the current memtable and schedule writing it to a segment. Must hold the lock.
+     */
+    private void rotate() throws IOException {
+        final Frozen frozen = new Frozen(walGeneration, state.memtable, wal);
+        walGeneration = nextGeneration++;
+        wal = new WriteAheadLog(walFile(walGeneration), sync);
+        memtableCount = 0;
+        state = new State(new ConcurrentSkipListMap<>(), plus(state.frozen, frozen), state.segments);
+        background.execute(() -> flush(frozen));
+    }
+
+    private void flush(final Frozen frozen) {
+        try {
+            frozen.wal.close();
+            final Segment segment = Segment.write(segmentFile(frozen.generation), frozen.generation,
+                    frozen.memtable.values().iterator());
+            synchronized (this) {
+                state = new State(state.memtable, minus(state.frozen, Collections.singletonList(frozen)),
+                        plus(state.segments, segment));
+            }
+            Files.delete(frozen.wal.getFile());
+            LOGGER.debug("Flushed {} audit records to {}", segment.getRecordCount(), segment.getFile());
+            compactIfNeeded();
+        } catch (final IOException e) {
+            // the records stay readable in memory and recoverable from the log
+            LOGGER.error("Error writing audit segment {}", frozen.generation, e);
+        }
+    }
+
+    private void compactIfNeeded() throws IOException {
+        final List<Segment> candidates = new ArrayList<>(state.segments);
+        if (candidates.size() < compactionThreshold) {
+            return;
+        }
+        candidates.sort(Comparator.comparingLong(Segment::getSize));
+        final List<Segment> selected = new ArrayList<>();
+        long size = 0;
+        for (final Segment segment : candidates) {
+            if (selected.size() == compactionThreshold || size + segment.getSize() > MAX_SEGMENT_BYTES) {
+                break;
+            }
+            selected.add(segment);
+            size += segment.getSize();
+        }
+        if (selected.size() < 2) {
+            return;
+        }
+        final long generation;
+        synchronized (this) {
+            generation = nextGeneration++;
+        }
+        final List<Iterator<AuditRecord>> sources = new ArrayList<>();
+        final RecordKey first = RecordKey.first(Long.MIN_VALUE);
+        selected.forEach(s -> sources.add(s.iterator(first)));
+        final long[] replaced = selected.stream().mapToLong(Segment::getGeneration).toArray();
+        final Segment merged = Segment.write(segmentFile(generation), generation, replaced,
+                new MergingIterator(sources));
+        synchronized (this) {
+            state = new State(state.memtable, state.frozen, plus(minus(state.segments, selected), merged));
+        }
+        for (final Segment segment : selected) {
+            Files.delete(segment.getFile());
+            Files.deleteIfExists(Segment.columnsFile(segment.getFile()));
+        }
+        Segment.syncDirectory(directory);
+        LOGGER.debug("Compacted {} audit segments into {}", selected.size(), merged.getFile());
+    }
+
+    /**
+     * Write the current memtable to a segment and wait for it, and any compaction it triggers, to finish.
+     *
+     * @throws IOException if interrupted or the background work failed
+     */
+    public void flush() throws IOException {
+        synchronized (this) {
+            if (memtableCount > 0) {
+                rotate();
+            }
+        }
+        awaitBackground(() -> { });
+    }
+
+    /**
+     * Merge the segments now if there are at least as many as the compaction threshold.
+     *
+     * @throws IOException if the segments cannot be merged
+     */
+    public void compact() throws IOException {
+        awaitBackground(() -> {
+            try {
+                compactIfNeeded();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void awaitBackground(final Runnable task) throws IOException {
+        try {
+            background.submit(task).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (final ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Visit the records in a time range in key order.
+     *
+     * @param fromMillis start of the range, inclusive
+     * @param toMillis end of the range, exclusive
+     * @param consumer receives the records
+     */
+    public void scan(final long fromMillis, final long toMillis, final Consumer<AuditRecord> consumer) {
+        final State snapshot = state;
+        final RecordKey from = RecordKey.first(fromMillis);
+        final RecordKey to = RecordKey.first(toMillis);
+        final List<Iterator<AuditRecord>> sources = new ArrayList<>();
+        sources.add(snapshot.memtable.subMap(from, to).values().iterator());
+        for (final Frozen frozen : snapshot.frozen) {
+            sources.add(frozen.memtable.subMap(from, true, to, false).values().iterator());
+        }
+        for (final Segment segment : snapshot.segments) {
+            if (segment.overlaps(fromMillis, toMillis)) {
+                sources.add(segment.iterator(from));
+            }
+        }
+        final Iterator<AuditRecord> records = new MergingIterator(sources);
+        while (records.hasNext()) {
+            final AuditRecord record = records.next();
+            if (record.getEpochMillis() >= toMillis) {
+                return;
+            }
+            consumer.accept(record);
+        }
+    }
+
+    /**
+     * Count the records matching an aggregate query, scanning the columnar segments in parallel.
+     *
+     * @param query the query
+     * @return the counts per group
+     */
+    public Map<AuditGroup, Long> aggregate(final AuditQuery query) {
+        final State snapshot = state;
+        final Map<AuditGroup, Long> result = new ConcurrentHashMap<>();
+        snapshot.segments.parallelStream()
+                .map(segment -> segment.getColumns().aggregate(query))
+                .forEach(counts -> counts.forEach((group, count) -> result.merge(group, count, Long::sum)));
+        final Consumer<AuditRecord> counter = record -> {
+            if (query.matches(record)) {
+                result.merge(query.group(record), 1L, Long::sum);
+            }
+        };
+        final RecordKey from = RecordKey.first(query.getFromMillis());
+        final RecordKey to = RecordKey.first(query.getToMillis());
+        snapshot.memtable.subMap(from, to).values().forEach(counter);
+        for (final Frozen frozen : snapshot.frozen) {
+            frozen.memtable.subMap(from, to).values().forEach(counter);
+        }
+        return new HashMap<>(result);
+    }
+
+    /**
+     * Find a single record.
+     *
+     * @param epochMillis the time of the event
+     * @param uuid the UUID of the event
+     * @return the record, or null if not found
+     */
+    public AuditRecord get(final long epochMillis, final UUID uuid) {
+        final RecordKey key = new RecordKey(epochMillis, uuid);
+        final AuditRecord[] found = new AuditRecord[1];
+        scan(epochMillis, epochMillis + 1, r -> {
+            if (found[0] == null && RecordKey.of(r).equals(key)) {
+                found[0] = r;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * @return the number of segment files
+     */
+    public int getSegmentCount() {
+        return state.segments.size();
+    }
+
+    /**
+     * @return the directory holding the store files
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Wait for background work and close the write-ahead log. Records still in memory are recovered from
+     * the log when the store is next opened.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            background.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            wal.close();
+        }
+    }
+
+    private static <T> List<T> plus(final List<T> list, final T element) {
+        final List<T> result = new ArrayList<>(list);
+        result.add(element);
+        return Collections.unmodifiableList(result);
+    }
+
+    private static <T> List<T> minus(final List<T> list, final List<T> elements) {
+        final List<T> result = new ArrayList<>(list);
+        result.removeAll(elements);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * A memtable waiting to be written to a segment, with the log that recovers it.
+     */
+    private static final class Frozen {
+
+        private final long generation;
+
+        private final ConcurrentSkipListMap<RecordKey, AuditRecord> memtable;
+
+        private final WriteAheadLog wal;
+
+        Frozen(final long generation, final ConcurrentSkipListMap<RecordKey, AuditRecord> memtable,
+                final WriteAheadLog wal) {
+            this.generation = generation;
+            this.memtable = memtable;
+            this.wal = wal;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the store contents.
+     */
+    private static final class State {
+
+        private final ConcurrentSkipListMap<RecordKey, AuditRecord> memtable;
+
+        private final List<Frozen> frozen;
+
+        private final List<Segment> segments;
+
+        State(final ConcurrentSkipListMap<RecordKey, AuditRecord> memtable, final List<Frozen> frozen,
+                final List<Segment> segments) {
+            this.memtable = memtable;
+            this.frozen = frozen;
+            this.segments = segments;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * An aggregate query counting audit records in a time range, optionally filtered by audit event type,
+ * agent and affected object, and grouped by any of agent, audit event type and UTC day.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class AuditQuery {
+
+    static final long MILLIS_PER_DAY = 86400000L;
+
+    /**
+     * Dimensions results can be grouped by.
+     */
+    public enum Dimension {
+        AGENT, AUDIT_TYPE, DAY
+    }
+
+    private final long fromMillis;
+
+    private final long toMillis;
+
+    private final String auditEventType;
+
+    private final String agent;
+
+    private final String path;
+
+    private final Set<Dimension> groupBy;
+
+    /**
+     * @param fromMillis start of the time range, inclusive
+     * @param toMillis end of the time range, exclusive
+     * @param auditEventType only count this audit event type, or null for all
+     * @param agent only count events by this user ID, or null for all
+     * @param path only count events affecting this repository path, or null for all
+     * @param groupBy the dimensions to group the counts by
+     */
+    public AuditQuery(final long fromMillis, final long toMillis, final String auditEventType, final String agent,
+            final String path, final Set<Dimension> groupBy) {
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.auditEventType = auditEventType;
+        this.agent = agent;
+        this.path = path;
+        this.groupBy = groupBy.isEmpty() ? Collections.emptySet() :
+                Collections.unmodifiableSet(EnumSet.copyOf(groupBy));
+    }
+
+    /**
+     * @return start of the time range, inclusive
+     */
+    public long getFromMillis() {
+        return fromMillis;
+    }
+
+    /**
+     * @return end of the time range, exclusive
+     */
+    public long getToMillis() {
+        return toMillis;
+    }
+
+    /**
+     * @return the audit event type counted, or null for all
+     */
+    public String getAuditEventType() {
+        return auditEventType;
+    }
+
+    /**
+     * @return the user ID counted, or null for all
+     */
+    public String getAgent() {
+        return agent;
+    }
+
+    /**
+     * @return the repository path counted, or null for all
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the dimensions the counts are grouped by
+     */
+    public Set<Dimension> getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * @param record an audit record
+     * @return whether the query counts the record
+     */
+    boolean matches(final AuditRecord record) {
+        return record.getEpochMillis() >= fromMillis && record.getEpochMillis() < toMillis &&
+                (auditEventType == null || auditEventType.equals(record.getAuditEventType())) &&
+                (agent == null || agent.equals(record.getUserID())) &&
+                (path == null || path.equals(record.getPath()));
+    }
+
+    /**
+     * @param record an audit record
+     * @return the group the record is counted in
+     */
+    AuditGroup group(final AuditRecord record) {
+        return group(record.getUserID(), record.getAuditEventType(), record.getEpochMillis());
+    }
+
+    AuditGroup group(final String recordAgent, final String recordType, final long epochMillis) {
+        return new AuditGroup(groupBy.contains(Dimension.AGENT) ? recordAgent : null,
+                groupBy.contains(Dimension.AUDIT_TYPE) ? recordType : null,
+                groupBy.contains(Dimension.DAY) ? LocalDate.ofEpochDay(Math.floorDiv(epochMillis, MILLIS_PER_DAY)) :
+                        null);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + fromMillis + ", " + toMillis + ") type=" + auditEventType + " agent=" + agent + " path=" +
+                path + " groupBy=" + groupBy;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof AuditQuery)) {
+            return false;
+        }
+        final AuditQuery other = (AuditQuery) o;
+        return fromMillis == other.fromMillis && toMillis == other.toMillis &&
+                Objects.equals(auditEventType, other.auditEventType) && Objects.equals(agent, other.agent) &&
+                Objects.equals(path, other.path) && groupBy.equals(other.groupBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fromMillis, toMillis, auditEventType, agent, path, groupBy);
+    }
+}
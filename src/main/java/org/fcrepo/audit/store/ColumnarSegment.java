@@ -0,0 +1,504 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.fcrepo.audit.store.AuditQuery.MILLIS_PER_DAY;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * Column-oriented copy of a sealed {@link Segment}, used to answer {@link AuditQuery} aggregates without
+ * decoding whole records.
+ *
+ * <p>Rows are split into blocks of {@value #BLOCK_SIZE}. Within a block, timestamps are delta encoded,
+ * audit event types and agents are dictionary codes stored as runs, and affected objects are dictionary
+ * codes stored as variable-length integers. Each block records its minimum and maximum timestamp and the
+ * set of audit event types it holds, so queries skip blocks that cannot match and scan the rest as
+ * primitive arrays.</p>
+ *
+ * <p>The file starts and ends with a magic number, and is forced to disk before it is moved into place. A
+ * file that is nevertheless incomplete or damaged fails to open with an {@link IOException}, and the
+ * {@link Segment} it belongs to rebuilds it.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class ColumnarSegment {
+
+    static final int BLOCK_SIZE = 4096;
+
+    private static final int MAGIC = 0x41554443;
+
+    private static final int BLOCK_HEADER_LENGTH = 4 + 8 + 8 + 8 + 4 * 4;
+
+    private static final int MISSING = -2;
+
+    private final String[] types;
+
+    private final String[] agents;
+
+    private final String[] objects;
+
+    private final ByteBuffer buffer;
+
+    private final int blockCount;
+
+    private final int blocksOffset;
+
+    private final int columnsOffset;
+
+    private final int rowCount;
+
+    private final long minMillis;
+
+    private final long maxMillis;
+
+    private ColumnarSegment(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        final ByteBuffer in = buffer.duplicate();
+        if (buffer.capacity() < 8 || in.getInt() != MAGIC || buffer.getInt(buffer.capacity() - 4) != MAGIC) {
+            throw new IOException("Not a complete columnar audit segment");
+        }
+        try {
+            rowCount = in.getInt();
+            blockCount = in.getInt();
+            minMillis = in.getLong();
+            maxMillis = in.getLong();
+            types = readDictionary(in);
+            agents = readDictionary(in);
+            objects = readDictionary(in);
+            blocksOffset = in.position();
+            columnsOffset = blocksOffset + blockCount * BLOCK_HEADER_LENGTH;
+        } catch (final BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException |
+                NegativeArraySizeException e) {
+            throw new IOException("Damaged columnar audit segment", e);
+        }
+        if (blockCount < 0 || columnsOffset < blocksOffset || columnsOffset > buffer.capacity() - 4) {
+            throw new IOException("Damaged columnar audit segment");
+        }
+    }
+
+    /**
+     * Open a columnar segment file.
+     *
+     * @param file the file
+     * @return the segment
+     * @throws IOException if the file cannot be read
+     */
+    public static ColumnarSegment open(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            return new ColumnarSegment(channel.map(READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write a columnar segment from records in key order.
+     *
+     * @param file the file
+     * @param records the records
+     * @return the opened segment
+     * @throws IOException if the file cannot be written
+     */
+    public static ColumnarSegment write(final Path file, final Iterator<AuditRecord> records) throws IOException {
+        final Builder builder = new Builder();
+        records.forEachRemaining(builder::add);
+        return builder.write(file);
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Count the rows matching a query.
+     *
+     * @param query the query
+     * @return the counts per group, empty if no row matches
+     */
+    public Map<AuditGroup, Long> aggregate(final AuditQuery query) {
+        final Map<AuditGroup, Long> result = new HashMap<>();
+        if (rowCount == 0 || maxMillis < query.getFromMillis() || minMillis >= query.getToMillis()) {
+            return result;
+        }
+        final int typeFilter = code(types, query.getAuditEventType());
+        final int agentFilter = code(agents, query.getAgent());
+        final int objectFilter = code(objects, query.getPath());
+        if (typeFilter == MISSING || agentFilter == MISSING || objectFilter == MISSING) {
+            return result;
+        }
+        final boolean byAgent = query.getGroupBy().contains(AuditQuery.Dimension.AGENT);
+        final boolean byType = query.getGroupBy().contains(AuditQuery.Dimension.AUDIT_TYPE);
+        final boolean byDay = query.getGroupBy().contains(AuditQuery.Dimension.DAY);
+        final long from = query.getFromMillis();
+        final long to = query.getToMillis();
+
+        final long[] timestamps = new long[BLOCK_SIZE];
+        final int[] typeCodes = new int[BLOCK_SIZE];
+        final int[] agentCodes = new int[BLOCK_SIZE];
+        final int[] objectCodes = new int[BLOCK_SIZE];
+        final LongCounter counts = new LongCounter();
+
+        for (int b = 0; b < blockCount; b++) {
+            final int header = blocksOffset + b * BLOCK_HEADER_LENGTH;
+            final int rows = buffer.getInt(header);
+            final long blockMin = buffer.getLong(header + 4);
+            final long blockMax = buffer.getLong(header + 12);
+            final long typeMask = buffer.getLong(header + 20);
+            if (blockMax < from || blockMin >= to || (typeFilter >= 0 && (typeMask & bit(typeFilter)) == 0)) {
+                continue;
+            }
+            final boolean needTimestamps = byDay || blockMin < from || blockMax >= to;
+            final boolean needTypes = byType || typeFilter >= 0;
+            final boolean needAgents = byAgent || agentFilter >= 0;
+            final boolean needObjects = objectFilter >= 0;
+            if (!(needTimestamps || needTypes || needAgents || needObjects)) {
+                counts.add(0L, rows);
+                continue;
+            }
+            if (needTimestamps) {
+                decodeDeltas(columnsOffset + buffer.getInt(header + 28), timestamps, rows);
+            }
+            if (needTypes) {
+                decodeRuns(columnsOffset + buffer.getInt(header + 32), typeCodes, rows);
+            }
+            if (needAgents) {
+                decodeRuns(columnsOffset + buffer.getInt(header + 36), agentCodes, rows);
+            }
+            if (needObjects) {
+                decodeCodes(columnsOffset + buffer.getInt(header + 40), objectCodes, rows);
+            }
+            for (int i = 0; i < rows; i++) {
+                if (needTimestamps && (timestamps[i] < from || timestamps[i] >= to)) {
+                    continue;
+                }
+                if (typeFilter >= 0 && typeCodes[i] != typeFilter) {
+                    continue;
+                }
+                if (agentFilter >= 0 && agentCodes[i] != agentFilter) {
+                    continue;
+                }
+                if (objectFilter >= 0 && objectCodes[i] != objectFilter) {
+                    continue;
+                }
+                counts.increment(pack(byDay ? Math.floorDiv(timestamps[i], MILLIS_PER_DAY) : 0L,
+                        byAgent ? agentCodes[i] : 0, byType ? typeCodes[i] : 0));
+            }
+        }
+
+        counts.forEachKey(key -> {
+            final long day = key >> 32;
+            result.merge(query.group(agents[(int) (key >>> 4) & 0xFFFFFFF], types[(int) key & 0xF],
+                    day * MILLIS_PER_DAY), counts.get(key), Long::sum);
+        });
+        return result;
+    }
+
+    /**
+     * @return the dictionary code of a filter value, -1 if there is no filter, MISSING if no row matches
+     */
+    private static int code(final String[] dictionary, final String value) {
+        if (value == null) {
+            return -1;
+        }
+        for (int i = 0; i < dictionary.length; i++) {
+            if (value.equals(dictionary[i])) {
+                return i;
+            }
+        }
+        return MISSING;
+    }
+
+    private static long bit(final int code) {
+        return code < 64 ? 1L << code : -1L;
+    }
+
+    /**
+     * Pack a group into a counter key: the day in the upper 32 bits, then 28 bits of agent code and 4 bits
+     * of audit event type code, ample for the handful of audit event types.
+     */
+    private static long pack(final long day, final int agent, final int type) {
+        return (day << 32) | ((long) agent << 4) | type;
+    }
+
+    private void decodeDeltas(final int offset, final long[] values, final int rows) {
+        int pos = offset;
+        long value = buffer.getLong(pos);
+        pos += 8;
+        values[0] = value;
+        for (int i = 1; i < rows; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(pos++);
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += (delta >>> 1) ^ -(delta & 1);
+            values[i] = value;
+        }
+    }
+
+    private void decodeRuns(final int offset, final int[] values, final int rows) {
+        final int[] pos = { offset };
+        int i = 0;
+        while (i < rows) {
+            final int code = readVarInt(pos);
+            final int run = readVarInt(pos);
+            Arrays.fill(values, i, i + run, code);
+            i += run;
+        }
+    }
+
+    private void decodeCodes(final int offset, final int[] values, final int rows) {
+        final int[] pos = { offset };
+        for (int i = 0; i < rows; i++) {
+            values[i] = readVarInt(pos);
+        }
+    }
+
+    private int readVarInt(final int[] pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(pos[0]++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static String[] readDictionary(final ByteBuffer in) {
+        final String[] dictionary = new String[in.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            final int length = in.getInt();
+            if (length >= 0) {
+                final byte[] bytes = new byte[length];
+                in.get(bytes);
+                dictionary[i] = new String(bytes, UTF_8);
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Accumulates records in key order and writes them as a columnar segment.
+     */
+    static final class Builder {
+
+        private final Dictionary types = new Dictionary();
+
+        private final Dictionary agents = new Dictionary();
+
+        private final Dictionary objects = new Dictionary();
+
+        private long[] timestamps = new long[BLOCK_SIZE];
+
+        private int[] typeCodes = new int[BLOCK_SIZE];
+
+        private int[] agentCodes = new int[BLOCK_SIZE];
+
+        private int[] objectCodes = new int[BLOCK_SIZE];
+
+        private int rows;
+
+        void add(final AuditRecord record) {
+            if (rows == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, rows * 2);
+                typeCodes = Arrays.copyOf(typeCodes, rows * 2);
+                agentCodes = Arrays.copyOf(agentCodes, rows * 2);
+                objectCodes = Arrays.copyOf(objectCodes, rows * 2);
+            }
+            timestamps[rows] = record.getEpochMillis();
+            typeCodes[rows] = types.code(record.getAuditEventType());
+            agentCodes[rows] = agents.code(record.getUserID());
+            objectCodes[rows] = objects.code(record.getPath());
+            rows++;
+        }
+
+        ColumnarSegment write(final Path file) throws IOException {
+            final int blockCount = (rows + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            final Bytes columns = new Bytes();
+            final ByteBuffer blocks = ByteBuffer.allocate(blockCount * BLOCK_HEADER_LENGTH);
+            long minMillis = Long.MAX_VALUE;
+            long maxMillis = Long.MIN_VALUE;
+            for (int b = 0; b < blockCount; b++) {
+                final int start = b * BLOCK_SIZE;
+                final int end = Math.min(rows, start + BLOCK_SIZE);
+                long blockMin = Long.MAX_VALUE;
+                long blockMax = Long.MIN_VALUE;
+                long typeMask = 0;
+                for (int i = start; i < end; i++) {
+                    blockMin = Math.min(blockMin, timestamps[i]);
+                    blockMax = Math.max(blockMax, timestamps[i]);
+                    typeMask |= bit(typeCodes[i]);
+                }
+                minMillis = Math.min(minMillis, blockMin);
+                maxMillis = Math.max(maxMillis, blockMax);
+                blocks.putInt(end - start).putLong(blockMin).putLong(blockMax).putLong(typeMask);
+
+                blocks.putInt(columns.size());
+                columns.writeLong(timestamps[start]);
+                for (int i = start + 1; i < end; i++) {
+                    final long delta = timestamps[i] - timestamps[i - 1];
+                    columns.writeVarLong((delta << 1) ^ (delta >> 63));
+                }
+                blocks.putInt(columns.size());
+                writeRuns(columns, typeCodes, start, end);
+                blocks.putInt(columns.size());
+                writeRuns(columns, agentCodes, start, end);
+                blocks.putInt(columns.size());
+                for (int i = start; i < end; i++) {
+                    columns.writeVarLong(objectCodes[i]);
+                }
+            }
+
+            final Path tmp = Paths.get(file + ".tmp");
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(rows);
+                out.writeInt(blockCount);
+                out.writeLong(minMillis);
+                out.writeLong(maxMillis);
+                types.write(out);
+                agents.write(out);
+                objects.write(out);
+                out.write(blocks.array());
+                out.write(columns.array(), 0, columns.size());
+                out.writeInt(MAGIC);
+            }
+            try (final FileChannel channel = FileChannel.open(tmp, READ)) {
+                channel.force(true);
+            }
+            Files.move(tmp, file, ATOMIC_MOVE);
+            return open(file);
+        }
+
+        private static void writeRuns(final Bytes columns, final int[] codes, final int start, final int end) {
+            int i = start;
+            while (i < end) {
+                int run = 1;
+                while (i + run < end && codes[i + run] == codes[i]) {
+                    run++;
+                }
+                columns.writeVarLong(codes[i]);
+                columns.writeVarLong(run);
+                i += run;
+            }
+        }
+    }
+
+    /**
+     * Assigns dense codes to distinct values, including null.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        int code(final String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        void write(final DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            for (final String value : values) {
+                if (value == null) {
+                    out.writeInt(-1);
+                } else {
+                    final byte[] bytes = value.getBytes(UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable byte array with variable-length integer encoding.
+     */
+    private static final class Bytes {
+
+        private byte[] bytes = new byte[1 << 12];
+
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        private void ensure(final int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void writeLong(final long value) {
+            ensure(8);
+            for (int i = 7; i >= 0; i--) {
+                bytes[size++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        void writeVarLong(final long value) {
+            ensure(10);
+            long v = value;
+            while ((v & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+    }
+}
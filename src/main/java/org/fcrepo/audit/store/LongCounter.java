@@ -0,0 +1,100 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing map from long keys to long counts, avoiding boxing in aggregation inner loops.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+class LongCounter {
+
+    private long[] keys = new long[64];
+
+    private long[] counts = new long[64];
+
+    private boolean[] used = new boolean[64];
+
+    private int size;
+
+    void increment(final long key) {
+        add(key, 1L);
+    }
+
+    void add(final long key, final long count) {
+        if (size * 2 >= keys.length) {
+            grow();
+        }
+        int i = slot(key, keys.length);
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & (keys.length - 1);
+        }
+        if (!used[i]) {
+            used[i] = true;
+            keys[i] = key;
+            size++;
+        }
+        counts[i] += count;
+    }
+
+    long get(final long key) {
+        int i = slot(key, keys.length);
+        while (used[i]) {
+            if (keys[i] == key) {
+                return counts[i];
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        return 0L;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEachKey(final LongConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                consumer.accept(keys[i]);
+            }
+        }
+    }
+
+    private static int slot(final long key, final int length) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (length - 1);
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final long[] oldCounts = counts;
+        final boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                add(oldKeys[i], oldCounts[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * Merges iterators that are each sorted by {@link RecordKey} into one sorted iterator, returning a
+ * record only once when several sources hold the same key.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+class MergingIterator implements Iterator<AuditRecord> {
+
+    private final PriorityQueue<Source> queue = new PriorityQueue<>();
+
+    private RecordKey lastKey;
+
+    private AuditRecord next;
+
+    MergingIterator(final List<Iterator<AuditRecord>> sources) {
+        for (final Iterator<AuditRecord> source : sources) {
+            if (source.hasNext()) {
+                queue.add(new Source(source));
+            }
+        }
+        next = advance();
+    }
+
+    private AuditRecord advance() {
+        while (!queue.isEmpty()) {
+            final Source source = queue.poll();
+            final AuditRecord record = source.head;
+            final RecordKey key = source.key;
+            if (source.iterator.hasNext()) {
+                source.setHead(source.iterator.next());
+                queue.add(source);
+            }
+            if (lastKey == null || key.compareTo(lastKey) != 0) {
+                lastKey = key;
+                return record;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public AuditRecord next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        final AuditRecord current = next;
+        next = advance();
+        return current;
+    }
+
+    private static class Source implements Comparable<Source> {
+
+        private final Iterator<AuditRecord> iterator;
+
+        private AuditRecord head;
+
+        private RecordKey key;
+
+        Source(final Iterator<AuditRecord> iterator) {
+            this.iterator = iterator;
+            setHead(iterator.next());
+        }
+
+        void setHead(final AuditRecord record) {
+            this.head = record;
+            this.key = RecordKey.of(record);
+        }
+
+        @Override
+        public int compareTo(final Source o) {
+            return key.compareTo(o.key);
+        }
+    }
+}
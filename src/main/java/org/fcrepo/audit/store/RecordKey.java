@@ -0,0 +1,95 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import java.util.UUID;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * Sort key of a stored audit record: the event time, then the event UUID.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class RecordKey implements Comparable<RecordKey> {
+
+    private final long epochMillis;
+    private final long mostSigBits;
+    private final long leastSigBits;
+
+    /**
+     * @param epochMillis the time of the event
+     * @param uuid the UUID of the event, may be null
+     */
+    public RecordKey(final long epochMillis, final UUID uuid) {
+        this.epochMillis = epochMillis;
+        this.mostSigBits = uuid == null ? 0L : uuid.getMostSignificantBits();
+        this.leastSigBits = uuid == null ? 0L : uuid.getLeastSignificantBits();
+    }
+
+    /**
+     * @param record an audit record
+     * @return the key of the record
+     */
+    public static RecordKey of(final AuditRecord record) {
+        return new RecordKey(record.getEpochMillis(), record.getUuid());
+    }
+
+    /**
+     * @param epochMillis a time
+     * @return a key sorting before every key with the given or a later time
+     */
+    public static RecordKey first(final long epochMillis) {
+        return new RecordKey(epochMillis, new UUID(Long.MIN_VALUE, Long.MIN_VALUE));
+    }
+
+    /**
+     * @return the time of the event
+     */
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    @Override
+    public int compareTo(final RecordKey o) {
+        int c = Long.compare(epochMillis, o.epochMillis);
+        if (c == 0) {
+            c = Long.compare(mostSigBits, o.mostSigBits);
+        }
+        if (c == 0) {
+            c = Long.compare(leastSigBits, o.leastSigBits);
+        }
+        return c;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof RecordKey && compareTo((RecordKey) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(epochMillis) * 31 + Long.hashCode(mostSigBits ^ leastSigBits);
+    }
+
+    @Override
+    public String toString() {
+        return epochMillis + "/" + new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.fcrepo.audit.AuditRecord;
+import org.fcrepo.audit.AuditRecordCodec;
+import org.slf4j.Logger;
+
+/**
+ * Immutable file of audit records sorted by {@link RecordKey}. Records are stored as length-prefixed
+ * {@link AuditRecordCodec} entries, followed by a sparse index of every {@value #INDEX_INTERVAL}th key, the
+ * generations of the segments a compacted segment replaces, and a fixed-size footer. Segments are
+ * memory-mapped for reading. Each segment has a {@link ColumnarSegment} companion file holding the same
+ * records by column, for aggregate queries.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+class Segment {
+
+    private static final Logger LOGGER = getLogger(Segment.class);
+
+    static final int INDEX_INTERVAL = 64;
+
+    private static final int MAGIC = 0x41554454;
+
+    private static final int FOOTER_LENGTH = 8 + 4 + 8 + 8 + 8 + 4 + 4;
+
+    private final Path file;
+
+    private final long generation;
+
+    private final ByteBuffer buffer;
+
+    private final long recordCount;
+
+    private final long minMillis;
+
+    private final long maxMillis;
+
+    private final RecordKey[] indexKeys;
+
+    private final int[] indexOffsets;
+
+    private final long[] replaced;
+
+    private ColumnarSegment columns;
+
+    private Segment(final Path file, final long generation, final ByteBuffer buffer, final long recordCount,
+            final long minMillis, final long maxMillis, final RecordKey[] indexKeys, final int[] indexOffsets,
+            final long[] replaced) {
+        this.file = file;
+        this.generation = generation;
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.indexKeys = indexKeys;
+        this.indexOffsets = indexOffsets;
+        this.replaced = replaced;
+    }
+
+    /**
+     * Write sorted records to a new segment.
+     *
+     * @param file the segment file
+     * @param generation the generation number of the segment
+     * @param records the records, in key order without duplicates
+     * @return the opened segment
+     * @throws IOException if the file cannot be written
+     */
+    static Segment write(final Path file, final long generation, final Iterator<AuditRecord> records)
+            throws IOException {
+        return write(file, generation, new long[0], records);
+    }
+
+    /**
+     * Write sorted records to a new segment. The file is written under a temporary name and renamed once
+     * complete, so a segment file is never seen half written, and the directory is synced so the rename
+     * survives a crash.
+     *
+     * @param file the segment file
+     * @param generation the generation number of the segment
+     * @param replaced the generations of the segments whose records this segment holds
+     * @param records the records, in key order without duplicates
+     * @return the opened segment
+     * @throws IOException if the file cannot be written
+     */
+    static Segment write(final Path file, final long generation, final long[] replaced,
+            final Iterator<AuditRecord> records) throws IOException {
+        final Path tmp = Paths.get(file + ".tmp");
+        long count = 0;
+        long minMillis = Long.MAX_VALUE;
+        long maxMillis = Long.MIN_VALUE;
+        final ColumnarSegment.Builder columns = new ColumnarSegment.Builder();
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp),
+                1 << 16))) {
+            ByteBuffer indexBuffer = ByteBuffer.allocate(1 << 12);
+            while (records.hasNext()) {
+                final AuditRecord record = records.next();
+                final byte[] bytes = AuditRecordCodec.toBytes(record);
+                if (count % INDEX_INTERVAL == 0) {
+                    if (indexBuffer.remaining() < 28) {
+                        final ByteBuffer larger = ByteBuffer.allocate(indexBuffer.capacity() * 2);
+                        indexBuffer.flip();
+                        larger.put(indexBuffer);
+                        indexBuffer = larger;
+                    }
+                    final UUID uuid = record.getUuid();
+                    indexBuffer.putLong(record.getEpochMillis());
+                    indexBuffer.putLong(uuid == null ? 0L : uuid.getMostSignificantBits());
+                    indexBuffer.putLong(uuid == null ? 0L : uuid.getLeastSignificantBits());
+                    indexBuffer.putInt(out.size());
+                }
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                columns.add(record);
+                minMillis = Math.min(minMillis, record.getEpochMillis());
+                maxMillis = Math.max(maxMillis, record.getEpochMillis());
+                count++;
+            }
+            final long indexOffset = out.size();
+            indexBuffer.flip();
+            final int indexCount = indexBuffer.remaining() / 28;
+            out.write(indexBuffer.array(), 0, indexBuffer.remaining());
+            for (final long r : replaced) {
+                out.writeLong(r);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(indexCount);
+            out.writeLong(count);
+            out.writeLong(minMillis);
+            out.writeLong(maxMillis);
+            out.writeInt(replaced.length);
+            out.writeInt(MAGIC);
+            // DataOutputStream.size() saturates at Integer.MAX_VALUE
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Segment too large: " + file);
+            }
+        }
+        try (final FileChannel channel = FileChannel.open(tmp, READ)) {
+            channel.force(true);
+        }
+        columns.write(columnsFile(file));
+        Files.move(tmp, file, ATOMIC_MOVE);
+        syncDirectory(file.getParent());
+        return open(file, generation);
+    }
+
+    /**
+     * Force the entries of a directory to disk, where the platform allows opening directories.
+     *
+     * @param directory the directory
+     * @throws IOException if the directory cannot be synced
+     */
+    static void syncDirectory(final Path directory) throws IOException {
+        try (final FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        } catch (final AccessDeniedException e) {
+            // directories cannot be opened on Windows, where a completed rename is already durable
+        }
+    }
+
+    /**
+     * @param file a segment file
+     * @return the file holding the columnar copy of the segment
+     */
+    static Path columnsFile(final Path file) {
+        final String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.lastIndexOf('.')) + ".col");
+    }
+
+    /**
+     * Open an existing segment.
+     *
+     * @param file the segment file
+     * @param generation the generation number of the segment
+     * @return the segment
+     * @throws IOException if the file cannot be read or is not a complete segment
+     */
+    static Segment open(final Path file, final long generation) throws IOException {
+        final ByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            buffer = channel.map(READ_ONLY, 0, channel.size());
+        }
+        final int footer = buffer.capacity() - FOOTER_LENGTH;
+        if (footer < 0 || buffer.getInt(footer + 40) != MAGIC) {
+            throw new IOException("Not a complete audit segment: " + file);
+        }
+        final int indexOffset = (int) buffer.getLong(footer);
+        final int indexCount = buffer.getInt(footer + 8);
+        final RecordKey[] indexKeys = new RecordKey[indexCount];
+        final int[] indexOffsets = new int[indexCount];
+        for (int i = 0; i < indexCount; i++) {
+            final int entry = indexOffset + i * 28;
+            indexKeys[i] = new RecordKey(buffer.getLong(entry),
+                    new UUID(buffer.getLong(entry + 8), buffer.getLong(entry + 16)));
+            indexOffsets[i] = buffer.getInt(entry + 24);
+        }
+        final long[] replaced = new long[buffer.getInt(footer + 36)];
+        for (int i = 0; i < replaced.length; i++) {
+            replaced[i] = buffer.getLong(indexOffset + indexCount * 28 + i * 8);
+        }
+        final Segment segment = new Segment(file, generation, buffer, buffer.getLong(footer + 12),
+                buffer.getLong(footer + 20), buffer.getLong(footer + 28), indexKeys, indexOffsets, replaced);
+        segment.columns = openColumns(segment);
+        return segment;
+    }
+
+    /**
+     * Open the columnar copy of a segment, writing it anew if it is missing or damaged.
+     */
+    private static ColumnarSegment openColumns(final Segment segment) throws IOException {
+        final Path columnsFile = columnsFile(segment.file);
+        if (Files.exists(columnsFile)) {
+            try {
+                return ColumnarSegment.open(columnsFile);
+            } catch (final IOException e) {
+                LOGGER.warn("Rebuilding audit columns {}: {}", columnsFile, e.getMessage());
+            }
+        }
+        return ColumnarSegment.write(columnsFile, segment.iterator(RecordKey.first(Long.MIN_VALUE)));
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return the generations of the segments this segment was compacted from
+     */
+    long[] getReplaced() {
+        return replaced.clone();
+    }
+
+    ColumnarSegment getColumns() {
+        return columns;
+    }
+
+    long getRecordCount() {
+        return recordCount;
+    }
+
+    long getSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @param fromMillis start of a time range, inclusive
+     * @param toMillis end of a time range, exclusive
+     * @return whether the segment may hold records in the range
+     */
+    boolean overlaps(final long fromMillis, final long toMillis) {
+        return recordCount > 0 && minMillis < toMillis && maxMillis >= fromMillis;
+    }
+
+    /**
+     * @param from the first key to return
+     * @return an iterator over the records with keys at or after from, in key order
+     */
+    Iterator<AuditRecord> iterator(final RecordKey from) {
+        // start at the last indexed record not after the requested key
+        int low = 0;
+        int high = indexKeys.length - 1;
+        int start = 0;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (indexKeys[mid].compareTo(from) <= 0) {
+                start = indexOffsets[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        final int end = recordCount == 0 ? 0 : (int) buffer.getLong(buffer.capacity() - FOOTER_LENGTH);
+        final int first = start;
+        return new Iterator<AuditRecord>() {
+
+            private int offset = first;
+
+            private AuditRecord next = advance();
+
+            private AuditRecord advance() {
+                while (offset < end) {
+                    final int length = buffer.getInt(offset);
+                    final AuditRecord record = AuditRecordCodec.decode(buffer, offset + 4);
+                    offset += 4 + length;
+                    if (RecordKey.of(record).compareTo(from) >= 0) {
+                        return record;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public AuditRecord next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                final AuditRecord current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+}
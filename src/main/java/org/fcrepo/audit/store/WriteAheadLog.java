@@ -0,0 +1,108 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.fcrepo.audit.AuditRecord;
+import org.fcrepo.audit.AuditRecordCodec;
+
+/**
+ * Append-only log of the records held in a memtable, replayed after a restart to recover records that had
+ * not yet been flushed to a segment.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+class WriteAheadLog implements Closeable {
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final boolean sync;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    WriteAheadLog(final Path file, final boolean sync) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        this.sync = sync;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    void append(final AuditRecord record) throws IOException {
+        final int length = AuditRecordCodec.encodedLength(record);
+        if (buffer.capacity() < length + 4) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(length + 4) << 1);
+        }
+        buffer.clear();
+        buffer.putInt(0, length);
+        AuditRecordCodec.encode(record, buffer, 4);
+        buffer.limit(length + 4);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Read the records of a log, stopping at a truncated last entry left by a crash.
+     *
+     * @param file the log file
+     * @param consumer receives the records in the order they were appended
+     * @throws IOException if the file cannot be read
+     */
+    static void replay(final Path file, final Consumer<AuditRecord> consumer) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                final byte[] bytes;
+                try {
+                    bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                } catch (final EOFException e) {
+                    return;
+                }
+                consumer.accept(AuditRecordCodec.fromBytes(bytes));
+            }
+        }
+    }
+}
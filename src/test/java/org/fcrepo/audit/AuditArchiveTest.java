@@ -0,0 +1,334 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import javax.jcr.Binary;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Value;
+import javax.jcr.ValueFactory;
+
+import org.fcrepo.audit.bundle.AuditBundle;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.modeshape.ContainerImpl;
+import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AuditArchiveTest {
+
+    private static final String oldIdentifier = "27c605e4-98c6-4240-86be-f1bb1971d694";
+
+    private static final String newIdentifier = "27d1a2b3-98c6-4240-86be-f1bb1971d694";
+
+    private static final long oldDate = 1428676236000L;
+
+    @Mock
+    private FedoraRepository mockRepository;
+
+    @Mock
+    private ContainerService mockContainerService;
+
+    @Mock
+    private FedoraSessionImpl mockSession;
+
+    @Mock
+    private Session mockJcrSession;
+
+    @Before
+    public void setUp() {
+        when(mockRepository.login()).thenReturn(mockSession);
+        when(mockSession.getJcrSession()).thenReturn(mockJcrSession);
+    }
+
+    @Test
+    public void testCompact() throws RepositoryException, IOException {
+        final Node oldNode = mockAuditNode(oldIdentifier, oldDate);
+        final Node newNode = mockAuditNode(newIdentifier, System.currentTimeMillis());
+        when(mockJcrSession.nodeExists("/audit")).thenReturn(true);
+        mockNode("/audit", mockChild("summary"), mockChild("27"));
+        mockNode("/audit/27", oldNode, newNode);
+        when(mockJcrSession.getNode("/audit/27/" + oldIdentifier)).thenReturn(oldNode);
+
+        final ContainerImpl bundleContainer = mock(ContainerImpl.class);
+        final Node bundleNode = mock(Node.class);
+        when(mockContainerService.findOrCreate(mockSession, "/audit/bundles/2015-04-10.0"))
+                .thenReturn(bundleContainer);
+        when(bundleContainer.getNode()).thenReturn(bundleNode);
+        mockBinary("/audit/bundles/2015-04-10.0");
+
+        final AuditArchive archive = new AuditArchive(mockRepository, mockContainerService, "/audit");
+        archive.setPause(0);
+        archive.compact();
+
+        verify(bundleNode).setProperty(eq("audit:bundle"), any(Binary.class));
+        verify(bundleNode).setProperty("audit:bundleRecords", 1L);
+        verify(oldNode).remove();
+        verify(newNode, never()).remove();
+        verify(mockJcrSession, never()).getNode("/audit/summary");
+        assertEquals(1, archive.getArchivedCount());
+
+        final AuditRecord record = archive.find("urn:uuid:" + oldIdentifier);
+        assertEquals(UUID.fromString(oldIdentifier), record.getUuid());
+        assertEquals(oldDate, record.getEpochMillis());
+        assertEquals("bypassAdmin", record.getUserID());
+        assertEquals("curl/7.35", record.getUserAgent());
+        assertEquals("http://localhost/rest", record.getBaseURL());
+        assertEquals("/a", record.getPath());
+        assertNull(archive.find("urn:uuid:" + newIdentifier));
+    }
+
+    @Test
+    public void testNodesWithoutRecordFieldsCompacted() throws RepositoryException, IOException {
+        final Node oldNode = mockChild(oldIdentifier);
+        mockProperty(oldNode, "premis:hasEventDateTime", dateValue(oldDate));
+        mockProperty(oldNode, "premis:hasEventType", stringValue(AuditProperties.OBJECT_ADD));
+        final Property agents = mock(Property.class);
+        when(oldNode.hasProperty("premis:hasEventRelatedAgent")).thenReturn(true);
+        when(oldNode.getProperty("premis:hasEventRelatedAgent")).thenReturn(agents);
+        when(agents.isMultiple()).thenReturn(true);
+        when(agents.getValues()).thenReturn(new Value[] { stringValue("bypassAdmin"), stringValue("curl/7.35") });
+        mockProperty(oldNode, "premis:hasEventRelatedObject", stringValue("http://localhost/rest/a"));
+        when(mockJcrSession.nodeExists("/audit")).thenReturn(true);
+        mockNode("/audit", mockChild("27"));
+        mockNode("/audit/27", oldNode);
+        when(mockJcrSession.getNode("/audit/27/" + oldIdentifier)).thenReturn(oldNode);
+
+        final ContainerImpl bundleContainer = mock(ContainerImpl.class);
+        when(mockContainerService.findOrCreate(mockSession, "/audit/bundles/2015-04-10.0"))
+                .thenReturn(bundleContainer);
+        when(bundleContainer.getNode()).thenReturn(mock(Node.class));
+        mockBinary("/audit/bundles/2015-04-10.0");
+
+        final AuditArchive archive = new AuditArchive(mockRepository, mockContainerService, "/audit");
+        archive.setPause(0);
+        archive.compact();
+
+        verify(oldNode).remove();
+        assertEquals(1, archive.getArchivedCount());
+        final AuditRecord record = archive.find("urn:uuid:" + oldIdentifier);
+        assertEquals(oldDate, record.getEpochMillis());
+        assertEquals(AuditProperties.OBJECT_ADD, record.getAuditEventType());
+        assertEquals("bypassAdmin", record.getUserID());
+        assertEquals("curl/7.35", record.getUserAgent());
+        assertEquals("http://localhost/rest/a", record.getObjectURI());
+    }
+
+    @Test
+    public void testInterruptedRunNotBundledAgain() throws RepositoryException, IOException {
+        final Node oldNode = mockAuditNode(oldIdentifier, oldDate);
+        when(mockJcrSession.nodeExists("/audit")).thenReturn(true);
+        mockNode("/audit", mockChild("27"));
+        mockNode("/audit/27", oldNode);
+        when(mockJcrSession.getNode("/audit/27/" + oldIdentifier)).thenReturn(oldNode);
+
+        // the bundle an interrupted run committed before removing the audit node
+        final Node bundleNode = mockChild("2015-04-10.0");
+        when(bundleNode.hasProperty("audit:bundle")).thenReturn(true);
+        when(mockJcrSession.nodeExists("/audit/bundles")).thenReturn(true);
+        mockNode("/audit/bundles", bundleNode);
+        mockStoredBundle("/audit/bundles/2015-04-10.0", AuditBundle.write(Collections.singletonList(
+                new AuditRecord(UUID.fromString(oldIdentifier), oldDate, null, "bypassAdmin", "curl/7.35",
+                        "http://localhost/rest", "/a"))));
+
+        final AuditArchive archive = new AuditArchive(mockRepository, mockContainerService, "/audit");
+        archive.setPause(0);
+        archive.compact();
+
+        verify(mockContainerService, never()).findOrCreate(any(), any());
+        verify(oldNode).remove();
+        assertEquals(1, archive.getArchivedCount());
+        assertEquals(Collections.singleton("2015-04-10.0"), archive.getBundleNames());
+    }
+
+    @Test
+    public void testForEachRecord() throws RepositoryException, IOException, InterruptedException {
+        final Node newNode = mockAuditNode(newIdentifier, System.currentTimeMillis());
+        when(mockJcrSession.nodeExists("/audit")).thenReturn(true);
+        mockNode("/audit", mockChild("summary"), mockChild("27"));
+        mockNode("/audit/27", newNode);
+        final Node bundleNode = mockChild("2015-04-10.0");
+        when(bundleNode.hasProperty("audit:bundle")).thenReturn(true);
+        when(mockJcrSession.nodeExists("/audit/bundles")).thenReturn(true);
+        mockNode("/audit/bundles", bundleNode);
+        mockStoredBundle("/audit/bundles/2015-04-10.0", AuditBundle.write(Collections.singletonList(
+                new AuditRecord(UUID.fromString(oldIdentifier), oldDate, null, "bypassAdmin", "curl/7.35",
+                        "http://localhost/rest", "/a"))));
+
+        final List<UUID> uuids = new ArrayList<>();
+        new AuditArchive(mockRepository, mockContainerService, "/audit")
+                .forEachRecord(record -> uuids.add(record.getUuid()));
+
+        assertEquals(Arrays.asList(UUID.fromString(newIdentifier), UUID.fromString(oldIdentifier)), uuids);
+        verify(mockJcrSession, never()).getNode("/audit/summary");
+    }
+
+    @Test
+    public void testNothingToCompact() throws RepositoryException {
+        final Node newNode = mockAuditNode(newIdentifier, System.currentTimeMillis());
+        when(mockJcrSession.nodeExists("/audit")).thenReturn(true);
+        mockNode("/audit", mockChild("27"));
+        mockNode("/audit/27", newNode);
+
+        final AuditArchive archive = new AuditArchive(mockRepository, mockContainerService, "/audit");
+        archive.compact();
+
+        verify(mockSession, never()).commit();
+        verify(newNode, never()).remove();
+        assertEquals(0, archive.getArchivedCount());
+    }
+
+    /**
+     * Keep the bytes stored as a bundle binary and serve them back to reads of the resource's property.
+     */
+    private void mockBinary(final String path) throws RepositoryException, IOException {
+        final ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        final ValueFactory valueFactory = mock(ValueFactory.class);
+        final Binary binary = mock(Binary.class);
+        when(mockJcrSession.getValueFactory()).thenReturn(valueFactory);
+        when(valueFactory.createBinary(any(InputStream.class))).thenAnswer(invocation -> {
+            final InputStream in = (InputStream) invocation.getArguments()[0];
+            for (int b = in.read(); b >= 0; b = in.read()) {
+                stored.write(b);
+            }
+            return binary;
+        });
+        when(binary.read(any(byte[].class), anyLong())).thenAnswer(invocation -> {
+            final byte[] buffer = (byte[]) invocation.getArguments()[0];
+            final int position = ((Long) invocation.getArguments()[1]).intValue();
+            final byte[] bytes = stored.toByteArray();
+            final int length = Math.min(buffer.length, bytes.length - position);
+            System.arraycopy(bytes, position, buffer, 0, length);
+            return length;
+        });
+        final Node node = mock(Node.class);
+        final Property property = mock(Property.class);
+        when(mockJcrSession.getNode(path)).thenReturn(node);
+        when(node.getProperty("audit:bundle")).thenReturn(property);
+        when(property.getBinary()).thenReturn(binary);
+    }
+
+    /**
+     * Serve the bytes of a bundle stored by an earlier run to reads of the resource's property.
+     */
+    private void mockStoredBundle(final String path, final byte[] bytes) throws RepositoryException {
+        final Binary binary = mock(Binary.class);
+        when(binary.read(any(byte[].class), anyLong())).thenAnswer(invocation -> {
+            final byte[] buffer = (byte[]) invocation.getArguments()[0];
+            final int position = ((Long) invocation.getArguments()[1]).intValue();
+            final int length = Math.min(buffer.length, bytes.length - position);
+            System.arraycopy(bytes, position, buffer, 0, length);
+            return length;
+        });
+        final Node node = mock(Node.class);
+        final Property property = mock(Property.class);
+        when(mockJcrSession.getNode(path)).thenReturn(node);
+        when(node.getProperty("audit:bundle")).thenReturn(property);
+        when(property.getBinary()).thenReturn(binary);
+    }
+
+    private static Node mockAuditNode(final String identifier, final long millis) throws RepositoryException {
+        final Node node = mockChild(identifier);
+        mockProperty(node, "premis:hasEventDateTime", dateValue(millis));
+        final byte[] fields = AuditRecordCodec.toBytes(new AuditRecord(UUID.fromString(identifier), millis, null,
+                "bypassAdmin", "curl/7.35", "http://localhost/rest", "/a"));
+        final Binary binary = mock(Binary.class);
+        when(binary.getStream()).thenAnswer(invocation -> new ByteArrayInputStream(fields));
+        final Property property = mock(Property.class);
+        when(node.hasProperty("audit:record")).thenReturn(true);
+        when(node.getProperty("audit:record")).thenReturn(property);
+        when(property.getBinary()).thenReturn(binary);
+        return node;
+    }
+
+    private static Value dateValue(final long millis) throws RepositoryException {
+        final Calendar date = Calendar.getInstance();
+        date.setTimeInMillis(millis);
+        final Value value = mock(Value.class);
+        when(value.getDate()).thenReturn(date);
+        return value;
+    }
+
+    private static Value stringValue(final String string) throws RepositoryException {
+        final Value value = mock(Value.class);
+        when(value.getString()).thenReturn(string);
+        return value;
+    }
+
+    private static void mockProperty(final Node node, final String name, final Value value)
+            throws RepositoryException {
+        final Property property = mock(Property.class);
+        when(node.hasProperty(name)).thenReturn(true);
+        when(node.getProperty(name)).thenReturn(property);
+        when(property.getValue()).thenReturn(value);
+    }
+
+    private static Node mockChild(final String name) throws RepositoryException {
+        final Node node = mock(Node.class);
+        when(node.getName()).thenReturn(name);
+        return node;
+    }
+
+    private void mockNode(final String path, final Node... children) throws RepositoryException {
+        final Node node = mock(Node.class);
+        when(mockJcrSession.getNode(path)).thenReturn(node);
+        when(node.getNodes()).thenAnswer(invocation -> iterator(children));
+    }
+
+    private static NodeIterator iterator(final Node... children) {
+        final Iterator<Node> iterator = Arrays.asList(children).iterator();
+        final NodeIterator nodes = mock(NodeIterator.class);
+        when(nodes.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(nodes.nextNode()).thenAnswer(invocation -> iterator.next());
+        return nodes;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.fcrepo.audit.AuditNamespaces.REPOSITORY;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_CREATION;
+import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
+import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.eventbus.EventBus;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditDispatcherTest {
+
+    private static final String identifier = "27c605e4-98c6-4240-86be-f1bb1971d694";
+
+    private AuditDispatcher dispatcher;
+
+    private QueueAuditSink first;
+
+    private QueueAuditSink second;
+
+    private AuditSink failing;
+
+    private EventBus eventBus;
+
+    @Before
+    public void setUp() {
+        eventBus = new EventBus("Test EventBus");
+        first = new QueueAuditSink();
+        second = new QueueAuditSink();
+        failing = mock(AuditSink.class);
+        doThrow(new RuntimeException("sink failure")).when(failing).write(any(AuditRecord.class));
+
+        dispatcher = new AuditDispatcher();
+        dispatcher.setSinks(Arrays.asList(first, failing, second));
+        setField(dispatcher, "eventBus", eventBus);
+        dispatcher.register();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentWritesNeedSessionPerWrite() {
+        final AuditDispatcher concurrent = new AuditDispatcher();
+        concurrent.setSinks(Arrays.asList(new InternalAuditor()));
+        concurrent.setWriterThreads(4);
+        setField(concurrent, "eventBus", eventBus);
+        concurrent.register();
+    }
+
+    @Test
+    public void testConcurrentWritesWithSessionPerWrite() {
+        final InternalAuditor auditor = new InternalAuditor();
+        auditor.setSessionPerWrite(true);
+        final AuditDispatcher concurrent = new AuditDispatcher();
+        concurrent.setSinks(Arrays.asList(auditor));
+        concurrent.setVirtualThreads(true);
+        setField(concurrent, "eventBus", eventBus);
+        concurrent.register();
+        concurrent.releaseConnections();
+    }
+
+    @Test
+    public void testFanOut() throws Exception {
+        eventBus.post(mockEvent());
+
+        final AuditRecord record = first.poll(5, SECONDS);
+        assertNotNull(record);
+        assertSame(record, second.poll(5, SECONDS));
+        assertEquals("urn:uuid:" + identifier, record.getEventID());
+        assertEquals("/foo/bar", record.getPath());
+        assertEquals("jdoe", record.getUserID());
+        assertEquals(OBJECT_ADD, record.getAuditEventType());
+
+        dispatcher.releaseConnections();
+        assertEquals(1, dispatcher.getFailedCount());
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    private static FedoraEvent mockEvent() {
+        final Map<String, String> info = new HashMap<>();
+        info.put(BASE_URL, "http://localhost:8080/rest");
+        info.put(USER_AGENT, "curl/7.43.0");
+        final FedoraEvent event = mock(FedoraEvent.class);
+        when(event.getEventID()).thenReturn("urn:uuid:" + identifier);
+        when(event.getPath()).thenReturn("/foo/bar");
+        when(event.getUserID()).thenReturn("jdoe");
+        when(event.getDate()).thenReturn(Instant.ofEpochMilli(1428676236521L));
+        when(event.getInfo()).thenReturn(info);
+        when(event.getTypes()).thenReturn(singleton(RESOURCE_CREATION));
+        when(event.getResourceTypes()).thenReturn(singleton(REPOSITORY + "Container"));
+        return event;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditExecutorsTest {
+
+    @Test
+    public void testPlatformThreads() throws Exception {
+        runConcurrently(AuditExecutors.newWriterExecutor("test", 4, false), 4);
+    }
+
+    @Test
+    public void testVirtualThreadsOrFallback() throws Exception {
+        runConcurrently(AuditExecutors.newWriterExecutor("test", 4, true), 4);
+    }
+
+    /**
+     * Submit tasks that can only finish once all of them are running at the same time.
+     */
+    private static void runConcurrently(final ExecutorService executor, final int tasks) throws Exception {
+        final CountDownLatch running = new CountDownLatch(tasks);
+        final CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                running.countDown();
+                try {
+                    if (running.await(5, SECONDS)) {
+                        done.countDown();
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertTrue(done.await(10, SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, SECONDS));
+        assertEquals(0, done.getCount());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AuditPathRebalancerTest {
+
+    private static final String identifier = "27c605e4-98c6-4240-86be-f1bb1971d694";
+
+    @Mock
+    private FedoraRepository mockRepository;
+
+    @Mock
+    private ContainerService mockContainerService;
+
+    @Mock
+    private FedoraSessionImpl mockSession;
+
+    @Mock
+    private Session mockJcrSession;
+
+    @Before
+    public void setUp() {
+        when(mockRepository.login()).thenReturn(mockSession);
+        when(mockSession.getJcrSession()).thenReturn(mockJcrSession);
+    }
+
+    @Test
+    public void testRebalance() throws RepositoryException {
+        mockNode("/audit", "27", "summary");
+        final Node bucket27 = mockNode("/audit/27", "c6");
+        final Node bucketC6 = mockNode("/audit/27/c6", "05");
+        final Node bucket05 = mockNode("/audit/27/c6/05", "e4");
+        final Node bucketE4 = mockNode("/audit/27/c6/05/e4", identifier);
+
+        final AuditPathRebalancer rebalancer = new AuditPathRebalancer(mockRepository, mockContainerService,
+                "/audit", new UuidPathMinter(2, 2));
+        rebalancer.setPause(0);
+        rebalancer.run();
+
+        verify(mockContainerService).findOrCreate(mockSession, "/audit/27/c6");
+        verify(mockJcrSession).move("/audit/27/c6/05/e4/" + identifier, "/audit/27/c6/" + identifier);
+        verify(bucketE4).remove();
+        verify(bucket05).remove();
+        verify(bucketC6, never()).remove();
+        verify(bucket27, never()).remove();
+        verify(mockJcrSession, never()).getNode("/audit/summary");
+        verify(mockSession).expire();
+        assertEquals(1, rebalancer.getScannedCount());
+        assertEquals(1, rebalancer.getMovedCount());
+        assertTrue(rebalancer.isDone());
+    }
+
+    @Test
+    public void testAlreadyBalanced() throws RepositoryException {
+        mockNode("/audit", "27");
+        mockNode("/audit/27", "c6");
+        mockNode("/audit/27/c6", identifier);
+
+        final AuditPathRebalancer rebalancer = new AuditPathRebalancer(mockRepository, mockContainerService,
+                "/audit", new UuidPathMinter(2, 2));
+        rebalancer.setPause(0);
+        rebalancer.run();
+
+        verify(mockJcrSession, never()).move(anyString(), anyString());
+        verify(mockSession, never()).commit();
+        assertEquals(1, rebalancer.getScannedCount());
+        assertEquals(0, rebalancer.getMovedCount());
+    }
+
+    private Node mockNode(final String path, final String... children) throws RepositoryException {
+        final Node node = mock(Node.class);
+        when(mockJcrSession.getNode(path)).thenReturn(node);
+        when(node.getNodes()).thenAnswer(invocation -> iterator(children));
+        return node;
+    }
+
+    private static NodeIterator iterator(final String... names) throws RepositoryException {
+        final Iterator<String> iterator = Arrays.asList(names).iterator();
+        final NodeIterator nodes = mock(NodeIterator.class);
+        when(nodes.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(nodes.nextNode()).thenAnswer(invocation -> {
+            final Node child = mock(Node.class);
+            when(child.getName()).thenReturn(iterator.next());
+            return child;
+        });
+        return nodes;
+    }
+}
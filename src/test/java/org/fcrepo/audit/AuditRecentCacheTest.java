@@ -0,0 +1,115 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.TestRecords.BASE_URL;
+import static org.fcrepo.audit.TestRecords.record;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditRecentCacheTest {
+
+    private AuditRecentCache cache;
+
+    private long time;
+
+    @Before
+    public void setUp() {
+        cache = new AuditRecentCache(4, 2, 2);
+    }
+
+    @Test
+    public void testRecent() {
+        final AuditRecord first = add("/a");
+        assertEquals(asList(first), cache.recent(10));
+        final AuditRecord second = add("/b");
+        final AuditRecord third = add("/a");
+        assertEquals(asList(third, second, first), cache.recent(10));
+        assertEquals(asList(third, second), cache.recent(2));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testRecentWraps() {
+        add("/a");
+        add("/a");
+        final AuditRecord third = add("/a");
+        final AuditRecord fourth = add("/a");
+        final AuditRecord fifth = add("/a");
+        final AuditRecord sixth = add("/a");
+        assertEquals(asList(sixth, fifth, fourth, third), cache.recent(10));
+        assertEquals(4, cache.size());
+        assertEquals(6, cache.getAddedCount());
+    }
+
+    @Test
+    public void testPerObject() {
+        add("/a");
+        final AuditRecord second = add("/a");
+        final AuditRecord other = add("/b");
+        final AuditRecord third = add("/a");
+        assertEquals(asList(third, second), cache.recent(BASE_URL + "/a", 10));
+        assertEquals(asList(third), cache.recent(BASE_URL + "/a", 1));
+        assertEquals(third, cache.last(BASE_URL + "/a"));
+        assertEquals(other, cache.last(BASE_URL + "/b"));
+        assertEquals(asList(BASE_URL + "/a", BASE_URL + "/b"), cache.getObjects());
+    }
+
+    @Test
+    public void testEvictsObjects() {
+        add("/a");
+        final AuditRecord b = add("/b");
+        final AuditRecord a = add("/a");
+        final AuditRecord c = add("/c");
+        assertNull(cache.last(BASE_URL + "/b"));
+        assertEquals(emptyList(), cache.recent(BASE_URL + "/b", 10));
+        assertEquals(a, cache.last(BASE_URL + "/a"));
+        assertEquals(c, cache.last(BASE_URL + "/c"));
+        assertEquals(asList(BASE_URL + "/c", BASE_URL + "/a"), cache.getObjects());
+        assertEquals(asList(c, a, b), cache.recent(3));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(emptyList(), cache.recent(10));
+        assertNull(cache.last(BASE_URL + "/a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new AuditRecentCache(0, 1, 1);
+    }
+
+    private AuditRecord add(final String path) {
+        final AuditRecord record = record(time++, time % 2 == 0 ? OBJECT_ADD : CONTENT_MOD, "alice", path);
+        cache.write(record);
+        return record;
+    }
+}
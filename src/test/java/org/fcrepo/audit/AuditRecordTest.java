@@ -0,0 +1,86 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Collections.singleton;
+import static org.fcrepo.audit.AuditNamespaces.REPOSITORY;
+import static org.fcrepo.audit.AuditProperties.CONTENT_REM;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_DELETION;
+import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
+import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditRecordTest {
+
+    private static final String identifier = "27c605e4-98c6-4240-86be-f1bb1971d694";
+
+    @Test
+    public void testFromEvent() {
+        final Map<String, String> info = new HashMap<>();
+        info.put(BASE_URL, "http://localhost:8080/rest");
+        info.put(USER_AGENT, "curl/7.43.0");
+        final FedoraEvent event = mock(FedoraEvent.class);
+        when(event.getEventID()).thenReturn("urn:uuid:" + identifier);
+        when(event.getPath()).thenReturn("/foo/bar");
+        when(event.getUserID()).thenReturn("jdoe");
+        when(event.getDate()).thenReturn(Instant.ofEpochMilli(1428676236521L));
+        when(event.getInfo()).thenReturn(info);
+        when(event.getTypes()).thenReturn(singleton(RESOURCE_DELETION));
+        when(event.getResourceTypes()).thenReturn(singleton(REPOSITORY + "Binary"));
+
+        final AuditRecord record = AuditRecord.fromEvent(event);
+        assertEquals(UUID.fromString(identifier), record.getUuid());
+        assertEquals("urn:uuid:" + identifier, record.getEventID());
+        assertSame(record.getEventID(), record.getEventID());
+        assertEquals(1428676236521L, record.getEpochMillis());
+        assertEquals("2015-04-10T14:30:36Z", record.getEventDate());
+        assertEquals(CONTENT_REM, record.getAuditEventType());
+        assertEquals("curl/7.43.0", record.getUserAgent());
+        assertEquals("http://localhost:8080/rest/foo/bar", record.getObjectURI());
+    }
+
+    @Test
+    public void testMissingEventID() {
+        final AuditRecord record = new AuditRecord(null, 0L, null, "jdoe", null, null, "/foo");
+        assertNull(record.getUuid());
+        assertNull(record.getEventID());
+        assertEquals("1970-01-01T00:00:00Z", record.getEventDate());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testParseEventIDInvalid() {
+        AuditRecord.parseEventID(identifier);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.fcrepo.audit.AuditProperties.CONTENT_ADD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_REM;
+import static org.fcrepo.audit.TestRecords.TIMESTAMP;
+import static org.fcrepo.audit.TestRecords.USER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditRingBufferTest {
+
+    private static AuditRecord record(final int i) {
+        return TestRecords.record(new UUID(0L, i), TIMESTAMP + i, i % 2 == 0 ? CONTENT_ADD : null, USER,
+                "Mozilla/5.0 (caf\u00e9 \ud83d\ude00)", "/foo/" + i);
+    }
+
+    @Test
+    public void testCodecRoundTrip() {
+        final AuditRecord record = record(2);
+        assertEquals(record, AuditRecordCodec.fromBytes(AuditRecordCodec.toBytes(record)));
+
+        final AuditRecord sparse = new AuditRecord(null, 0L, OBJECT_REM, null, null, null, "/");
+        assertEquals(sparse, AuditRecordCodec.fromBytes(AuditRecordCodec.toBytes(sparse)));
+        assertEquals(AuditRecordCodec.encodedLength(record), AuditRecordCodec.toBytes(record).length);
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        final AuditRingBuffer ring = AuditRingBuffer.allocateDirect(4, 256);
+        final AuditRingBuffer.Reader reader = ring.newReader();
+        assertNull(reader.poll());
+        assertTrue(ring.offer(record(0)));
+        assertTrue(ring.offer(record(1)));
+        assertEquals(2, reader.available());
+        assertEquals(record(0), reader.poll());
+        assertEquals(record(1), reader.poll());
+        assertNull(reader.poll());
+    }
+
+    @Test
+    public void testReaderHoldsBackWriter() {
+        final AuditRingBuffer ring = AuditRingBuffer.allocateDirect(4, 256);
+        final AuditRingBuffer.Reader reader = ring.newReader();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(record(i)));
+        }
+        assertFalse(ring.offer(record(4)));
+        assertEquals(1, ring.getRejectedCount());
+
+        assertEquals(record(0), reader.poll());
+        assertTrue(ring.offer(record(4)));
+
+        final List<AuditRecord> records = new ArrayList<>();
+        assertEquals(4, reader.drain(records::add, 10));
+        assertEquals(record(4), records.get(3));
+
+        reader.close();
+        for (int i = 5; i < 20; i++) {
+            assertTrue(ring.offer(record(i)));
+        }
+    }
+
+    @Test
+    public void testOversizedRecordRejected() {
+        final AuditRingBuffer ring = AuditRingBuffer.allocateDirect(2, 64);
+        assertFalse(ring.fits(record(0)));
+        assertFalse(ring.offer(record(0)));
+        assertEquals(-1, ring.getPublishedSequence());
+        assertEquals(1, ring.getOversizedCount());
+        assertEquals(0, ring.getRejectedCount());
+    }
+
+    @Test
+    public void testMultipleReaders() throws Exception {
+        final int count = 100000;
+        final AuditRingBuffer ring = AuditRingBuffer.allocateDirect(1024, 256);
+        final AuditRingBuffer.Reader first = ring.newReader();
+        final AuditRingBuffer.Reader second = ring.newReader();
+        final long[] sums = new long[2];
+        final Thread[] threads = new Thread[2];
+        final AuditRingBuffer.Reader[] readers = { first, second };
+        for (int r = 0; r < 2; r++) {
+            final int index = r;
+            threads[r] = new Thread(() -> {
+                int seen = 0;
+                while (seen < count) {
+                    final AuditRecord record = readers[index].poll();
+                    if (record != null) {
+                        assertEquals(seen, record.getUuid().getLeastSignificantBits());
+                        sums[index] += record.getEpochMillis();
+                        seen++;
+                    }
+                }
+            });
+            threads[r].start();
+        }
+        for (int i = 0; i < count; i++) {
+            while (!ring.offer(record(i))) {
+                Thread.yield();
+            }
+        }
+        threads[0].join();
+        threads[1].join();
+        assertEquals(sums[0], sums[1]);
+        assertEquals(count * TIMESTAMP + (long) count * (count - 1) / 2, sums[0]);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.fcrepo.audit.AuditProperties.CONTENT_ADD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditRollupTest {
+
+    private static final long HOUR = AuditRollup.MILLIS_PER_HOUR;
+
+    private final AuditRollup rollup = new AuditRollup();
+
+    @Test
+    public void testDrainReturnsCountsSinceLastDrain() {
+        rollup.increment(record(10 * HOUR + 5, OBJECT_ADD, "alice"));
+        rollup.increment(record(10 * HOUR + 6, OBJECT_ADD, "alice"));
+        rollup.increment(record(10 * HOUR + 7, CONTENT_ADD, "alice"));
+        rollup.increment(record(11 * HOUR, OBJECT_ADD, "bob"));
+        rollup.increment(record(11 * HOUR, null, "bob"));
+
+        final Map<AuditRollup.Key, Long> deltas = rollup.drain(11 * HOUR);
+        assertEquals(3, deltas.size());
+        assertEquals(2L, (long) deltas.get(new AuditRollup.Key(10, OBJECT_ADD, "alice")));
+        assertEquals(1L, (long) deltas.get(new AuditRollup.Key(10, CONTENT_ADD, "alice")));
+        assertEquals(1L, (long) deltas.get(new AuditRollup.Key(11, OBJECT_ADD, "bob")));
+
+        rollup.increment(record(11 * HOUR + 1, OBJECT_ADD, "bob"));
+        final Map<AuditRollup.Key, Long> next = rollup.drain(11 * HOUR);
+        assertEquals(1, next.size());
+        assertEquals(1L, (long) next.get(new AuditRollup.Key(11, OBJECT_ADD, "bob")));
+        assertEquals(2L, rollup.get(new AuditRollup.Key(11, OBJECT_ADD, "bob")));
+    }
+
+    @Test
+    public void testRestore() {
+        rollup.increment(record(0, OBJECT_ADD, "alice"));
+        final Map<AuditRollup.Key, Long> deltas = rollup.drain(0);
+        rollup.restore(deltas);
+        rollup.increment(record(0, OBJECT_ADD, "alice"));
+        assertEquals(2L, (long) rollup.drain(0).get(new AuditRollup.Key(0, OBJECT_ADD, "alice")));
+    }
+
+    @Test
+    public void testStaleGroupsDiscarded() {
+        rollup.increment(record(HOUR, OBJECT_ADD, "alice"));
+        rollup.drain(HOUR);
+        assertTrue(rollup.drain(5 * HOUR).isEmpty());
+        assertEquals(0L, rollup.get(new AuditRollup.Key(1, OBJECT_ADD, "alice")));
+    }
+
+    @Test
+    public void testConcurrentIncrements() throws InterruptedException {
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    rollup.increment(record(j % 3 * HOUR, OBJECT_ADD, "alice"));
+                }
+            });
+            threads[i].start();
+        }
+        long total = 0;
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (final long delta : rollup.drain(0).values()) {
+            total += delta;
+        }
+        assertEquals(40000L, total);
+    }
+
+    @Test
+    public void testIncrementsRacingDrainNotLost() throws InterruptedException {
+        final Thread writer = new Thread(() -> {
+            for (int j = 0; j < 100000; j++) {
+                rollup.increment(record(j % 2 * HOUR, OBJECT_ADD, "alice"));
+            }
+        });
+        writer.start();
+        long total = 0;
+        while (writer.isAlive()) {
+            for (final long delta : rollup.drain(10 * HOUR).values()) {
+                total += delta;
+            }
+        }
+        writer.join();
+        for (final long delta : rollup.drain(10 * HOUR).values()) {
+            total += delta;
+        }
+        assertEquals(100000L, total);
+    }
+
+    private static AuditRecord record(final long millis, final String type, final String agent) {
+        return TestRecords.record(millis, type, agent, "/a");
+    }
+}
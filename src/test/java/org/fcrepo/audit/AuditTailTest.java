@@ -0,0 +1,112 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.TestRecords.record;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditTailTest {
+
+    private AuditTail tail;
+
+    @Before
+    public void setUp() {
+        tail = new AuditTail();
+        tail.setCapacity(8);
+        tail.start();
+    }
+
+    @Test
+    public void testRead() {
+        final AuditRecord first = record("/a");
+        final AuditRecord second = record("/b");
+        tail.write(first);
+        tail.write(second);
+
+        final AuditTail.Batch batch = tail.read(0, 10);
+        assertEquals(0, batch.getFirstSequence());
+        assertEquals(2, batch.getNextSequence());
+        assertEquals(0, batch.getMissedCount());
+        assertEquals(first, batch.getRecords().get(0));
+        assertEquals(second, batch.getRecords().get(1));
+
+        assertEquals(1, tail.read(1, 10).getRecords().size());
+        assertEquals(1, tail.read(0, 1).getRecords().size());
+        assertTrue(tail.read(2, 10).getRecords().isEmpty());
+        assertEquals(2, tail.read(100, 10).getNextSequence());
+    }
+
+    @Test
+    public void testMissed() {
+        for (int i = 0; i < 20; i++) {
+            tail.write(record("/" + i));
+        }
+        final AuditTail.Batch batch = tail.read(0, 100);
+        assertEquals(12, batch.getMissedCount());
+        assertEquals(12, batch.getFirstSequence());
+        assertEquals(8, batch.getRecords().size());
+        assertEquals("/12", batch.getRecords().get(0).getPath());
+        assertEquals(20, batch.getNextSequence());
+        assertEquals(12, tail.getOldestSequence());
+        assertEquals(12, tail.getMissedCount());
+    }
+
+    @Test
+    public void testWait() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<AuditTail.Batch> pending = executor.submit(() -> tail.read(0, 10, 10, SECONDS));
+            Thread.sleep(100);
+            tail.write(record("/a"));
+            final AuditTail.Batch batch = pending.get(5, SECONDS);
+            assertEquals(1, batch.getRecords().size());
+            assertEquals(1, batch.getNextSequence());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWaitTimeout() throws InterruptedException {
+        final long start = System.nanoTime();
+        final AuditTail.Batch batch = tail.read(0, 10, 50, MILLISECONDS);
+        assertTrue(batch.getRecords().isEmpty());
+        assertEquals(0, batch.getNextSequence());
+        assertTrue(System.nanoTime() - start >= MILLISECONDS.toNanos(50));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacity() {
+        new AuditTail().setCapacity(10);
+    }
+}
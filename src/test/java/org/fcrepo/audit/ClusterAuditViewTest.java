@@ -0,0 +1,216 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Arrays.asList;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_REM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.UUID;
+
+import javax.jcr.Binary;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Value;
+
+import org.fcrepo.audit.bundle.AuditBundle;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ClusterAuditViewTest {
+
+    private static final String identifier = "27c605e4-98c6-4240-86be-f1bb1971d694";
+
+    private static final String identifierPath = "27/c6/05/e4/" + identifier;
+
+    @Mock
+    private FedoraRepository mockRepository;
+
+    @Mock
+    private FedoraSessionImpl mockSession;
+
+    @Mock
+    private Session mockJcrSession;
+
+    @Mock
+    private Node mockNodes;
+
+    @Mock
+    private NodeIterator mockChildren;
+
+    @Mock
+    private Node mockNodeA;
+
+    @Mock
+    private Node mockNodeB;
+
+    private ClusterAuditView view;
+
+    @Before
+    public void setUp() {
+        view = new ClusterAuditView(mockRepository, "/audit");
+    }
+
+    @Test
+    public void testPartitionLocations() throws RepositoryException {
+        mockPartitions();
+        assertEquals(asList("node-a", "node-b"), view.getNodeIds());
+        verify(mockSession).expire();
+    }
+
+    @Test
+    public void testFindAuditNode() throws RepositoryException {
+        mockPartitions();
+        when(mockJcrSession.nodeExists("/audit/nodes/node-b/" + identifierPath)).thenReturn(true);
+        assertEquals("/audit/nodes/node-b/" + identifierPath, view.findAuditNode("urn:uuid:" + identifier));
+    }
+
+    @Test
+    public void testFindMissingAuditNode() throws RepositoryException {
+        mockPartitions();
+        assertNull(view.findAuditNode("urn:uuid:" + identifier));
+    }
+
+    @Test
+    public void testHourlyCountsMerged() throws RepositoryException {
+        mockPartitions();
+        mockSummary("/audit/nodes/node-a/summary/2015-04-10", "14 2 " + OBJECT_ADD + " bypassAdmin",
+                "15 1 " + OBJECT_REM + " bypassAdmin");
+        mockSummary("/audit/nodes/node-b/summary/2015-04-10", "14 3 " + OBJECT_ADD + " bypassAdmin");
+
+        final SortedMap<String, Long> counts = view.getHourlyCounts(LocalDate.of(2015, 4, 10));
+        assertEquals(2, counts.size());
+        assertEquals(5L, (long) counts.get("14 " + OBJECT_ADD + " bypassAdmin"));
+        assertEquals(1L, (long) counts.get("15 " + OBJECT_REM + " bypassAdmin"));
+    }
+
+    @Test
+    public void testFindCompactedAuditNode() throws RepositoryException {
+        mockPartitions();
+        mockBundle("/audit/nodes/node-a", "2015-04-10.0", new AuditRecord(UUID.fromString(identifier),
+                1428676236000L, OBJECT_ADD, "bypassAdmin", "curl/7.35", "http://localhost/rest", "/a"));
+        assertEquals("/audit/nodes/node-a/bundles/2015-04-10.0", view.findAuditNode("urn:uuid:" + identifier));
+    }
+
+    @Test
+    public void testHourlyCountsFromBundles() throws RepositoryException {
+        mockPartitions();
+        mockSummary("/audit/nodes/node-a/summary/2015-04-10", "14 2 " + OBJECT_ADD + " bypassAdmin");
+        mockBundle("/audit/nodes/node-b", "2015-04-10.0", new AuditRecord(UUID.fromString(identifier),
+                1428676236000L, OBJECT_ADD, "bypassAdmin", "curl/7.35", "http://localhost/rest", "/a"));
+
+        final SortedMap<String, Long> counts = view.getHourlyCounts(LocalDate.of(2015, 4, 10));
+        assertEquals(1, counts.size());
+        assertEquals(3L, (long) counts.get("14 " + OBJECT_ADD + " bypassAdmin"));
+    }
+
+    @Test
+    public void testPartitionName() {
+        assertEquals("fcrepo-1.example.org", ClusterAuditView.toPartitionName(" fcrepo-1.example.org "));
+        assertEquals("a-b", ClusterAuditView.toPartitionName("a-b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartitionNameRejected() {
+        ClusterAuditView.toPartitionName("a/b");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPartitionNameRejected() {
+        ClusterAuditView.toPartitionName(" ");
+    }
+
+    private void mockPartitions() throws RepositoryException {
+        when(mockRepository.login()).thenReturn(mockSession);
+        when(mockSession.getJcrSession()).thenReturn(mockJcrSession);
+        when(mockJcrSession.nodeExists("/audit/nodes")).thenReturn(true);
+        when(mockJcrSession.getNode("/audit/nodes")).thenReturn(mockNodes);
+        when(mockNodes.getNodes()).thenReturn(mockChildren);
+        when(mockChildren.hasNext()).thenReturn(true, true, false);
+        when(mockChildren.nextNode()).thenReturn(mockNodeB, mockNodeA);
+        when(mockNodeA.getName()).thenReturn("node-a");
+        when(mockNodeB.getName()).thenReturn("node-b");
+    }
+
+    private void mockBundle(final String location, final String name, final AuditRecord record)
+            throws RepositoryException {
+        final byte[] bytes = AuditBundle.write(Collections.singletonList(record));
+        final Node bundles = mock(Node.class);
+        final NodeIterator children = mock(NodeIterator.class);
+        final Node bundleNode = mock(Node.class);
+        when(mockJcrSession.nodeExists(location + "/bundles")).thenReturn(true);
+        when(mockJcrSession.getNode(location + "/bundles")).thenReturn(bundles);
+        when(bundles.getNodes()).thenReturn(children);
+        when(children.hasNext()).thenReturn(true, false);
+        when(children.nextNode()).thenReturn(bundleNode);
+        when(bundleNode.getName()).thenReturn(name);
+        when(bundleNode.hasProperty("audit:bundle")).thenReturn(true);
+
+        final Binary binary = mock(Binary.class);
+        when(binary.read(any(byte[].class), anyLong())).thenAnswer(invocation -> {
+            final byte[] buffer = (byte[]) invocation.getArguments()[0];
+            final int position = ((Long) invocation.getArguments()[1]).intValue();
+            final int length = Math.min(buffer.length, bytes.length - position);
+            System.arraycopy(bytes, position, buffer, 0, length);
+            return length;
+        });
+        final Node stored = mock(Node.class);
+        final Property property = mock(Property.class);
+        when(mockJcrSession.getNode(location + "/bundles/" + name)).thenReturn(stored);
+        when(stored.getProperty("audit:bundle")).thenReturn(property);
+        when(property.getBinary()).thenReturn(binary);
+    }
+
+    private void mockSummary(final String path, final String... counts) throws RepositoryException {
+        final Node summary = mock(Node.class);
+        final Property property = mock(Property.class);
+        final Value[] values = new Value[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            values[i] = mock(Value.class);
+            when(values[i].getString()).thenReturn(counts[i]);
+        }
+        when(mockJcrSession.nodeExists(path)).thenReturn(true);
+        when(mockJcrSession.getNode(path)).thenReturn(summary);
+        when(summary.hasProperty("audit:hourlyCount")).thenReturn(true);
+        when(summary.getProperty("audit:hourlyCount")).thenReturn(property);
+        when(property.getValues()).thenReturn(values);
+    }
+}
@@ -21,6 +21,7 @@ import static org.apache.jena.datatypes.xsd.XSDDatatype.XSDdateTime;
 import static org.apache.jena.datatypes.xsd.XSDDatatype.XSDstring;
 import static org.apache.jena.rdf.model.ResourceFactory.createResource;
 import static org.apache.jena.rdf.model.ResourceFactory.createTypedLiteral;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static org.fcrepo.audit.AuditNamespaces.AUDIT;
@@ -35,6 +36,8 @@ import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_MODIFICATION;
 import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
 import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
@@ -42,6 +45,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.util.collections.Sets.newSet;
@@ -51,10 +55,18 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
+import java.io.InputStream;
+
+import javax.jcr.Binary;
 import javax.jcr.Node;
 import javax.jcr.PropertyType;
 import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.ValueFactory;
+import javax.jcr.Workspace;
+import javax.jcr.nodetype.NodeTypeManager;
 import javax.security.auth.login.LoginException;
 
 import org.fcrepo.kernel.api.FedoraRepository;
@@ -115,9 +127,24 @@ public class InternalAuditorTest {
     @Mock
     private static ContainerImpl mockContainer;
 
+    @Mock
+    private Session mockJcrSession;
+
+    @Mock
+    private Workspace mockWorkspace;
+
+    @Mock
+    private NodeTypeManager mockNodeTypeManager;
+
     @Mock
     private static Node mockNode;
 
+    @Mock
+    private ValueFactory mockValueFactory;
+
+    @Mock
+    private Binary mockBinary;
+
     private static final String CONTENT_MOD = AUDIT + "contentModification";
     private static final String CONTENT_REM = AUDIT + "contentRemoval";
     private static final String METADATA_MOD = AUDIT + "metadataModification";
@@ -127,7 +154,7 @@ public class InternalAuditorTest {
     private static final String OBJECT_REM = EVENT_TYPE + "del";
 
     @Before
-    public void setUp() {
+    public void setUp() throws RepositoryException {
         testTnternalAuditor = spy(new InternalAuditor());
         auxInfo.put(BASE_URL, baseUrl);
         auxInfo.put(USER_AGENT, userAgent);
@@ -136,19 +163,63 @@ public class InternalAuditorTest {
         setField(testTnternalAuditor, "session", mockSession);
         setField(testTnternalAuditor, "containerService", mockContainerService);
         setField(testTnternalAuditor, "AUDIT_CONTAINER_LOCATION", "/audit");
+        when(mockNode.getSession()).thenReturn(mockJcrSession);
+        when(mockJcrSession.getValueFactory()).thenReturn(mockValueFactory);
+        when(mockValueFactory.createBinary(any(InputStream.class))).thenReturn(mockBinary);
     }
 
     @Test
     public void testRegister() throws RepositoryException, LoginException {
         System.setProperty(AUDIT_CONTAINER, "/audit");
         when(mockRepository.login()).thenReturn(mockSession);
-        setField(testTnternalAuditor, "jcrTools", mock(JcrTools.class));
+        mockNodeTypes(false);
+        final JcrTools mockJcrTools = mock(JcrTools.class);
+        setField(testTnternalAuditor, "jcrTools", mockJcrTools);
         testTnternalAuditor.register();
-        verify(mockContainerService).findOrCreate(mockSession, "/audit");
+        verify(mockContainerService, timeout(1000)).findOrCreate(mockSession, "/audit");
+        verify(mockJcrTools, timeout(1000)).registerNodeTypes(mockJcrSession, "audit.cnd");
+        verify(mockSession, timeout(1000)).commit();
         verify(mockBus).register(any(InternalAuditor.class));
         System.clearProperty(AUDIT_CONTAINER);
     }
 
+    @Test
+    public void testRegisterSkipsExistingNodeTypes() throws RepositoryException, LoginException {
+        System.setProperty(AUDIT_CONTAINER, "/audit");
+        when(mockRepository.login()).thenReturn(mockSession);
+        mockNodeTypes(true);
+        final JcrTools mockJcrTools = mock(JcrTools.class);
+        setField(testTnternalAuditor, "jcrTools", mockJcrTools);
+        testTnternalAuditor.setBackgroundInit(false);
+        testTnternalAuditor.register();
+        verify(mockContainerService).findOrCreate(mockSession, "/audit");
+        verify(mockJcrTools, never()).registerNodeTypes(any(Session.class), anyString());
+        verify(mockSession).commit();
+        System.clearProperty(AUDIT_CONTAINER);
+    }
+
+    @Test
+    public void testEventsBufferedDuringStartup() throws Exception {
+        System.setProperty(AUDIT_CONTAINER, "/audit");
+        when(mockRepository.login()).thenReturn(mockSession);
+        mockNodeTypes(true);
+        final CountDownLatch containerCreated = new CountDownLatch(1);
+        when(mockContainerService.findOrCreate(mockSession, "/audit")).thenAnswer(invocation -> {
+            containerCreated.await();
+            return mockContainer;
+        });
+        when(mockContainerService.findOrCreate(mockSession, "/audit/" + identifierPath)).thenReturn(mockContainer);
+        when(mockContainer.getNode()).thenReturn(mockNode);
+        testTnternalAuditor.register();
+
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        verify(mockContainerService, never()).findOrCreate(mockSession, "/audit/" + identifierPath);
+
+        containerCreated.countDown();
+        verify(mockContainerService, timeout(1000)).findOrCreate(mockSession, "/audit/" + identifierPath);
+        System.clearProperty(AUDIT_CONTAINER);
+    }
+
     @Test
     public void testRegisterUnsuccessful() throws RepositoryException, LoginException  {
         when(mockRepository.login()).thenReturn(mockSession);
@@ -190,9 +261,111 @@ public class InternalAuditorTest {
 
         verify(mockNode).setProperty(eq("premis:hasEventRelatedObject"),
                 eq("http://localhost:8080/rest/non/audit/container/path"), eq(PropertyType.URI));
+        verify(mockNode).setProperty("audit:record", mockBinary);
+        verify(mockNode, never()).setProperty(eq("audit:path"), anyString());
         verify(mockContainerService).findOrCreate( any(FedoraSession.class), eq("/audit/" + identifierPath));
     }
 
+    @Test
+    public void testSessionPerWrite() throws Exception {
+        final FedoraSessionImpl writeSession = mock(FedoraSessionImpl.class);
+        when(mockRepository.login()).thenReturn(writeSession);
+        when(mockContainerService.findOrCreate(any(FedoraSession.class), anyString())).thenReturn(mockContainer);
+        when(mockContainer.getNode()).thenReturn(mockNode);
+        testTnternalAuditor.setSessionPerWrite(true);
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        verify(mockContainerService).findOrCreate(eq(writeSession), eq("/audit/" + identifierPath));
+        verify(writeSession).commit();
+        verify(writeSession).expire();
+        verify(mockSession, never()).commit();
+    }
+
+    @Test
+    public void testPathLayout() throws Exception {
+        when(mockContainerService.findOrCreate(any(FedoraSession.class), anyString())).thenReturn(mockContainer);
+        when(mockContainer.getNode()).thenReturn(mockNode);
+        testTnternalAuditor.setPathLayout("2x2");
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        verify(mockContainerService).findOrCreate(any(FedoraSession.class), eq("/audit/27/c6/" + identifier));
+    }
+
+    @Test
+    public void testGetEventPathsWithPreviousLayouts() {
+        testTnternalAuditor.setPathLayout("3x1");
+        testTnternalAuditor.setPreviousPathLayouts(asList("2x4"));
+        assertEquals(asList("27c/" + identifier, identifierPath),
+                testTnternalAuditor.getEventPaths("urn:uuid:" + identifier));
+    }
+
+    @Test
+    public void testGetEventPathsKeepsDefaultLayout() {
+        assertEquals(asList(identifierPath), testTnternalAuditor.getEventPaths("urn:uuid:" + identifier));
+        testTnternalAuditor.setPathLayout("3x1");
+        assertEquals(asList("27c/" + identifier, identifierPath),
+                testTnternalAuditor.getEventPaths("urn:uuid:" + identifier));
+    }
+
+    @Test
+    public void testNodePartition() throws Exception {
+        when(mockContainerService.findOrCreate(any(FedoraSession.class), anyString())).thenReturn(mockContainer);
+        when(mockContainer.getNode()).thenReturn(mockNode);
+        testTnternalAuditor.setNodeId("fcrepo 1");
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        verify(mockContainerService).findOrCreate(any(FedoraSession.class),
+                eq("/audit/nodes/fcrepo-1/" + identifierPath));
+    }
+
+    @Test
+    public void testContainer() throws Exception {
+        when(mockContainerService.findOrCreate(any(FedoraSession.class), anyString())).thenReturn(mockContainer);
+        when(mockContainer.getNode()).thenReturn(mockNode);
+        testTnternalAuditor.setContainer("tenants/a/audit/");
+        assertEquals("/tenants/a/audit", testTnternalAuditor.getPartitionLocation());
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        verify(mockContainerService).findOrCreate(any(FedoraSession.class),
+                eq("/tenants/a/audit/" + identifierPath));
+    }
+
+    @Test
+    public void testRollupOffByDefault() throws Exception {
+        when(mockContainerService.findOrCreate(any(FedoraSession.class), anyString())).thenReturn(mockContainer);
+        when(mockContainer.getNode()).thenReturn(mockNode);
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        testTnternalAuditor.flushRollup();
+        verify(mockRepository, never()).login();
+        verify(mockContainerService, never()).findOrCreate(any(FedoraSession.class), eq("/audit/summary/2015-04-10"));
+    }
+
+    @Test
+    public void testRollupFlush() throws Exception {
+        testTnternalAuditor.setRollupInterval(3600);
+        final FedoraSessionImpl flushSession = mock(FedoraSessionImpl.class);
+        final ContainerImpl summaryContainer = mock(ContainerImpl.class);
+        final Node summaryNode = mock(Node.class);
+        when(mockRepository.login()).thenReturn(flushSession);
+        when(mockContainerService.findOrCreate(any(FedoraSession.class), anyString())).thenReturn(mockContainer);
+        when(mockContainerService.findOrCreate(flushSession, "/audit/summary/2015-04-10"))
+                .thenReturn(summaryContainer);
+        when(mockContainer.getNode()).thenReturn(mockNode);
+        when(summaryContainer.getNode()).thenReturn(summaryNode);
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        testTnternalAuditor.recordEvent(setupMockEvent(singleton(RESOURCE_DELETION), emptySet()));
+        testTnternalAuditor.flushRollup();
+        verify(summaryNode).setProperty("audit:hourlyCount", new String[] { "14 2 " + OBJECT_REM + " " + userID });
+        verify(flushSession).commit();
+        verify(flushSession).expire();
+
+        testTnternalAuditor.flushRollup();
+        verify(mockRepository).login();
+    }
+
+    @Test
+    public void testIsAuditPathMatchesWholeSegments() {
+        assertTrue(InternalAuditor.isAuditPath("/audit"));
+        assertTrue(InternalAuditor.isAuditPath("/audit/27/c6"));
+        assertFalse(InternalAuditor.isAuditPath("/auditlog/27/c6"));
+    }
+
     @Test
     public void testNodeRemoved() throws Exception {
         final Set<EventType> eventTypes = singleton(RESOURCE_DELETION);
@@ -287,6 +460,13 @@ public class InternalAuditorTest {
     }
 
 
+    private void mockNodeTypes(final boolean registered) throws RepositoryException {
+        when(mockSession.getJcrSession()).thenReturn(mockJcrSession);
+        when(mockJcrSession.getWorkspace()).thenReturn(mockWorkspace);
+        when(mockWorkspace.getNodeTypeManager()).thenReturn(mockNodeTypeManager);
+        when(mockNodeTypeManager.hasNodeType("audit:InternalEvent")).thenReturn(registered);
+    }
+
     private static FedoraEvent setupMockEvent(final Set<EventType> eventTypes,
                                            final Set<String> resourceTypes) throws RepositoryException {
         final FedoraEvent mockFedoraEvent = mock(FedoraEvent.class);
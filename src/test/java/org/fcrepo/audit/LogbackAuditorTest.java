@@ -85,4 +85,28 @@ public class LogbackAuditorTest {
                     }
                 }));
     }
+
+    @Test
+    public void testEventIdNotUuid() {
+        final Logger root = (Logger) getLogger(LogbackAuditor.class);
+        when(mockAppender.getName()).thenReturn("MockAppender");
+        root.addAppender(mockAppender);
+
+        final FedoraEvent mockEvent = mock(FedoraEvent.class);
+        when(mockEvent.getUserID()).thenReturn(jcrEventUserID);
+        when(mockEvent.getPath()).thenReturn(jcrEventPath);
+        when(mockEvent.getEventID()).thenReturn("info:fedora/event/1");
+
+        new LogbackAuditor().recordEvent(mockEvent);
+
+        verify(mockAppender).doAppend(
+                (ILoggingEvent) argThat(new ArgumentMatcher<Object>() {
+
+                    @Override
+                    public boolean matches(final Object argument) {
+                        return ((LoggingEvent) argument).getFormattedMessage()
+                                .contains("jdoe /foo/bar");
+                    }
+                }));
+    }
 }
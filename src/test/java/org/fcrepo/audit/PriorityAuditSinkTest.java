@@ -0,0 +1,178 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static java.util.Arrays.asList;
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.AuditProperties.METADATA_MOD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_REM;
+import static org.fcrepo.audit.TestRecords.TIMESTAMP;
+import static org.fcrepo.audit.TestRecords.USER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class PriorityAuditSinkTest {
+
+    private final List<AuditRecord> written = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PriorityAuditSink sink;
+
+    @Before
+    public void setUp() {
+        sink = new PriorityAuditSink();
+        sink.setDelegate(record -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(record);
+        });
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        sink.stop();
+    }
+
+    @Test
+    public void testCriticalRecordsOvertakeModifications() throws InterruptedException {
+        sink.start();
+        blockWriter();
+        for (int i = 0; i < 50; i++) {
+            sink.write(record(METADATA_MOD));
+        }
+        for (int i = 0; i < 20; i++) {
+            sink.write(record(OBJECT_REM));
+        }
+        assertEquals(20, sink.getQueuedCount("critical"));
+        assertEquals(50, sink.getQueuedCount("metadata"));
+
+        release.countDown();
+        sink.stop();
+        assertEquals(71, written.size());
+        int lastCritical = 0;
+        for (int i = 0; i < written.size(); i++) {
+            if (OBJECT_REM.equals(written.get(i).getAuditEventType())) {
+                lastCritical = i;
+            }
+        }
+        assertTrue("Critical records written by position " + lastCritical, lastCritical < 25);
+    }
+
+    @Test
+    public void testWeightedFairDraining() throws InterruptedException {
+        sink.setLanes(asList(new AuditLane("a", 3, 1000, AuditLane.Overflow.BLOCK, OBJECT_ADD),
+                new AuditLane("b", 1, 1000, AuditLane.Overflow.BLOCK)));
+        sink.start();
+        blockWriter();
+        for (int i = 0; i < 100; i++) {
+            sink.write(record(OBJECT_ADD));
+            sink.write(record(CONTENT_MOD));
+        }
+        release.countDown();
+        sink.stop();
+
+        // after the blocked record, every round takes three from lane a and one from lane b
+        final List<AuditRecord> drained = written.subList(1, 81);
+        final long fromA = drained.stream().filter(r -> OBJECT_ADD.equals(r.getAuditEventType())).count();
+        assertEquals(60, fromA);
+    }
+
+    @Test
+    public void testOverflowPolicies() throws InterruptedException {
+        sink.setLanes(asList(new AuditLane("newest", 1, 2, AuditLane.Overflow.DROP_NEWEST, METADATA_MOD),
+                new AuditLane("oldest", 1, 2, AuditLane.Overflow.DROP_OLDEST, CONTENT_MOD),
+                new AuditLane("other", 1, 10, AuditLane.Overflow.BLOCK)));
+        sink.start();
+        blockWriter();
+        final AuditRecord first = record(CONTENT_MOD);
+        sink.write(first);
+        for (int i = 0; i < 5; i++) {
+            sink.write(record(METADATA_MOD));
+            sink.write(record(CONTENT_MOD));
+        }
+        assertEquals(3, sink.getDroppedCount("newest"));
+        assertEquals(4, sink.getDroppedCount("oldest"));
+        assertEquals(0, sink.getDroppedCount("other"));
+
+        release.countDown();
+        sink.stop();
+        assertEquals(5, written.size());
+        assertTrue(!written.contains(first));
+    }
+
+    @Test
+    public void testBlockingLane() throws InterruptedException {
+        sink.setLanes(asList(new AuditLane("critical", 1, 1, AuditLane.Overflow.BLOCK)));
+        sink.start();
+        blockWriter();
+        sink.write(record(OBJECT_ADD));
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            sink.write(record(OBJECT_ADD));
+            done.countDown();
+        });
+        producer.start();
+        assertTrue(!done.await(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        sink.stop();
+        assertEquals(3, written.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentWritesNeedSessionPerWrite() {
+        sink.setDelegate(new InternalAuditor());
+        sink.setWriterThreads(2);
+        sink.start();
+    }
+
+    /**
+     * Hand the writer a first record that it blocks on, so that later records queue up.
+     */
+    private void blockWriter() throws InterruptedException {
+        sink.write(record(METADATA_MOD));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private static AuditRecord record(final String type) {
+        return TestRecords.record(TIMESTAMP, type, USER, "/object");
+    }
+}
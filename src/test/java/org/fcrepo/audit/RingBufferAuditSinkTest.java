@@ -0,0 +1,58 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.fcrepo.audit.TestRecords.record;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class RingBufferAuditSinkTest {
+
+    @Test
+    public void testOversizedRecordWritten() throws Exception {
+        final List<AuditRecord> written = Collections.synchronizedList(new ArrayList<>());
+        final RingBufferAuditSink sink = new RingBufferAuditSink();
+        sink.setDelegate(written::add);
+        sink.setSlots(4);
+        sink.setSlotSize(128);
+        sink.start();
+
+        final AuditRecord small = record("/a");
+        final char[] longPath = new char[512];
+        Arrays.fill(longPath, 'x');
+        final AuditRecord large = record("/" + new String(longPath));
+        sink.write(small);
+        sink.write(large);
+        sink.stop();
+
+        assertEquals(2, written.size());
+        assertEquals(1, sink.getOversizedCount());
+        assertEquals(0, sink.getDroppedCount());
+        assertEquals(0, sink.getQueuedCount());
+    }
+}
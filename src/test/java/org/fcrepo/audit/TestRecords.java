@@ -0,0 +1,76 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit;
+
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+
+import java.util.UUID;
+
+/**
+ * Audit records for tests, with shared fixture values for the fields a test does not care about.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class TestRecords {
+
+    public static final long TIMESTAMP = 1428676236000L;
+
+    public static final String USER = "bypassAdmin";
+
+    public static final String USER_AGENT = "curl/7.35";
+
+    public static final String BASE_URL = "http://localhost:8080/rest";
+
+    private TestRecords() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param path the repository path
+     * @return a content modification record with a random UUID and the fixture values
+     */
+    public static AuditRecord record(final String path) {
+        return record(TIMESTAMP, CONTENT_MOD, USER, path);
+    }
+
+    /**
+     * @param millis the time of the event in milliseconds since the epoch
+     * @param type the audit event type URI, may be null
+     * @param user the user
+     * @param path the repository path
+     * @return a record with a random UUID, the fixture user agent and the fixture base URL
+     */
+    public static AuditRecord record(final long millis, final String type, final String user, final String path) {
+        return record(UUID.randomUUID(), millis, type, user, USER_AGENT, path);
+    }
+
+    /**
+     * @param uuid the UUID of the event
+     * @param millis the time of the event in milliseconds since the epoch
+     * @param type the audit event type URI, may be null
+     * @param user the user
+     * @param userAgent the user agent, may be null
+     * @param path the repository path
+     * @return a record with the fixture base URL
+     */
+    public static AuditRecord record(final UUID uuid, final long millis, final String type, final String user,
+            final String userAgent, final String path) {
+        return new AuditRecord(uuid, millis, type, user, userAgent, BASE_URL, path);
+    }
+}
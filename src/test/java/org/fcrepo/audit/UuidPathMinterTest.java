@@ -38,4 +38,24 @@ public class UuidPathMinterTest {
         assertEquals(IDENTIFIER_PATH, path);
     }
 
+    @Test
+    public void getWithLayout() {
+        assertEquals("27c/605/" + UUID, new UuidPathMinter(3, 2).get(UUID));
+        assertEquals("27c605e4/98c64240/" + UUID, UuidPathMinter.parse("8x2").get(UUID));
+        assertEquals(UUID, new UuidPathMinter(2, 0).get(UUID));
+    }
+
+    @Test
+    public void forExpectedVolume() {
+        assertEquals(0, UuidPathMinter.forExpectedVolume(500, 1000).getCount());
+        assertEquals(1, UuidPathMinter.forExpectedVolume(100000, 1000).getCount());
+        assertEquals(2, UuidPathMinter.forExpectedVolume(10000000, 1000).getCount());
+        assertEquals(3, UuidPathMinter.forExpectedVolume(1000000000L, 1000).getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidLayout() {
+        new UuidPathMinter(4, 9);
+    }
+
 }
\ No newline at end of file
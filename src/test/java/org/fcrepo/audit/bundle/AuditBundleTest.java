@@ -0,0 +1,123 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.bundle;
+
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.TestRecords.TIMESTAMP;
+import static org.fcrepo.audit.TestRecords.USER;
+import static org.fcrepo.audit.TestRecords.record;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.fcrepo.audit.AuditRecord;
+import org.fcrepo.audit.AuditRecordCodec;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditBundleTest {
+
+    @Test
+    public void testFind() throws IOException {
+        final List<AuditRecord> records = records(1000);
+        final AuditBundle bundle = AuditBundle.open(AuditBundle.write(records));
+
+        assertEquals(1000, bundle.getRecordCount());
+        for (final AuditRecord record : records) {
+            assertTrue(bundle.mightContain(record.getUuid()));
+            assertEquals(record, bundle.find(record.getUuid()));
+        }
+        assertNull(bundle.find(UUID.randomUUID()));
+    }
+
+    @Test
+    public void testReadAll() throws IOException {
+        final List<AuditRecord> records = records(600);
+        final List<AuditRecord> read = AuditBundle.open(AuditBundle.write(records)).readAll();
+
+        assertEquals(records.size(), read.size());
+        assertTrue(read.containsAll(records));
+        for (int i = 1; i < read.size(); i++) {
+            final UUID previous = read.get(i - 1).getUuid();
+            final UUID uuid = read.get(i).getUuid();
+            assertTrue(previous.getMostSignificantBits() < uuid.getMostSignificantBits() ||
+                    previous.getMostSignificantBits() == uuid.getMostSignificantBits() &&
+                    previous.getLeastSignificantBits() < uuid.getLeastSignificantBits());
+        }
+    }
+
+    @Test
+    public void testCompressed() {
+        final List<AuditRecord> records = records(1000);
+        int encoded = 0;
+        for (final AuditRecord record : records) {
+            encoded += AuditRecordCodec.encodedLength(record);
+        }
+        assertTrue(AuditBundle.write(records).length < encoded / 2);
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final AuditBundle bundle = AuditBundle.open(AuditBundle.write(new ArrayList<>()));
+        assertEquals(0, bundle.getRecordCount());
+        assertNull(bundle.find(UUID.randomUUID()));
+        assertTrue(bundle.readAll().isEmpty());
+    }
+
+    @Test
+    public void testBloomFilter() throws IOException {
+        final AuditBundle bundle = AuditBundle.open(AuditBundle.write(records(1000)));
+        int positives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (bundle.mightContain(UUID.randomUUID())) {
+                positives++;
+            }
+        }
+        assertTrue("false positives: " + positives, positives < 500);
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotABundle() throws IOException {
+        AuditBundle.open(new byte[32]);
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncated() throws IOException {
+        final byte[] bytes = AuditBundle.write(records(10));
+        final AuditBundle bundle = AuditBundle.open(Arrays.copyOf(bytes, bytes.length - 8));
+        assertFalse(bundle.readAll().isEmpty());
+    }
+
+    private static List<AuditRecord> records(final int count) {
+        final List<AuditRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(record(TIMESTAMP + i, CONTENT_MOD, USER, "/objects/" + (i % 50)));
+        }
+        return records;
+    }
+}
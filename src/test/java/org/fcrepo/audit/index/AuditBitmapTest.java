@@ -0,0 +1,132 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditBitmapTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testAdd() {
+        final AuditBitmap bitmap = AuditBitmap.of(5, 1, 70000, 5);
+        assertEquals(3, bitmap.getCardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(2));
+        assertFalse(bitmap.contains(-1));
+        assertArrayEquals(new int[] { 1, 5, 70000 }, bitmap.toArray());
+    }
+
+    @Test
+    public void testDenseChunk() {
+        final AuditBitmap bitmap = new AuditBitmap();
+        final BitSet expected = new BitSet();
+        for (int i = 0; i < 10000; i++) {
+            bitmap.add(i * 3);
+            expected.set(i * 3);
+        }
+        assertEquals(10000, bitmap.getCardinality());
+        assertArrayEquals(expected.stream().toArray(), bitmap.toArray());
+    }
+
+    @Test
+    public void testOperations() {
+        // sparse and dense chunks, and chunks only one operand has
+        for (final int bound : new int[] { 1000, 65536 * 3, 65536 * 8 }) {
+            for (final int count : new int[] { 100, 5000, 100000 }) {
+                final BitSet a = randomBits(bound, count);
+                final BitSet b = randomBits(bound, count / 2 + 1);
+                final AuditBitmap x = toBitmap(a);
+                final AuditBitmap y = toBitmap(b);
+
+                final BitSet and = (BitSet) a.clone();
+                and.and(b);
+                final BitSet or = (BitSet) a.clone();
+                or.or(b);
+                final BitSet andNot = (BitSet) a.clone();
+                andNot.andNot(b);
+
+                assertArrayEquals(and.stream().toArray(), AuditBitmap.and(x, y).toArray());
+                assertArrayEquals(or.stream().toArray(), AuditBitmap.or(x, y).toArray());
+                assertArrayEquals(andNot.stream().toArray(), AuditBitmap.andNot(x, y).toArray());
+                assertEquals(and.cardinality(), AuditBitmap.and(x, y).getCardinality());
+                assertEquals(or.cardinality(), AuditBitmap.or(x, y).getCardinality());
+                assertEquals(andNot.cardinality(), AuditBitmap.andNot(x, y).getCardinality());
+                assertArrayEquals(a.stream().toArray(), x.toArray());
+            }
+        }
+    }
+
+    @Test
+    public void testSerialization() throws IOException {
+        final AuditBitmap bitmap = toBitmap(randomBits(65536 * 4, 50000));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmap.write(new DataOutputStream(bytes));
+        final AuditBitmap read = AuditBitmap.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(bitmap, read);
+        read.add(65536 * 5);
+        assertEquals(bitmap.getCardinality() + 1, read.getCardinality());
+    }
+
+    @Test
+    public void testCopy() {
+        final AuditBitmap bitmap = AuditBitmap.of(1, 2, 3);
+        final AuditBitmap copy = bitmap.copy();
+        copy.add(4);
+        assertEquals(3, bitmap.getCardinality());
+        assertEquals(4, copy.getCardinality());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegative() {
+        new AuditBitmap().add(-1);
+    }
+
+    private BitSet randomBits(final int bound, final int count) {
+        final BitSet bits = new BitSet();
+        for (int i = 0; i < count; i++) {
+            bits.set(random.nextInt(bound));
+        }
+        return bits;
+    }
+
+    private static AuditBitmap toBitmap(final BitSet bits) {
+        final AuditBitmap bitmap = new AuditBitmap();
+        bits.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.index;
+
+import static java.util.Arrays.asList;
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.AuditProperties.OBJECT_REM;
+import static org.fcrepo.audit.TestRecords.record;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.fcrepo.audit.AuditRecord;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditIndexTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+    private AuditIndex index;
+
+    private AuditRecord aliceDeletesInMarch;
+
+    private AuditRecord bobDeletesInMarch;
+
+    private AuditRecord aliceAddsInMarch;
+
+    private AuditRecord aliceDeletesInApril;
+
+    @Before
+    public void setUp() {
+        index = new AuditIndex();
+        aliceDeletesInMarch = add("alice", OBJECT_REM, MARCH.plusDays(3));
+        bobDeletesInMarch = add("bob", OBJECT_REM, MARCH.plusDays(10));
+        aliceAddsInMarch = add("alice", OBJECT_ADD, MARCH);
+        aliceDeletesInApril = add("alice", OBJECT_REM, MARCH.plusMonths(1));
+    }
+
+    @Test
+    public void testSearch() {
+        assertEquals(asList(aliceDeletesInMarch.getEventID()), index.getEventIDs(
+                index.search("alice", OBJECT_REM, MARCH, MARCH.plusMonths(1).minusDays(1))));
+        assertEquals(asList(aliceDeletesInMarch.getEventID(), aliceDeletesInApril.getEventID()),
+                index.getEventIDs(index.search("alice", OBJECT_REM, null, null)));
+        assertEquals(asList(aliceDeletesInMarch.getEventID(), bobDeletesInMarch.getEventID(),
+                aliceAddsInMarch.getEventID()), index.getEventIDs(index.search(null, null, MARCH,
+                MARCH.plusDays(30))));
+        assertEquals(4, index.search(null, null, null, null).getCardinality());
+        assertTrue(index.search("carol", null, null, null).isEmpty());
+        assertTrue(index.search(null, CONTENT_MOD, null, null).isEmpty());
+    }
+
+    @Test
+    public void testCombine() {
+        final AuditBitmap notAlice = AuditBitmap.andNot(index.all(), index.agent("alice"));
+        assertEquals(asList(bobDeletesInMarch.getEventID()), index.getEventIDs(notAlice));
+        final AuditBitmap addsOrBob = AuditBitmap.or(index.type(OBJECT_ADD), index.agent("bob"));
+        assertEquals(2, addsOrBob.getCardinality());
+        assertEquals(1, index.days(MARCH, MARCH).getCardinality());
+        assertEquals(4, index.agent("curl/7.35").getCardinality());
+    }
+
+    @Test
+    public void testSearchDoesNotExposeIndex() {
+        index.search("alice", null, null, null).add(100);
+        assertEquals(3, index.agent("alice").getCardinality());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final Path file = Files.createTempFile("audit-index", ".bin");
+        try {
+            index.save(file);
+            final AuditIndex loaded = AuditIndex.load(file);
+            assertEquals(4, loaded.size());
+            assertEquals(index.getEventIDs(index.search("alice", OBJECT_REM, null, null)),
+                    loaded.getEventIDs(loaded.search("alice", OBJECT_REM, null, null)));
+            final AuditRecord added = new AuditRecord(UUID.randomUUID(), 0L, OBJECT_REM, "alice", null, "", "/x");
+            assertEquals(4, loaded.add(added));
+            assertEquals(3, loaded.search("alice", OBJECT_REM, null, null).getCardinality());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testCatchUp() throws IOException {
+        assertTrue(index.isComplete());
+        index.startCatchUp();
+        assertFalse(index.isComplete());
+        final AuditRecord written = record(0L, OBJECT_ADD, "carol", "/written");
+        final AuditRecord missing = record(0L, OBJECT_ADD, "carol", "/missing");
+        index.add(written);
+        assertFalse(index.addIfAbsent(aliceAddsInMarch));
+        assertFalse(index.addIfAbsent(written));
+        assertTrue(index.addIfAbsent(missing));
+        assertFalse(index.addIfAbsent(missing));
+        assertEquals(6, index.size());
+        assertEquals(2, index.agent("carol").getCardinality());
+
+        final Path file = Files.createTempFile("audit-index", ".bin");
+        try {
+            index.save(file);
+            assertFalse(AuditIndex.load(file).isComplete());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        index.finishCatchUp();
+        assertTrue(index.isComplete());
+    }
+
+    private AuditRecord add(final String user, final String type, final LocalDate day) {
+        final long millis = day.atTime(12, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        final AuditRecord record = record(millis, type, user, "/object");
+        index.add(record);
+        return record;
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.integration;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.http.entity.ContentType.APPLICATION_OCTET_STREAM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Load harness measuring the impact of auditing on repository write latency. It drives a configurable mix
+ * of requests against the embedded test container at a target rate from many concurrent clients, and
+ * reports latency percentiles, audit lag and heap growth.
+ *
+ * <p>The harness only runs when {@code fcrepo.audit.load} is true. The {@code audit-load} Maven profile runs
+ * it five times, with the Spring profiles {@code audit-off}, {@code audit-logback}, {@code audit-internal}
+ * and {@code audit-dispatcher}, the last once on platform and once on virtual writer threads
+ * ({@code fcrepo.audit.virtualThreads}, with {@code fcrepo.audit.writerThreads} platform threads, 8 by
+ * default), and writes one report per run to {@code target/audit-load}. The load is configured with these
+ * system properties:</p>
+ * <ul>
+ * <li>{@code fcrepo.audit.load.clients}: concurrent clients (16)</li>
+ * <li>{@code fcrepo.audit.load.rate}: target requests per second over all clients (100)</li>
+ * <li>{@code fcrepo.audit.load.duration}: measured seconds (60)</li>
+ * <li>{@code fcrepo.audit.load.warmup}: unmeasured seconds before that (10)</li>
+ * <li>{@code fcrepo.audit.load.mix}: request weights
+ * ({@code create=40,update=30,delete=10,binary=20})</li>
+ * <li>{@code fcrepo.audit.load.binarySize}: bytes per binary (16384)</li>
+ * <li>{@code fcrepo.audit.load.sampleInterval}: seconds between heap and lag samples (10)</li>
+ * </ul>
+ *
+ * <p>Latency is measured from the time a request was scheduled to be sent rather than when it was sent, so
+ * that a slow repository does not hide its own backlog.</p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@ContextConfiguration({"/spring-test/test-container.xml"})
+@RunWith(SpringJUnit4ClassRunner.class)
+public class AuditLoadIT {
+
+    private static final Logger LOGGER = getLogger(AuditLoadIT.class);
+
+    protected static final int SERVER_PORT = Integer.parseInt(System.getProperty("fcrepo.dynamic.test.port", "8080"));
+
+    protected static final String HOSTNAME = "localhost";
+
+    protected static final String serverAddress = "http://" + HOSTNAME + ":" + SERVER_PORT;
+
+    private static final String PREFIX = "fcrepo.audit.load.";
+
+    private static final String SPARQL_UPDATE =
+            "INSERT DATA { <> <http://purl.org/dc/elements/1.1/description> \"%s\" }";
+
+    private final String mode = System.getProperty("spring.profiles.active", "audit-internal") +
+            (Boolean.getBoolean("fcrepo.audit.virtualThreads") ? "-virtual" : "");
+
+    private final int clients = Integer.getInteger(PREFIX + "clients", 16);
+
+    private final double rate = Double.parseDouble(System.getProperty(PREFIX + "rate", "100"));
+
+    private final long duration = Long.getLong(PREFIX + "duration", 60L);
+
+    private final long warmup = Long.getLong(PREFIX + "warmup", 10L);
+
+    private final int binarySize = Integer.getInteger(PREFIX + "binarySize", 16384);
+
+    private final long sampleInterval = Long.getLong(PREFIX + "sampleInterval", 10L);
+
+    private final Map<Operation, Integer> mix = parseMix(
+            System.getProperty(PREFIX + "mix", "create=40,update=30,delete=10,binary=20"));
+
+    private final Queue<Created> containers = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Created> binaries = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private CloseableHttpClient client;
+
+    private String parent;
+
+    /**
+     * The kinds of requests the harness sends.
+     */
+    enum Operation {
+        CREATE, UPDATE, DELETE, BINARY
+    }
+
+    /**
+     * A resource created by the harness.
+     */
+    private static final class Created {
+
+        private final String uri;
+
+        private final boolean binary;
+
+        private Created(final String uri, final boolean binary) {
+            this.uri = uri;
+            this.binary = binary;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue("Set fcrepo.audit.load to run the audit load harness", Boolean.getBoolean("fcrepo.audit.load"));
+        client = HttpClientBuilder.create().useSystemProperties()
+                .setMaxConnTotal(clients).setMaxConnPerRoute(clients).build();
+        parent = serverAddress + "/load-" + UUID.randomUUID();
+        assertEquals(201, execute(new HttpPut(parent)));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testAuditLoad() throws Exception {
+        final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+        for (final Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+        final LatencyHistogram all = new LatencyHistogram();
+
+        LOGGER.info("Warming up {} for {}s", mode, warmup);
+        runLoad(warmup, null, null);
+        final long heapBefore = usedHeapAfterGc();
+
+        LOGGER.info("Running {} at {} requests/s from {} clients for {}s", mode, rate, clients, duration);
+        final List<String> samples = new ArrayList<>();
+        final AtomicLong maxBacklog = new AtomicLong();
+        final long started = System.nanoTime();
+        final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            final long backlog = getBacklog();
+            maxBacklog.accumulateAndGet(backlog, Math::max);
+            samples.add(String.format("%6ds heap=%dMB backlog=%d", NANOSECONDS.toSeconds(System.nanoTime() - started),
+                    memory.getHeapMemoryUsage().getUsed() >> 20, backlog));
+        }, sampleInterval, sampleInterval, SECONDS);
+        final long requests = runLoad(duration, latencies, all);
+        sampler.shutdown();
+        sampler.awaitTermination(1, MINUTES);
+
+        final long drainStarted = System.nanoTime();
+        while (getBacklog() > 0 && System.nanoTime() - drainStarted < MINUTES.toNanos(5)) {
+            Thread.sleep(100);
+        }
+        final long drainMillis = NANOSECONDS.toMillis(System.nanoTime() - drainStarted);
+        final long heapAfter = usedHeapAfterGc();
+
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("mode=%s clients=%d rate=%.1f/s duration=%ds mix=%s binarySize=%d%n",
+                mode, clients, rate, duration, mix, binarySize));
+        report.append(String.format("requests=%d achieved=%.1f/s errors=%d%n",
+                requests, requests / (double) duration, errors.get()));
+        report.append(String.format("%-8s %8s %10s %10s %10s %10s %10s%n",
+                "latency", "count", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        report.append(formatLatency("ALL", all));
+        for (final Operation operation : Operation.values()) {
+            report.append(formatLatency(operation.name(), latencies.get(operation)));
+        }
+        if (getBacklog() < 0) {
+            report.append(String.format("audit lag: not measured for %s%n", mode));
+        } else {
+            report.append(String.format("audit lag: max backlog=%d events, drained in %dms, remaining=%d%n",
+                    maxBacklog.get(), drainMillis, getBacklog()));
+        }
+        report.append(String.format("heap after GC: before=%dMB after=%dMB growth=%dMB%n",
+                heapBefore >> 20, heapAfter >> 20, (heapAfter - heapBefore) >> 20));
+        for (final String sample : samples) {
+            report.append(sample).append(System.lineSeparator());
+        }
+
+        LOGGER.info("Audit load results:{}{}", System.lineSeparator(), report);
+        final Path reports = Paths.get(System.getProperty(PREFIX + "report", "target/audit-load"));
+        Files.createDirectories(reports);
+        Files.write(reports.resolve(mode + ".txt"), report.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("Failed requests", 0, errors.get());
+        assertEquals("Events not audited", 0, Math.max(0L, getBacklog()));
+    }
+
+    /**
+     * Send requests at the target rate until the given number of seconds has passed.
+     *
+     * @return the number of requests sent
+     */
+    private long runLoad(final long seconds, final Map<Operation, LatencyHistogram> latencies,
+            final LatencyHistogram all) throws InterruptedException {
+        final long interval = (long) (SECONDS.toNanos(1) / rate);
+        final long start = System.nanoTime();
+        final long end = start + SECONDS.toNanos(seconds);
+        final AtomicLong ticket = new AtomicLong();
+        final ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                while (true) {
+                    final long scheduled = start + ticket.getAndIncrement() * interval;
+                    if (scheduled >= end) {
+                        return;
+                    }
+                    for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    final Operation operation = nextOperation();
+                    final boolean success = perform(operation);
+                    if (latencies != null) {
+                        final long latency = System.nanoTime() - scheduled;
+                        latencies.get(operation).record(latency);
+                        all.record(latency);
+                        if (!success) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 600, SECONDS);
+        return Math.min(ticket.get(), (end - start + interval - 1) / interval);
+    }
+
+    private Operation nextOperation() {
+        int choice = ThreadLocalRandom.current().nextInt(mix.values().stream().mapToInt(Integer::intValue).sum());
+        for (final Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            choice -= weight.getValue();
+            if (choice < 0) {
+                return weight.getKey();
+            }
+        }
+        return Operation.CREATE;
+    }
+
+    /**
+     * Perform one request. Updates and deletes take a resource from the pool of created resources so that
+     * no two clients touch the same resource at once, and create one instead when the pool is empty.
+     *
+     * @return true if the request succeeded
+     */
+    private boolean perform(final Operation operation) {
+        try {
+            switch (operation) {
+                case UPDATE: {
+                    final Created created = takeResource();
+                    if (created == null) {
+                        return create(false);
+                    }
+                    final boolean success;
+                    if (created.binary) {
+                        final HttpPut put = new HttpPut(created.uri);
+                        put.setEntity(new ByteArrayEntity(randomBytes(), APPLICATION_OCTET_STREAM));
+                        success = isSuccess(execute(put));
+                    } else {
+                        final HttpPatch patch = new HttpPatch(created.uri);
+                        patch.setEntity(new StringEntity(String.format(SPARQL_UPDATE, UUID.randomUUID()),
+                                StandardCharsets.UTF_8));
+                        patch.setHeader("Content-Type", "application/sparql-update");
+                        success = isSuccess(execute(patch));
+                    }
+                    (created.binary ? binaries : containers).add(created);
+                    return success;
+                }
+                case DELETE: {
+                    final Created created = takeResource();
+                    if (created == null) {
+                        return create(false);
+                    }
+                    return isSuccess(execute(new HttpDelete(created.uri)));
+                }
+                case BINARY:
+                    return create(true);
+                default:
+                    return create(false);
+            }
+        } catch (final IOException e) {
+            LOGGER.debug("Request failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean create(final boolean binary) throws IOException {
+        final HttpPost post = new HttpPost(parent);
+        if (binary) {
+            post.setEntity(new ByteArrayEntity(randomBytes(), APPLICATION_OCTET_STREAM));
+        }
+        try (final CloseableHttpResponse response = client.execute(post)) {
+            EntityUtils.consume(response.getEntity());
+            final int status = response.getStatusLine().getStatusCode();
+            if (status == 201 && response.getFirstHeader("Location") != null) {
+                final Created created = new Created(response.getFirstHeader("Location").getValue(), binary);
+                (binary ? binaries : containers).add(created);
+            }
+            return isSuccess(status);
+        }
+    }
+
+    private Created takeResource() {
+        final boolean binaryFirst = ThreadLocalRandom.current().nextBoolean();
+        final Created created = (binaryFirst ? binaries : containers).poll();
+        return created != null ? created : (binaryFirst ? containers : binaries).poll();
+    }
+
+    private byte[] randomBytes() {
+        final byte[] bytes = new byte[binarySize];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+
+    private int execute(final HttpUriRequest request) throws IOException {
+        try (final CloseableHttpResponse response = client.execute(request)) {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        }
+    }
+
+    private static boolean isSuccess(final int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static long getBacklog() {
+        final AuditLoadProbe probe = AuditLoadProbe.getInstance();
+        return probe == null ? -1L : probe.getBacklog();
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static String formatLatency(final String name, final LatencyHistogram histogram) {
+        return String.format("%-8s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getCount(),
+                histogram.getPercentile(50) / 1000.0, histogram.getPercentile(90) / 1000.0,
+                histogram.getPercentile(99) / 1000.0, histogram.getPercentile(99.9) / 1000.0,
+                histogram.getMax() / 1000.0);
+    }
+
+    private static Map<Operation, Integer> parseMix(final String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (final String part : mix.split(",")) {
+            final String[] weight = part.trim().split("=");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.integration;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.fcrepo.audit.InternalAuditor;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Test bean that counts the repository events an auditor is expected to write, so that {@link AuditLoadIT}
+ * can tell how far the {@link InternalAuditor} lags behind.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditLoadProbe {
+
+    private static final Logger LOGGER = getLogger(AuditLoadProbe.class);
+
+    private static volatile AuditLoadProbe instance;
+
+    @Inject
+    private EventBus eventBus;
+
+    @Autowired(required = false)
+    private InternalAuditor internalAuditor;
+
+    private final AtomicLong observed = new AtomicLong();
+
+    /**
+     * @return the probe of the running test container, null if none is configured
+     */
+    public static AuditLoadProbe getInstance() {
+        return instance;
+    }
+
+    /**
+     * Register with the EventBus to receive events.
+     */
+    @PostConstruct
+    public void register() {
+        LOGGER.debug("Initializing: {}", this.getClass().getCanonicalName());
+        eventBus.register(this);
+        instance = this;
+    }
+
+    /**
+     * Unregister from the EventBus.
+     */
+    @PreDestroy
+    public void unregister() {
+        eventBus.unregister(this);
+        instance = null;
+    }
+
+    /**
+     * @param event a repository event
+     */
+    @Subscribe
+    public void countEvent(final FedoraEvent event) {
+        final String container = System.getProperty("fcrepo.audit.container", "/audit");
+        if (!event.getPath().isEmpty() && !event.getPath().startsWith(container)) {
+            observed.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of events the internal auditor has yet to write, or -1 without an internal auditor
+     */
+    public long getBacklog() {
+        return internalAuditor == null ? -1L : observed.get() - internalAuditor.getWrittenCount();
+    }
+}
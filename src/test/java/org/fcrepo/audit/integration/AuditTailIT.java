@@ -0,0 +1,118 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.integration;
+
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Integration tests for the audit tail endpoint. They only run when {@code fcrepo.audit.tail.port} is set,
+ * as the {@code audit-tail} Maven profile does along with the {@code audit-tail} Spring profile.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@ContextConfiguration({"/spring-test/test-container.xml"})
+@RunWith(SpringJUnit4ClassRunner.class)
+public class AuditTailIT {
+
+    protected static final int SERVER_PORT = Integer.parseInt(System.getProperty("fcrepo.dynamic.test.port", "8080"));
+
+    protected static final int TAIL_PORT = Integer.getInteger("fcrepo.audit.tail.port", 0);
+
+    protected static final String serverAddress = "http://localhost:" + SERVER_PORT;
+
+    protected static final String tailAddress = "http://localhost:" + TAIL_PORT + "/audit/tail";
+
+    private static HttpClient client = HttpClientBuilder.create().useSystemProperties().build();
+
+    @BeforeClass
+    public static void checkTailPort() {
+        assumeTrue("Set fcrepo.audit.tail.port to run the audit tail tests", TAIL_PORT > 0);
+    }
+
+    @Test
+    public void testTail() throws Exception {
+        final HttpResponse head = client.execute(new HttpGet(tailAddress + "?wait=0"));
+        assertEquals(200, head.getStatusLine().getStatusCode());
+        final String stream = head.getFirstHeader("Audit-Stream").getValue();
+        final String from = head.getFirstHeader("Audit-Next-Sequence").getValue();
+        head.getEntity().getContent().close();
+
+        final HttpResponse created = client.execute(new HttpPost(serverAddress));
+        final String location = URI.create(created.getFirstHeader("Location").getValue()).getPath();
+        created.getEntity().getContent().close();
+
+        final List<String> lines = new ArrayList<>();
+        String next = from;
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (lines.stream().noneMatch(line -> line.contains(location)) && System.currentTimeMillis() < deadline) {
+            final HttpResponse response = client.execute(new HttpGet(tailAddress + "?stream=" + stream +
+                    "&from=" + next + "&wait=1000"));
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("0", response.getFirstHeader("Audit-Missed").getValue());
+            next = response.getFirstHeader("Audit-Next-Sequence").getValue();
+            lines.addAll(readLines(response));
+        }
+
+        final String line = lines.stream().filter(l -> l.contains(location)).findFirst().orElse(null);
+        assertNotNull("No audit record for " + location + " in " + lines, line);
+        assertTrue(line.contains(OBJECT_ADD));
+        assertTrue(Long.parseLong(next) > Long.parseLong(from));
+    }
+
+    @Test
+    public void testEndedStream() throws Exception {
+        final HttpResponse response = client.execute(new HttpGet(tailAddress + "?stream=ended&from=0"));
+        assertEquals(409, response.getStatusLine().getStatusCode());
+        assertNotNull(response.getFirstHeader("Audit-Next-Sequence"));
+        response.getEntity().getContent().close();
+    }
+
+    private static List<String> readLines(final HttpResponse response) throws Exception {
+        final List<String> lines = new ArrayList<>();
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                response.getEntity().getContent(), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
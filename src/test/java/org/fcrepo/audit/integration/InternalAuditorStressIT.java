@@ -0,0 +1,363 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.integration;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_CREATION;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_DELETION;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_MODIFICATION;
+import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
+import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.audit.AuditDispatcher;
+import org.fcrepo.audit.AuditRecord;
+import org.fcrepo.audit.InternalAuditor;
+import org.fcrepo.http.commons.test.util.SpringContextSingleton;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.observer.EventType;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.google.common.eventbus.AsyncEventBus;
+import com.google.common.eventbus.EventBus;
+
+/**
+ * Stress test firing events at auditors from many threads, writing to the repository of the embedded test
+ * container. Each mode writes into its own partition of the audit container, then every event outside the
+ * audit container must have exactly one audit node with the right type and object, events inside it none,
+ * and the throughput is logged. The events are built before the clock starts.
+ *
+ * <p>In the subscribed mode the events go through an {@link AsyncEventBus}, but since
+ * {@link InternalAuditor#recordEvent} is not marked {@code @AllowConcurrentEvents} the bus delivers them to it
+ * one at a time, whatever the number of bus threads. The direct mode calls it from the producer threads
+ * themselves, each write in its own session, and the dispatcher mode hands the events to several writer
+ * threads.</p>
+ *
+ * <p>The size of the run is configured with these system properties:</p>
+ * <ul>
+ * <li>{@code fcrepo.audit.stress.events}: events fired per mode (2000)</li>
+ * <li>{@code fcrepo.audit.stress.producers}: threads posting or recording events (8)</li>
+ * <li>{@code fcrepo.audit.stress.busThreads}: threads delivering events from the bus (8)</li>
+ * <li>{@code fcrepo.audit.stress.writers}: writer threads in the dispatcher mode (4)</li>
+ * </ul>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@ContextConfiguration({"/spring-test/test-container.xml"})
+@RunWith(SpringJUnit4ClassRunner.class)
+public class InternalAuditorStressIT {
+
+    private static final Logger LOGGER = getLogger(InternalAuditorStressIT.class);
+
+    private static final String PREFIX = "fcrepo.audit.stress.";
+
+    private static final String AUDIT_CONTAINER = System.getProperty("fcrepo.audit.container", "/audit");
+
+    private static final String BASE = "http://localhost:8080/rest";
+
+    private static final Pattern UUID_NAME =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    private static final Set<String> EXCLUDED = new HashSet<>(Arrays.asList("summary", "seals", "bundles"));
+
+    private static final EventType[] TYPES = { RESOURCE_CREATION, RESOURCE_MODIFICATION, RESOURCE_DELETION };
+
+    private static final String REPOSITORY = "http://fedora.info/definitions/v4/repository#";
+
+    private final int events = Integer.getInteger(PREFIX + "events", 2000);
+
+    private final int producers = Integer.getInteger(PREFIX + "producers", 8);
+
+    private final int busThreads = Integer.getInteger(PREFIX + "busThreads", 8);
+
+    private final int writers = Integer.getInteger(PREFIX + "writers", 4);
+
+    private FedoraRepository repository;
+
+    private ContainerService containerService;
+
+    @Before
+    public void setUp() {
+        repository = SpringContextSingleton.getApplicationContext().getBean(FedoraRepository.class);
+        containerService = SpringContextSingleton.getApplicationContext().getBean(ContainerService.class);
+    }
+
+    /**
+     * The auditor subscribed to the bus itself, writing with its shared session. The bus serializes the
+     * deliveries to it.
+     */
+    @Test
+    public void testSubscribed() throws Exception {
+        final ExecutorService busExecutor = newBusExecutor();
+        final AsyncEventBus eventBus = new AsyncEventBus(busExecutor);
+        final InternalAuditor auditor = newAuditor("stress-subscribed", eventBus);
+        auditor.setSubscribe(true);
+        auditor.register();
+        try {
+            final List<FedoraEvent> fired = newEvents();
+            final long start = System.nanoTime();
+            fire(fired, eventBus::post);
+            busExecutor.shutdown();
+            assertTrue(busExecutor.awaitTermination(10, MINUTES));
+            report("subscribed", fired.size(), auditor.getWrittenCount(), System.nanoTime() - start);
+            verifyAuditNodes(auditor, fired);
+        } finally {
+            auditor.releaseConnections();
+        }
+    }
+
+    /**
+     * The producer threads recording the events with the auditor concurrently, each write in its own
+     * session.
+     */
+    @Test
+    public void testDirect() throws Exception {
+        final InternalAuditor auditor = newAuditor("stress-direct", new EventBus());
+        auditor.setSubscribe(false);
+        auditor.setSessionPerWrite(true);
+        auditor.register();
+        try {
+            final List<FedoraEvent> fired = newEvents();
+            final long start = System.nanoTime();
+            fire(fired, auditor::recordEvent);
+            report("direct", fired.size(), auditor.getWrittenCount(), System.nanoTime() - start);
+            verifyAuditNodes(auditor, fired);
+        } finally {
+            auditor.releaseConnections();
+        }
+    }
+
+    /**
+     * The auditor as the sink of a dispatcher with several writer threads, each write in its own session.
+     */
+    @Test
+    public void testDispatcher() throws Exception {
+        final ExecutorService busExecutor = newBusExecutor();
+        final AsyncEventBus eventBus = new AsyncEventBus(busExecutor);
+        final InternalAuditor auditor = newAuditor("stress-dispatcher", eventBus);
+        auditor.setSubscribe(false);
+        auditor.setSessionPerWrite(true);
+        auditor.register();
+        final AuditDispatcher dispatcher = new AuditDispatcher();
+        setField(dispatcher, "eventBus", eventBus);
+        dispatcher.setSinks(Collections.singletonList(auditor));
+        dispatcher.setWriterThreads(writers);
+        dispatcher.setQueueCapacity(events);
+        dispatcher.register();
+        try {
+            final List<FedoraEvent> fired = newEvents();
+            final long start = System.nanoTime();
+            fire(fired, eventBus::post);
+            busExecutor.shutdown();
+            assertTrue(busExecutor.awaitTermination(10, MINUTES));
+            dispatcher.releaseConnections();
+            report("dispatcher", fired.size(), auditor.getWrittenCount(), System.nanoTime() - start);
+            assertEquals(0, dispatcher.getDroppedCount());
+            assertEquals(0, dispatcher.getFailedCount());
+            verifyAuditNodes(auditor, fired);
+        } finally {
+            auditor.releaseConnections();
+        }
+    }
+
+    private ExecutorService newBusExecutor() {
+        return Executors.newFixedThreadPool(busThreads);
+    }
+
+    private InternalAuditor newAuditor(final String nodeId, final EventBus eventBus) {
+        final InternalAuditor auditor = new InternalAuditor();
+        setField(auditor, "eventBus", eventBus);
+        setField(auditor, "repository", repository);
+        setField(auditor, "containerService", containerService);
+        auditor.setBackgroundInit(false);
+        auditor.setRollupInterval(0);
+        auditor.setNodeId(nodeId + "-" + UUID.randomUUID());
+        return auditor;
+    }
+
+    private List<FedoraEvent> newEvents() {
+        final List<FedoraEvent> all = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            all.add(newEvent(i));
+        }
+        return all;
+    }
+
+    /**
+     * Hand the events to the target from all producers at once.
+     */
+    private void fire(final List<FedoraEvent> all, final Consumer<FedoraEvent> target) throws InterruptedException {
+        final CountDownLatch go = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>(producers);
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            final Thread thread = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = producer; i < all.size(); i += producers) {
+                    target.accept(all.get(i));
+                }
+            }, "stress-producer-" + p);
+            threads.add(thread);
+            thread.start();
+        }
+        go.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * @return an event of a rotating type, one in ten inside the audit container and one in fifty at the
+     *         repository root
+     */
+    private static FedoraEvent newEvent(final int i) {
+        final String path = i % 10 == 0 ? AUDIT_CONTAINER + "/stress/" + i : i % 50 == 1 ? "" : "/stress/" + i;
+        final Set<EventType> types = Collections.singleton(TYPES[i % TYPES.length]);
+        final Set<String> resourceTypes = new HashSet<>(Arrays.asList(REPOSITORY + "Resource",
+                i % 4 == 0 ? REPOSITORY + "Binary" : REPOSITORY + "Container"));
+        final Map<String, String> info = new HashMap<>();
+        info.put(BASE_URL, BASE);
+        info.put(USER_AGENT, "stress/" + (i % 3));
+        final String eventID = "urn:uuid:" + UUID.randomUUID();
+        final Instant date = Instant.now();
+        return (FedoraEvent) Proxy.newProxyInstance(FedoraEvent.class.getClassLoader(),
+                new Class<?>[] { FedoraEvent.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getTypes":
+                        return types;
+                    case "getResourceTypes":
+                        return resourceTypes;
+                    case "getPath":
+                        return path;
+                    case "getUserID":
+                        return "stress-user-" + (i % 5);
+                    case "getDate":
+                        return date;
+                    case "getEventID":
+                        return eventID;
+                    case "getInfo":
+                        return info;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "StressEvent{" + eventID + " " + path + "}";
+                    default:
+                        return null;
+                    }
+                });
+    }
+
+    private void verifyAuditNodes(final InternalAuditor auditor, final List<FedoraEvent> fired)
+            throws RepositoryException {
+        int expected = 0;
+        for (final FedoraEvent event : fired) {
+            final AuditRecord found = auditor.findAuditRecord(event.getEventID());
+            if (event.getPath().isEmpty() || event.getPath().startsWith(AUDIT_CONTAINER)) {
+                assertEquals("Audit node for " + event, null, found);
+                continue;
+            }
+            expected++;
+            final AuditRecord record = AuditRecord.fromEvent(event);
+            assertNotNull("No audit node for " + event, found);
+            assertEquals(record.getAuditEventType(), found.getAuditEventType());
+            assertEquals(record.getObjectURI(), found.getObjectURI());
+            assertEquals(record.getUserID(), found.getUserID());
+            assertEquals(record.getUserAgent(), found.getUserAgent());
+            assertEquals(record.getPath(), found.getPath());
+            assertEquals(record.getEventDate(), found.getEventDate());
+        }
+        assertEquals(expected, auditor.getWrittenCount());
+        assertEquals(expected, countAuditNodes(auditor.getPartitionLocation()));
+    }
+
+    private long countAuditNodes(final String partition) throws RepositoryException {
+        final FedoraSession session = repository.login();
+        try {
+            return countAuditNodes(getJcrSession(session), partition, 0);
+        } finally {
+            session.expire();
+        }
+    }
+
+    private static long countAuditNodes(final Session session, final String path, final int depth)
+            throws RepositoryException {
+        long count = 0;
+        for (final NodeIterator nodes = session.getNode(path).getNodes(); nodes.hasNext();) {
+            final String name = nodes.nextNode().getName();
+            if (depth == 0 && EXCLUDED.contains(name)) {
+                continue;
+            }
+            count += UUID_NAME.matcher(name).matches() ? 1 : countAuditNodes(session, path + "/" + name, depth + 1);
+        }
+        return count;
+    }
+
+    /**
+     * @param elapsedNanos the time from the first event handed over until all were written
+     */
+    private void report(final String mode, final int fired, final long written, final long elapsedNanos) {
+        final double seconds = elapsedNanos / (double) SECONDS.toNanos(1);
+        LOGGER.info("Audit stress {}: {} events fired by {} producers over {} bus threads, {} audit nodes " +
+                "written {} seconds after the first was fired, {} audit nodes per second", mode, fired,
+                producers, busThreads, written, String.format("%.2f", seconds),
+                String.format("%.0f", written / Math.max(seconds, 1e-9)));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.integration;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with microsecond resolution and a relative error below one percent, so
+ * that long load runs can record every request without growing the heap.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+class LatencyHistogram {
+
+    // linear buckets below this value, then 128 buckets per power of two
+    private static final int LINEAR = 256;
+
+    private static final int PER_OCTAVE = 128;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(LINEAR + 56 * PER_OCTAVE);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos a latency in nanoseconds
+     */
+    void record(final long nanos) {
+        final long micros = Math.max(0L, nanos / 1000L);
+        buckets.incrementAndGet(index(micros));
+        count.incrementAndGet();
+        long current = max.get();
+        while (micros > current && !max.compareAndSet(current, micros)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the largest recorded latency in microseconds
+     */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the lower bound of the bucket holding the given percentile, in microseconds
+     */
+    long getPercentile(final double percentile) {
+        final long total = count.get();
+        if (total == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(value(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int index(final long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(micros) - 7;
+        return LINEAR + (shift - 1) * PER_OCTAVE + (int) ((micros >> shift) - PER_OCTAVE);
+    }
+
+    static long value(final int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        final int offset = index - LINEAR;
+        return (long) (offset % PER_OCTAVE + PER_OCTAVE) << (offset / PER_OCTAVE + 1);
+    }
+}
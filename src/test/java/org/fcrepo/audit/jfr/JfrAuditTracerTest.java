@@ -0,0 +1,78 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.fcrepo.audit.AuditPhase;
+import org.fcrepo.audit.AuditTrace;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class JfrAuditTracerTest {
+
+    private static final String EVENT_ID = "urn:uuid:2a6c0b7e-4d6f-4c5e-9e0b-1f3a5c7e9b2d";
+
+    private static final String PATH = "/audit/2a/6c/0b/7e/2a6c0b7e-4d6f-4c5e-9e0b-1f3a5c7e9b2d";
+
+    private final JfrAuditTracer tracer = new JfrAuditTracer();
+
+    @Test
+    public void testNotRecording() {
+        assertSame(AuditTrace.NONE, tracer.start(AuditPhase.COMMIT));
+    }
+
+    @Test
+    public void testRecording() throws IOException {
+        final Path file = Files.createTempFile("audit", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("org.fcrepo.audit.Commit").withoutThreshold();
+            recording.start();
+            final AuditTrace trace = tracer.start(AuditPhase.COMMIT);
+            assertNotSame(AuditTrace.NONE, trace);
+            trace.end(EVENT_ID, PATH);
+            recording.stop();
+            recording.dump(file);
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("org.fcrepo.audit."))
+                    .collect(Collectors.toList());
+            assertEquals(1, events.size());
+            assertEquals("org.fcrepo.audit.Commit", events.get(0).getEventType().getName());
+            assertEquals(EVENT_ID, events.get(0).getString("eventID"));
+            assertEquals(PATH, events.get(0).getString("path"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.TestRecords.TIMESTAMP;
+import static org.fcrepo.audit.TestRecords.USER;
+import static org.fcrepo.audit.TestRecords.record;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.fcrepo.audit.AuditRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditSealerTest {
+
+    private InMemorySealStore store;
+
+    private AuditSealer sealer;
+
+    @Before
+    public void setUp() {
+        store = new InMemorySealStore();
+        sealer = new AuditSealer();
+        sealer.setStore(store);
+        sealer.setBatchSize(100);
+        sealer.setMaxDelay(500);
+        sealer.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        sealer.stop();
+    }
+
+    @Test
+    public void testSealsBatches() throws InterruptedException {
+        writeRecords(250);
+        sealer.stop();
+
+        assertEquals(250, sealer.getSealedCount());
+        assertEquals(3, store.seals.size());
+        assertEquals(100, store.seals.get(0).getEventIDs().size());
+        assertEquals(50, store.seals.get(2).getEventIDs().size());
+        assertNull(store.seals.get(0).getPreviousHash());
+        for (int i = 1; i < store.seals.size(); i++) {
+            assertEquals(i + 1, store.seals.get(i).getSequence());
+            assertTrue(MerkleTree.equal(store.seals.get(i - 1).getHash(), store.seals.get(i).getPreviousHash()));
+        }
+        assertTrue(new SealVerifier(store, 4).verify().isValid());
+    }
+
+    @Test
+    public void testContinuesChain() throws InterruptedException {
+        writeRecords(10);
+        sealer.stop();
+
+        sealer = new AuditSealer();
+        sealer.setStore(store);
+        sealer.start();
+        writeRecords(10);
+        sealer.stop();
+
+        assertEquals(2, store.seals.size());
+        assertEquals(2, store.seals.get(1).getSequence());
+        assertTrue(new SealVerifier(store, 2).verify().isValid());
+    }
+
+    @Test
+    public void testVerifierDetectsTampering() throws InterruptedException {
+        writeRecords(1000);
+        sealer.stop();
+        assertEquals(10, new SealVerifier(store, 4).verify().getSealCount());
+
+        final String altered = store.seals.get(3).getEventIDs().get(17);
+        final AuditRecord original = store.records.get(altered);
+        store.records.put(altered, new AuditRecord(original.getUuid(), original.getEpochMillis(),
+                original.getAuditEventType(), "mallory", original.getUserAgent(), original.getBaseURL(),
+                original.getPath()));
+        store.records.remove(store.seals.get(7).getEventIDs().get(0));
+
+        final SealVerifier.Result result = new SealVerifier(store, 4).verify();
+        assertFalse(result.isValid());
+        assertEquals(1000, result.getRecordCount());
+        assertEquals(1, result.getMissingCount());
+        assertEquals(2, result.getTamperedSeals().size());
+        assertEquals(4L, (long) result.getTamperedSeals().get(0));
+        assertEquals(8L, (long) result.getTamperedSeals().get(1));
+        assertTrue(result.getBrokenChain().isEmpty());
+    }
+
+    @Test
+    public void testVerifierDetectsBrokenChain() throws InterruptedException {
+        writeRecords(300);
+        sealer.stop();
+        store.seals.remove(1);
+
+        final SealVerifier.Result result = new SealVerifier(store, 2).verify();
+        assertFalse(result.isValid());
+        assertEquals(1, result.getBrokenChain().size());
+        assertEquals(3L, (long) result.getBrokenChain().get(0));
+        assertTrue(result.getTamperedSeals().isEmpty());
+    }
+
+    private void writeRecords(final int count) {
+        for (int i = 0; i < count; i++) {
+            final AuditRecord record = record(TIMESTAMP + i, OBJECT_ADD, USER, "/object/" + i);
+            store.records.put(record.getEventID(), record);
+            sealer.write(record);
+        }
+    }
+}
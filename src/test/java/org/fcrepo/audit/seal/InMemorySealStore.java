@@ -0,0 +1,63 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.fcrepo.audit.AuditRecord;
+
+/**
+ * Seal store keeping seals and records in memory.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+class InMemorySealStore implements SealStore {
+
+    final List<Seal> seals = new CopyOnWriteArrayList<>();
+
+    final Map<String, AuditRecord> records = new ConcurrentHashMap<>();
+
+    @Override
+    public void append(final Seal seal) {
+        seals.add(seal);
+    }
+
+    @Override
+    public Seal last() {
+        return seals.isEmpty() ? null : seals.get(seals.size() - 1);
+    }
+
+    @Override
+    public List<Seal> readAll() {
+        return new ArrayList<>(seals);
+    }
+
+    @Override
+    public List<AuditRecord> readRecords(final Seal seal) {
+        final List<AuditRecord> sealed = new ArrayList<>();
+        for (final String eventID : seal.getEventIDs()) {
+            sealed.add(records.get(eventID));
+        }
+        return sealed;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.seal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.fcrepo.audit.AuditProperties.CONTENT_MOD;
+import static org.fcrepo.audit.TestRecords.record;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+
+import org.fcrepo.audit.AuditRecord;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class MerkleTreeTest {
+
+    private final AuditRecord a = record("/a");
+
+    private final AuditRecord b = record("/b");
+
+    private final AuditRecord c = record("/c");
+
+    @Test
+    public void testRoot() {
+        assertArrayEquals(MerkleTree.leaf(a), MerkleTree.root(singletonList(a)));
+        assertArrayEquals(MerkleTree.node(MerkleTree.leaf(a), MerkleTree.leaf(b)), MerkleTree.root(asList(a, b)));
+        assertArrayEquals(MerkleTree.node(MerkleTree.node(MerkleTree.leaf(a), MerkleTree.leaf(b)),
+                MerkleTree.leaf(c)), MerkleTree.root(asList(a, b, c)));
+        assertFalse(MerkleTree.equal(MerkleTree.root(asList(a, b)), MerkleTree.root(asList(b, a))));
+    }
+
+    @Test
+    public void testCanonicalToTheSecond() {
+        final AuditRecord later = new AuditRecord(a.getUuid(), a.getEpochMillis() + 1, a.getAuditEventType(),
+                a.getUserID(), a.getUserAgent(), a.getBaseURL(), a.getPath());
+        assertArrayEquals(MerkleTree.canonical(a), MerkleTree.canonical(later));
+    }
+
+    @Test
+    public void testCanonicalKeepsAgentsApart() {
+        final AuditRecord swapped = new AuditRecord(a.getUuid(), a.getEpochMillis(), a.getAuditEventType(),
+                a.getUserAgent(), a.getUserID(), a.getBaseURL(), a.getPath());
+        assertFalse(Arrays.equals(MerkleTree.canonical(a), MerkleTree.canonical(swapped)));
+    }
+
+    @Test
+    public void testCanonicalKeepsFieldBoundaries() {
+        final AuditRecord left = new AuditRecord(a.getUuid(), a.getEpochMillis(), a.getAuditEventType(),
+                "a\nb", "c", a.getBaseURL(), a.getPath());
+        final AuditRecord right = new AuditRecord(a.getUuid(), a.getEpochMillis(), a.getAuditEventType(),
+                "a", "b\nc", a.getBaseURL(), a.getPath());
+        assertFalse(Arrays.equals(MerkleTree.canonical(left), MerkleTree.canonical(right)));
+    }
+
+    @Test
+    public void testHex() {
+        final byte[] hash = MerkleTree.leaf(a);
+        assertEquals(64, MerkleTree.toHex(hash).length());
+        assertArrayEquals(hash, MerkleTree.fromHex(MerkleTree.toHex(hash)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidHex() {
+        MerkleTree.fromHex("0g");
+    }
+}
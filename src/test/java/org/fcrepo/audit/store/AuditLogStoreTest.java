@@ -0,0 +1,178 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import static org.fcrepo.audit.AuditProperties.OBJECT_ADD;
+import static org.fcrepo.audit.TestRecords.USER_AGENT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.fcrepo.audit.AuditRecord;
+import org.fcrepo.audit.TestRecords;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class AuditLogStoreTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-store");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    private static AuditRecord record(final int i) {
+        // out of order times to exercise sorting
+        return TestRecords.record(new UUID(7L, i), 1000L + (i * 7919L) % 1000, OBJECT_ADD, "user" + (i % 3),
+                USER_AGENT, "/foo/" + i);
+    }
+
+    private static List<AuditRecord> scanAll(final AuditLogStore store) {
+        final List<AuditRecord> records = new ArrayList<>();
+        store.scan(Long.MIN_VALUE, Long.MAX_VALUE, records::add);
+        return records;
+    }
+
+    private static void assertSorted(final List<AuditRecord> records) {
+        for (int i = 1; i < records.size(); i++) {
+            assertTrue(RecordKey.of(records.get(i - 1)).compareTo(RecordKey.of(records.get(i))) < 0);
+        }
+    }
+
+    @Test
+    public void testAppendAndScan() throws IOException {
+        try (final AuditLogStore store = new AuditLogStore(directory, 100, 100, false)) {
+            for (int i = 0; i < 1000; i++) {
+                store.append(record(i));
+            }
+            store.flush();
+            assertEquals(10, store.getSegmentCount());
+
+            final List<AuditRecord> all = scanAll(store);
+            assertEquals(1000, all.size());
+            assertSorted(all);
+
+            final List<AuditRecord> range = new ArrayList<>();
+            store.scan(1100L, 1200L, range::add);
+            assertEquals(100, range.size());
+            assertTrue(range.stream().allMatch(r -> r.getEpochMillis() >= 1100L && r.getEpochMillis() < 1200L));
+
+            final AuditRecord expected = record(42);
+            assertEquals(expected, store.get(expected.getEpochMillis(), expected.getUuid()));
+            assertNull(store.get(expected.getEpochMillis(), new UUID(0L, 0L)));
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        try (final AuditLogStore store = new AuditLogStore(directory, 50, 4, false)) {
+            for (int i = 0; i < 1000; i++) {
+                store.append(record(i));
+            }
+            store.flush();
+            assertTrue(store.getSegmentCount() < 4);
+            final List<AuditRecord> all = scanAll(store);
+            assertEquals(1000, all.size());
+            assertSorted(all);
+        }
+    }
+
+    @Test
+    public void testRecovery() throws IOException {
+        try (final AuditLogStore store = new AuditLogStore(directory, 300, 100, false)) {
+            for (int i = 0; i < 1000; i++) {
+                store.append(record(i));
+            }
+        }
+        try (final AuditLogStore store = new AuditLogStore(directory, 300, 100, false)) {
+            final List<AuditRecord> all = scanAll(store);
+            assertEquals(1000, all.size());
+            assertSorted(all);
+            assertNotNull(store.get(record(999).getEpochMillis(), record(999).getUuid()));
+        }
+    }
+
+    @Test
+    public void testCompactionInputsLeftByCrash() throws IOException {
+        final Path saved = Files.createTempDirectory("audit-store-saved");
+        try {
+            try (final AuditLogStore store = new AuditLogStore(directory, 250, 4, false)) {
+                for (int i = 0; i < 750; i++) {
+                    store.append(record(i));
+                }
+                store.flush();
+                assertEquals(3, store.getSegmentCount());
+                copyAll(directory, saved);
+                for (int i = 750; i < 1000; i++) {
+                    store.append(record(i));
+                }
+                store.flush();
+                assertEquals(1, store.getSegmentCount());
+            }
+            // the compaction's inputs reappear, as if it crashed before deleting them
+            copyAll(saved, directory);
+            try (final AuditLogStore store = new AuditLogStore(directory, 250, 4, false)) {
+                assertEquals(1, store.getSegmentCount());
+                assertEquals(1000, scanAll(store).size());
+                assertEquals(1000L, (long) store.aggregate(new AuditQuery(Long.MIN_VALUE, Long.MAX_VALUE, null,
+                        null, null, EnumSet.noneOf(AuditQuery.Dimension.class))).values().stream()
+                        .mapToLong(Long::longValue).sum());
+            }
+        } finally {
+            try (final Stream<Path> files = Files.walk(saved)) {
+                files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+            }
+        }
+    }
+
+    private static void copyAll(final Path from, final Path to) throws IOException {
+        try (final Stream<Path> files = Files.list(from)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith("segment-")) {
+                    Files.copy(file, to.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.audit.store;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.emptySet;
+import static org.fcrepo.audit.AuditProperties.CONTENT_ADD;
+import static org.fcrepo.audit.AuditProperties.CONTENT_REM;
+import static org.fcrepo.audit.AuditProperties.METADATA_MOD;
+import static org.fcrepo.audit.TestRecords.record;
+import static org.fcrepo.audit.store.AuditQuery.Dimension.AGENT;
+import static org.fcrepo.audit.store.AuditQuery.Dimension.AUDIT_TYPE;
+import static org.fcrepo.audit.store.AuditQuery.Dimension.DAY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.fcrepo.audit.AuditRecord;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 2026-10-18
+ */
+public class ColumnarSegmentTest {
+
+    private static final String[] TYPES = { CONTENT_ADD, CONTENT_REM, METADATA_MOD, null };
+
+    private static final long START = 1428676236521L;
+
+    private Path directory;
+
+    private List<AuditRecord> records;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-columns");
+        records = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            // bursts of the same agent and type, spread over several days
+            records.add(record(new UUID(3L, i), START + i * 60000L, TYPES[(i / 7) % TYPES.length],
+                    "user" + (i / 100) % 5, null, "/obj/" + i % 50));
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    private Map<AuditGroup, Long> expected(final AuditQuery query) {
+        final Map<AuditGroup, Long> counts = new HashMap<>();
+        records.stream().filter(query::matches).forEach(r -> counts.merge(query.group(r), 1L, Long::sum));
+        return counts;
+    }
+
+    @Test
+    public void testAggregates() throws IOException {
+        final ColumnarSegment segment = ColumnarSegment.write(directory.resolve("test.col"), records.iterator());
+        assertEquals(records.size(), segment.getRowCount());
+
+        final long mid = START + 5000 * 60000L;
+        final List<AuditQuery> queries = new ArrayList<>();
+        queries.add(new AuditQuery(Long.MIN_VALUE, Long.MAX_VALUE, null, null, null, emptySet()));
+        queries.add(new AuditQuery(mid, mid + 86400000L, null, null, null, emptySet()));
+        queries.add(new AuditQuery(Long.MIN_VALUE, Long.MAX_VALUE, CONTENT_REM, null, null, EnumSet.of(AGENT, DAY)));
+        queries.add(new AuditQuery(mid, Long.MAX_VALUE, null, "user3", null, EnumSet.of(AUDIT_TYPE)));
+        queries.add(new AuditQuery(Long.MIN_VALUE, mid, null, null, "/obj/7", EnumSet.allOf(
+                AuditQuery.Dimension.class)));
+        queries.add(new AuditQuery(Long.MIN_VALUE, Long.MAX_VALUE, null, "nobody", null, emptySet()));
+        for (final AuditQuery query : queries) {
+            assertEquals(query.toString(), expected(query), segment.aggregate(query));
+        }
+    }
+
+    @Test
+    public void testDamagedColumnsRebuilt() throws IOException {
+        final AuditQuery query = new AuditQuery(Long.MIN_VALUE, Long.MAX_VALUE, CONTENT_REM, null, null,
+                EnumSet.of(AGENT, DAY));
+        try (final AuditLogStore store = new AuditLogStore(directory, 3000, 100, false)) {
+            for (final AuditRecord record : records) {
+                store.append(record);
+            }
+            store.flush();
+        }
+        try (final Stream<Path> files = Files.list(directory)) {
+            for (final Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".col"))::iterator) {
+                try (final FileChannel channel = FileChannel.open(file, WRITE)) {
+                    channel.truncate(channel.size() / 2);
+                }
+            }
+        }
+        try (final AuditLogStore store = new AuditLogStore(directory, 3000, 100, false)) {
+            assertEquals(expected(query), store.aggregate(query));
+        }
+    }
+
+    @Test
+    public void testStoreAggregate() throws IOException {
+        try (final AuditLogStore store = new AuditLogStore(directory, 3000, 100, false)) {
+            for (final AuditRecord record : records) {
+                store.append(record);
+            }
+            final AuditQuery query = new AuditQuery(Long.MIN_VALUE, Long.MAX_VALUE, CONTENT_REM, null, null,
+                    EnumSet.of(AGENT, DAY));
+            assertEquals(expected(query), store.aggregate(query));
+            store.flush();
+            assertTrue(store.getSegmentCount() > 1);
+            assertEquals(expected(query), store.aggregate(query));
+        }
+    }
+}